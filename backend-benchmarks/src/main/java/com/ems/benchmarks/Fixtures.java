@@ -0,0 +1,88 @@
+package com.ems.benchmarks;
+
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.Task;
+import com.ems.backend.entity.Team;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+// Deterministic entity graphs shaped like the ones the controllers return
+final class Fixtures {
+
+    static final LocalDate TODAY = LocalDate.of(2025, 6, 2);
+
+    private Fixtures() {
+    }
+
+    static Employee employee(int empId) {
+        Employee employee = new Employee();
+        employee.setEmpId(empId);
+        employee.setUsername("user" + empId);
+        employee.setPassword("$2a$10$abcdefghijklmnopqrstuv" + empId);
+        employee.setRole(empId % 10 == 0 ? Employee.Role.ADMIN : Employee.Role.EMPLOYEE);
+        employee.setFname("First" + empId);
+        employee.setLname("Last" + empId);
+        employee.setEmail("user" + empId + "@example.com");
+        employee.setPhone("98765" + String.format("%05d", empId % 100000));
+        employee.setDob(LocalDate.of(1990, 1, 1).plusDays(empId % 3650));
+        employee.setDesignation("Engineer");
+        employee.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        return employee;
+    }
+
+    static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            employees.add(employee(i));
+        }
+        return employees;
+    }
+
+    static Task task(long id, Employee owner, Employee assignee) {
+        Task task = new Task();
+        task.setId(id);
+        task.setName("Task " + id);
+        task.setDescription("Description of task " + id + " with enough text to look like a real one");
+        task.setStartDate(TODAY.minusDays(id % 30));
+        task.setDueDate(TODAY.plusDays(id % 30));
+        task.setReminderDate(TODAY.plusDays(id % 30 - 1));
+        task.setCreatedAt(Timestamp.valueOf(LocalDateTime.of(2025, 5, 1, 10, 0)));
+        task.setOwnerId(owner);
+        task.setAssignedToId(assignee);
+        task.setStatus(Task.Status.values()[(int) (id % 3)]);
+        task.setPriority(Task.Priority.values()[(int) (id % 3)]);
+        task.setAcceptingStatus(Task.AcceptingStatus.ACCEPTED);
+        return task;
+    }
+
+    static List<Task> tasks(int count, List<Employee> employees) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Employee owner = employees.get(i % employees.size());
+            Employee assignee = employees.get((i * 7) % employees.size());
+            tasks.add(task(i, owner, assignee));
+        }
+        return tasks;
+    }
+
+    static List<Team> teams(int count, int membersPerTeam, List<Employee> employees) {
+        List<Team> teams = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Team team = new Team();
+            team.setId((long) i + 1);
+            team.setName("Team " + (i + 1));
+            team.setTeamLead(employees.get((i * membersPerTeam) % employees.size()));
+            team.setMembers(new HashSet<>());
+            for (int m = 0; m < membersPerTeam; m++) {
+                team.getMembers().add(employees.get((i * membersPerTeam + m) % employees.size()));
+            }
+            teams.add(team);
+        }
+        return teams;
+    }
+}
@@ -0,0 +1,60 @@
+package com.ems.benchmarks;
+
+import com.ems.backend.service.LeaveDays;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Leave-day counting as done when a leave is saved and when the monthly rollup
+// clips approved leaves to the month
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaveDaysBenchmark {
+
+    private static final int LEAVES = 1000;
+
+    private final LocalDate[] starts = new LocalDate[LEAVES];
+    private final LocalDate[] ends = new LocalDate[LEAVES];
+    private final LocalDate monthStart = LocalDate.of(2025, 6, 1);
+    private final LocalDate monthEnd = LocalDate.of(2025, 6, 30);
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < LEAVES; i++) {
+            starts[i] = monthStart.minusDays(10).plusDays(i % 45);
+            ends[i] = starts[i].plusDays(i % 15);
+        }
+    }
+
+    @Benchmark
+    public long inclusive() {
+        long total = 0;
+        for (int i = 0; i < LEAVES; i++) {
+            total += LeaveDays.inclusive(starts[i], ends[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long withinMonth() {
+        long total = 0;
+        for (int i = 0; i < LEAVES; i++) {
+            total += LeaveDays.within(starts[i], ends[i], monthStart, monthEnd);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,127 @@
+package com.ems.benchmarks;
+
+import com.ems.backend.dto.AttendanceDTO;
+import com.ems.backend.dto.NotificationViewDTO;
+import com.ems.backend.dto.TimesheetDTO;
+import com.ems.backend.entity.Attendance;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.Notification;
+import com.ems.backend.entity.Timesheet;
+import com.ems.backend.service.WorkHours;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Row -> DTO mapping of the attendance, timesheet and notification listings.
+// Attendance and timesheet rows are built by a constructor expression in the
+// query (DtoProjections), so the per-row JVM cost is the DTO constructor fed
+// from the entity columns, which is what is measured here.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private static final String[] WORK_HOURS = {"7 hr 30 min", "7.50", "07:30", null, ""};
+
+    @Param({"100", "2000"})
+    int rows;
+
+    private List<Attendance> attendance;
+    private List<Timesheet> timesheets;
+    private List<Notification> notifications;
+
+    @Setup
+    public void setUp() {
+        List<Employee> employees = Fixtures.employees(200);
+        attendance = new ArrayList<>(rows);
+        timesheets = new ArrayList<>(rows);
+        notifications = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Employee employee = employees.get(i % employees.size());
+
+            Attendance att = new Attendance();
+            att.setAttId(i + 1);
+            att.setEmployee(employee);
+            att.setDate(Fixtures.TODAY.minusDays(i / employees.size()));
+            att.setStatus(Attendance.Status.values()[i % Attendance.Status.values().length]);
+            att.setLoggedInTime(LocalTime.of(9, i % 60));
+            att.setLoggedOutTime(LocalTime.of(18, i % 60));
+            attendance.add(att);
+
+            Timesheet sheet = new Timesheet();
+            sheet.setTimesheetId(i + 1);
+            sheet.setEmployee(employee);
+            sheet.setDate(att.getDate());
+            sheet.setStartTime(LocalTime.of(9, 0));
+            sheet.setLunchOutTime(LocalTime.of(13, 0));
+            sheet.setLunchInTime(LocalTime.of(13, 30));
+            sheet.setEndTime(LocalTime.of(18, 0));
+            sheet.setWorkHours(WORK_HOURS[i % WORK_HOURS.length]);
+            sheet.setWorkSummery("Worked on task " + i);
+            timesheets.add(sheet);
+
+            Notification notification = new Notification();
+            notification.setId((long) i + 1);
+            notification.setRecipientId(employee);
+            notification.setMessage("You have been assigned task " + i);
+            notification.setType(Notification.Type.values()[i % Notification.Type.values().length]);
+            notification.setCreatedAt(LocalDateTime.of(2025, 6, 1, 9, 0).plusMinutes(i));
+            notifications.add(notification);
+        }
+    }
+
+    @Benchmark
+    public List<AttendanceDTO> attendanceRows() {
+        List<AttendanceDTO> out = new ArrayList<>(attendance.size());
+        for (Attendance att : attendance) {
+            Employee employee = att.getEmployee();
+            out.add(new AttendanceDTO(att.getAttId(), employee.getEmpId(), employee.getFname(), employee.getLname(),
+                    att.getDate(), att.getStatus(), employee.getDesignation(), att.getLoggedInTime(), att.getLoggedOutTime()));
+        }
+        return out;
+    }
+
+    @Benchmark
+    public List<TimesheetDTO> timesheetRows() {
+        List<TimesheetDTO> out = new ArrayList<>(timesheets.size());
+        for (Timesheet sheet : timesheets) {
+            Employee employee = sheet.getEmployee();
+            out.add(new TimesheetDTO(sheet.getTimesheetId(), employee.getEmpId(), sheet.getDate(), sheet.getStartTime(),
+                    sheet.getLunchInTime(), sheet.getLunchOutTime(), sheet.getOutTime(), sheet.getInTime(),
+                    sheet.getEndTime(), sheet.getWorkHours(), employee.getFname(), employee.getLname(),
+                    sheet.getWorkSummery()));
+        }
+        return out;
+    }
+
+    // Rollup and report totals parse every timesheet's free-text hours
+    @Benchmark
+    public void timesheetMinutes(Blackhole bh) {
+        for (Timesheet sheet : timesheets) {
+            bh.consume(WorkHours.toMinutes(sheet.getWorkHours(), sheet.getStartTime(), sheet.getEndTime()));
+        }
+    }
+
+    @Benchmark
+    public List<NotificationViewDTO> notificationViews() {
+        return notifications.stream().map(NotificationViewDTO::of).toList();
+    }
+}
@@ -0,0 +1,86 @@
+package com.ems.benchmarks;
+
+import com.ems.backend.dto.AttendanceDTO;
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.Task;
+import com.ems.backend.entity.Team;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of the bodies the controllers write: entity graphs for
+// tasks, teams and employees, and a cursor page of attendance rows. The mapper
+// is configured the way Spring Boot configures the one behind the controllers.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000"})
+    int size;
+
+    private ObjectMapper mapper;
+    private List<Task> tasks;
+    private List<Team> teams;
+    private List<Employee> employees;
+    private CursorPageDTO<AttendanceDTO> attendancePage;
+
+    @Setup
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        employees = Fixtures.employees(size);
+        tasks = Fixtures.tasks(size, employees);
+        teams = Fixtures.teams(Math.max(1, size / 10), 10, employees);
+
+        List<AttendanceDTO> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Employee employee = employees.get(i);
+            rows.add(new AttendanceDTO(i + 1, employee.getEmpId(), employee.getFname(), employee.getLname(),
+                    Fixtures.TODAY, null, employee.getDesignation(), LocalTime.of(9, 0), LocalTime.of(18, 0)));
+        }
+        attendancePage = new CursorPageDTO<>(rows, "MjAyNS0wNi0wMnwxMDA", size);
+    }
+
+    @Benchmark
+    public byte[] tasks() throws Exception {
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] teams() throws Exception {
+        return mapper.writeValueAsBytes(teams);
+    }
+
+    @Benchmark
+    public byte[] employees() throws Exception {
+        return mapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] attendancePage() throws Exception {
+        return mapper.writeValueAsBytes(attendancePage);
+    }
+}
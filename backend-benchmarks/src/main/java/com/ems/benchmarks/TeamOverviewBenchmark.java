@@ -0,0 +1,95 @@
+package com.ems.benchmarks;
+
+import com.ems.backend.dto.TeamDTO;
+import com.ems.backend.repository.TaskRepository;
+import com.ems.backend.repository.TeamRepository;
+import com.ems.backend.service.TeamMembershipIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// TeamServiceImpl.getAllTeamsWithTasks without the database: the repositories
+// hand back canned rows, so only grouping the rows into team DTOs is measured
+// (and teamsOf, which answers from the index snapshot).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamOverviewBenchmark {
+
+    private static final int MEMBERS_PER_TEAM = 8;
+    private static final int TASKS_PER_TEAM = 5;
+
+    @Param({"100", "1000"})
+    int teams;
+
+    private TeamMembershipIndex index;
+
+    @Setup
+    public void setUp() {
+        List<Object[]> teamRows = new ArrayList<>();
+        List<Object[]> memberRows = new ArrayList<>();
+        List<Object[]> taskRows = new ArrayList<>();
+        long taskId = 1;
+        for (long teamId = 1; teamId <= teams; teamId++) {
+            int lead = (int) teamId * MEMBERS_PER_TEAM;
+            teamRows.add(new Object[]{teamId, "Team " + teamId, lead, "First" + lead, "Last" + lead});
+            for (int m = 0; m < MEMBERS_PER_TEAM; m++) {
+                int empId = lead + m;
+                memberRows.add(new Object[]{teamId, empId, "First" + empId, "Last" + empId});
+            }
+            for (int t = 0; t < TASKS_PER_TEAM; t++, taskId++) {
+                taskRows.add(new Object[]{teamId, taskId, "Task " + taskId});
+            }
+        }
+
+        TeamRepository teamRepository = stub(TeamRepository.class, Map.of(
+                "findTeamRows", teamRows,
+                "findMemberRows", memberRows));
+        TaskRepository taskRepository = stub(TaskRepository.class, Map.of(
+                "findTeamTaskRows", taskRows));
+        index = new TeamMembershipIndex(teamRepository, taskRepository);
+        index.rebuild();
+    }
+
+    @Benchmark
+    public List<TeamDTO> overview() {
+        return index.overview();
+    }
+
+    @Benchmark
+    public List<TeamDTO> teamsOfEmployee() {
+        return index.teamsOf(MEMBERS_PER_TEAM * (teams / 2) + 1, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, List<Object[]>> results) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (results.containsKey(method.getName())) {
+                return results.get(method.getName());
+            }
+            return switch (method.getName()) {
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> type.getSimpleName() + " stub";
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.ems.benchmarks;
+
+import com.ems.backend.dto.EmployeeViewDTO;
+import com.ems.backend.dto.TaskViewDTO;
+import com.ems.backend.dto.ViewPageDTO;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// A 50k-task list as /api/task/tasks writes it (entities with owner and assignee
+// embedded) against the /api/task/page views (employees by id), with and without
+// the side-loaded employees map, on the stock and the Blackbird-tuned mapper.
+// Payload sizes are printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"50000"})
+    int tasks;
+
+    @Param({"2000"})
+    int employees;
+
+    @Param({"default", "blackbird"})
+    String mapper;
+
+    private ObjectMapper objectMapper;
+    private List<Task> entities;
+    private ViewPageDTO<TaskViewDTO> views;
+    private ViewPageDTO<TaskViewDTO> viewsWithEmployees;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("blackbird".equals(mapper)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+
+        List<Employee> staff = Fixtures.employees(employees);
+        entities = Fixtures.tasks(tasks, staff);
+
+        List<TaskViewDTO> items = entities.stream().map(TaskViewDTO::of).toList();
+        Map<Integer, EmployeeViewDTO> referenced = new TreeMap<>();
+        entities.forEach(task -> {
+            referenced.putIfAbsent(task.getOwnerId().getEmpId(), EmployeeViewDTO.of(task.getOwnerId()));
+            referenced.putIfAbsent(task.getAssignedToId().getEmpId(), EmployeeViewDTO.of(task.getAssignedToId()));
+        });
+        views = new ViewPageDTO<>(items, null, null, tasks);
+        viewsWithEmployees = new ViewPageDTO<>(items, referenced, null, tasks);
+
+        System.out.printf("%nPayload bytes (%d tasks, %d employees): entities=%,d views=%,d views+employees=%,d%n",
+                tasks, employees,
+                objectMapper.writeValueAsBytes(entities).length,
+                objectMapper.writeValueAsBytes(views).length,
+                objectMapper.writeValueAsBytes(viewsWithEmployees).length);
+    }
+
+    @Benchmark
+    public byte[] entities() throws Exception {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] views() throws Exception {
+        return objectMapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] viewsWithEmployees() throws Exception {
+        return objectMapper.writeValueAsBytes(viewsWithEmployees);
+    }
+}
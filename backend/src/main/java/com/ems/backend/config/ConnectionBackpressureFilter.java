@@ -0,0 +1,107 @@
+package com.ems.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// With virtual threads Tomcat no longer caps concurrent requests, so a burst would
+// pile thousands of threads onto the connection pool's wait queue. This bounds the
+// requests in flight to a small multiple of the pool and turns anything that cannot
+// get in within the wait into a fast 503 with Retry-After.
+// Platform-thread mode keeps relying on Tomcat's own thread pool.
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionBackpressureFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final Counter rejected;
+
+    public ConnectionBackpressureFilter(@Value("${ems.backpressure.max-concurrent-requests:40}") int maxConcurrentRequests,
+                                        @Value("${ems.backpressure.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+                                        MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.rejected = meterRegistry.counter("ems.backpressure.rejected");
+        Gauge.builder("ems.backpressure.in-flight", permits, p -> maxConcurrentRequests - p.availablePermits())
+                .register(meterRegistry);
+    }
+
+    // The push channel and metrics scrapes hold no connection while they wait
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.startsWith("/actuator") || uri.startsWith("/api/notifications/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            log.debug("Rejected {} {}: too many requests in flight", request.getMethod(), request.getRequestURI());
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server busy, retry shortly");
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                // A streaming response (exports) is still running; hold the permit until it completes
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    // onComplete also follows a timeout or an error
+    private final class ReleaseOnComplete implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permits.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-dispatched and started again: keep listening on the new cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
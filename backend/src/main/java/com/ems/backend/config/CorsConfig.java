@@ -1,7 +1,9 @@
 package com.ems.backend.config;
 
+import com.ems.backend.dto.CursorPageDTO;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -18,7 +20,8 @@ public class CorsConfig {
                             "http://localhost:3000"   // Alternative port
                         )
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                        .allowedHeaders("*");
+                        .allowedHeaders("*")
+                        .exposedHeaders(CursorPageDTO.NEXT_CURSOR_HEADER, HttpHeaders.ETAG);
             }
         };
     }
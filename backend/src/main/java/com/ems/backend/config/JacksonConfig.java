@@ -0,0 +1,18 @@
+package com.ems.backend.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// The ObjectMapper behind the controllers is Spring Boot's, which registers every
+// Module bean. Blackbird replaces reflective getter calls with generated lambdas,
+// which pays off on the large list bodies.
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,31 @@
+package com.ems.backend.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Actuator/Micrometer wiring beyond the auto-configured HTTP, Hikari and Hibernate
+// meters: @Timed service methods, a handler tag on http.server.requests and the
+// per-request SQL tracking behind SqlBudgetFilter. Scraped from /actuator/prometheus.
+@Configuration
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public HandlerTagObservationConvention handlerTagObservationConvention() {
+        return new HandlerTagObservationConvention();
+    }
+
+    // Static: a post-processor has to exist before the DataSource it wraps
+    @Bean
+    public static RequestSqlDataSourceWrapper requestSqlDataSourceWrapper() {
+        return new RequestSqlDataSourceWrapper();
+    }
+}
@@ -0,0 +1,108 @@
+package com.ems.backend.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Wraps every DataSource so RequestSqlTracker sees all the SQL run on the request
+// thread: Hibernate, JdbcTemplate and plain JDBC alike. A statement counts when it
+// is prepared (plain Statements when their SQL is run or batched), and each
+// execution is timed against its SQL.
+public class RequestSqlDataSourceWrapper implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TrackingDataSource)) {
+            return new TrackingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    static final class TrackingDataSource extends DelegatingDataSource {
+
+        TrackingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return connection(super.getConnection(username, password));
+        }
+    }
+
+    private static Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "prepareStatement", "prepareCall": {
+                            String sql = (String) args[0];
+                            RequestSqlTracker.prepared(sql);
+                            return statement(method.getReturnType(), invoke(target, method, args), sql);
+                        }
+                        case "createStatement":
+                            return statement(Statement.class, invoke(target, method, args), null);
+                        default:
+                            return invoke(target, method, args);
+                    }
+                });
+    }
+
+    // preparedSql is null for a plain Statement, whose SQL comes with each call
+    private static Object statement(Class<?> type, Object target, String preparedSql) {
+        String[] lastSql = {preparedSql};
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "addBatch":
+                    if (args != null && args.length == 1 && args[0] instanceof String sql) {
+                        RequestSqlTracker.prepared(sql);
+                        lastSql[0] = sql;
+                    }
+                    return invoke(target, method, args);
+                default:
+                    if (!name.startsWith("execute")) {
+                        return invoke(target, method, args);
+                    }
+            }
+            String sql = lastSql[0];
+            if (args != null && args.length > 0 && args[0] instanceof String run) {
+                RequestSqlTracker.prepared(run);
+                sql = run;
+            }
+            long start = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                RequestSqlTracker.executed(sql, System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ems.backend.config;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// What one request ran: statement count, time spent executing, and a tally per
+// distinct SQL string. Hibernate SQL is parameterised, so the same string showing
+// up many times with different binds is the N+1 signature.
+public class RequestSqlStats {
+
+    // Called with each statement as it is counted (its tally so far)
+    public interface Guard {
+        void check(RequestSqlStats stats, Statement latest);
+    }
+
+    public record Statement(String sql, int count, long nanos) {
+
+        public double millis() {
+            return nanos / 1e6;
+        }
+    }
+
+    private static final class Tally {
+        int count;
+        long nanos;
+    }
+
+    private final Map<String, Tally> bySql = new LinkedHashMap<>();
+    private final Guard guard;
+    private int statements;
+    private long totalNanos;
+
+    RequestSqlStats(Guard guard) {
+        this.guard = guard;
+    }
+
+    void prepared(String sql) {
+        statements++;
+        Tally tally = bySql.computeIfAbsent(sql, s -> new Tally());
+        tally.count++;
+        if (guard != null) {
+            guard.check(this, new Statement(sql, tally.count, tally.nanos));
+        }
+    }
+
+    void executed(String sql, long nanos) {
+        totalNanos += nanos;
+        Tally tally = bySql.get(sql);
+        if (tally != null) {
+            tally.nanos += nanos;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    // Distinct statements run at least `threshold` times, most repeated first
+    public List<Statement> repeated(int threshold) {
+        return all().stream()
+                .filter(statement -> statement.count() >= threshold)
+                .sorted(Comparator.comparingInt(Statement::count).reversed())
+                .toList();
+    }
+
+    // Distinct statements by time spent, slowest first
+    public List<Statement> top(int limit) {
+        return all().stream()
+                .sorted(Comparator.comparingLong(Statement::nanos).reversed()
+                        .thenComparing(Comparator.comparingInt(Statement::count).reversed()))
+                .limit(limit)
+                .toList();
+    }
+
+    private List<Statement> all() {
+        return bySql.entrySet().stream()
+                .map(entry -> new Statement(entry.getKey(), entry.getValue().count, entry.getValue().nanos))
+                .toList();
+    }
+}
@@ -0,0 +1,69 @@
+package com.ems.backend.config;
+
+import java.util.function.Supplier;
+
+// Tracks the SQL run on the current thread while a request (or a test block) is
+// being measured. RequestSqlDataSourceWrapper reports every statement here; a
+// thread that has not started tracking costs one thread-local read per statement.
+public final class RequestSqlTracker {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private RequestSqlTracker() {
+    }
+
+    public static void start() {
+        start(null);
+    }
+
+    // The guard sees each statement as it is counted and may throw to stop the request
+    public static void start(RequestSqlStats.Guard guard) {
+        CURRENT.set(new RequestSqlStats(guard));
+    }
+
+    // Stats since start(); null when nothing was started on this thread
+    public static RequestSqlStats finish() {
+        RequestSqlStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    // For tests: the SQL a block of code runs on this thread
+    public static RequestSqlStats measure(Runnable work) {
+        return measure(() -> {
+            work.run();
+            return null;
+        }).stats();
+    }
+
+    public static <T> Measured<T> measure(Supplier<T> work) {
+        RequestSqlStats outer = CURRENT.get();
+        start();
+        try {
+            T result = work.get();
+            return new Measured<>(result, CURRENT.get());
+        } finally {
+            CURRENT.set(outer);
+            if (outer == null) {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public record Measured<T>(T result, RequestSqlStats stats) {
+    }
+
+    static void prepared(String sql) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.prepared(sql);
+        }
+    }
+
+    static void executed(String sql, long nanos) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null && sql != null) {
+            stats.executed(sql, nanos);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.ems.backend.config;
+
+// Thrown from inside the handler, at the statement that broke an enforced SQL budget
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
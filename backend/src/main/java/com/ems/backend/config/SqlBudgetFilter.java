@@ -0,0 +1,127 @@
+package com.ems.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Per-request SQL accounting: statement count and SQL time go to metrics; requests
+// over their statement budget, statements repeated often enough to look like an
+// N+1, and slow requests are logged with the top offending statements. With
+// ems.sql.enforce=true the statement that breaks a budget or completes an N+1
+// throws SqlBudgetExceededException, so the request fails before its response
+// is written rather than after it has been sent.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final int SQL_LOG_LENGTH = 200;
+
+    private final SqlBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestSqlTracker.start(properties.isEnforce() ? (running, latest) -> enforce(request, running, latest) : null);
+        RequestSqlStats stats;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // Streaming responses: only what ran on the request thread is counted
+            stats = RequestSqlTracker.finish();
+        }
+        if (stats == null) {
+            return;
+        }
+
+        String handler = handlerOf(request);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        record(handler, stats);
+
+        List<String> violations = check(handler, stats);
+        violations.forEach(log::warn);
+        if (elapsedMs >= properties.getSlowRequestMs()) {
+            log.warn("Slow request {} {} -> {}: {} ms, {} statements, {} ms in SQL; top statements:{}",
+                    request.getMethod(), request.getRequestURI(), handler, elapsedMs, stats.statements(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.totalNanos()), describe(stats.top(properties.getTopStatements())));
+        }
+    }
+
+    // Checked as each statement is counted, so only the first statement over a limit throws
+    private void enforce(HttpServletRequest request, RequestSqlStats stats, RequestSqlStats.Statement latest) {
+        String handler = handlerOf(request);
+        int budget = properties.budgetFor(handler);
+        if (stats.statements() == budget + 1) {
+            throw new SqlBudgetExceededException(String.format("%s ran %d SQL statements (budget %d); top statements:%s",
+                    handler, stats.statements(), budget, describe(stats.top(properties.getTopStatements()))));
+        }
+        if (latest.count() == properties.getRepeatThreshold()) {
+            throw new SqlBudgetExceededException(
+                    String.format("Possible N+1 in %s: %d x %s", handler, latest.count(), shorten(latest.sql())));
+        }
+    }
+
+    private static String handlerOf(HttpServletRequest request) {
+        return HandlerTagObservationConvention.handlerName(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+    }
+
+    List<String> check(String handler, RequestSqlStats stats) {
+        List<String> violations = new ArrayList<>();
+        int budget = properties.budgetFor(handler);
+        if (stats.statements() > budget) {
+            violations.add(String.format("%s ran %d SQL statements (budget %d); top statements:%s",
+                    handler, stats.statements(), budget, describe(stats.top(properties.getTopStatements()))));
+        }
+        for (RequestSqlStats.Statement statement : stats.repeated(properties.getRepeatThreshold())) {
+            violations.add(String.format("Possible N+1 in %s: %d x %s", handler, statement.count(), shorten(statement.sql())));
+        }
+        return violations;
+    }
+
+    private void record(String handler, RequestSqlStats stats) {
+        DistributionSummary.builder("ems.http.server.statements")
+                .description("SQL statements prepared per request")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("ems.http.server.sql")
+                .description("Time spent executing SQL per request")
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(stats.totalNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static String describe(List<RequestSqlStats.Statement> statements) {
+        return statements.stream()
+                .map(statement -> String.format("%n  %4d x %8.2f ms  %s", statement.count(), statement.millis(), shorten(statement.sql())))
+                .collect(Collectors.joining());
+    }
+
+    private static String shorten(String sql) {
+        String flat = sql.replaceAll("\\s+", " ").trim();
+        return flat.length() <= SQL_LOG_LENGTH ? flat : flat.substring(0, SQL_LOG_LENGTH) + "...";
+    }
+}
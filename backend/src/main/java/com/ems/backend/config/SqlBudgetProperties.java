@@ -0,0 +1,34 @@
+package com.ems.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// ems.sql.* - per-request SQL budgets, keyed by handler (Controller.method)
+@Data
+@ConfigurationProperties(prefix = "ems.sql")
+public class SqlBudgetProperties {
+
+    // Throw instead of only logging; meant for tests
+    private boolean enforce = false;
+
+    // Statements allowed per request when the handler has no budget of its own
+    private int defaultBudget = 50;
+
+    // e.g. ems.sql.budgets[TeamController.getAllTeams]=5
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    // Same statement this many times in one request is reported as a likely N+1
+    private int repeatThreshold = 10;
+
+    private long slowRequestMs = 1000;
+
+    // Statements listed in the budget, N+1 and slow-request logs
+    private int topStatements = 5;
+
+    public int budgetFor(String handler) {
+        return budgets.getOrDefault(handler, defaultBudget);
+    }
+}
@@ -1,11 +1,20 @@
 package com.ems.backend.controller;
 
 import com.ems.backend.dto.AttendanceDTO;
+import com.ems.backend.dto.AttendanceStatsDTO;
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.dto.PresenceDTO;
 import com.ems.backend.entity.Attendance;
 import com.ems.backend.service.AttendanceService;
+import com.ems.backend.service.AggregateVersions;
+import com.ems.backend.service.AggregateVersions.Aggregate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,17 +26,53 @@ import java.util.List;
 public class AttendanceController {
 
     private  final AttendanceService attendanceService;
+    private final AggregateVersions aggregateVersions;
 
+    // ?empId=&from=&to=&status=&cursor=&size=
     @GetMapping("attendances")
-    public List<AttendanceDTO> getAllAttendance() {
-        return attendanceService.getAllAttendance();
+    public ResponseEntity<List<AttendanceDTO>> getAllAttendance(ListFilterDTO filter, WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.ATTENDANCE, Aggregate.EMPLOYEES)) {
+            return null;
+        }
+        return CursorPageDTO.asListResponse(attendanceService.getAttendancePage(filter));
+    }
+
+    @GetMapping("page")
+    public CursorPageDTO<AttendanceDTO> getAttendancePage(ListFilterDTO filter, WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.ATTENDANCE, Aggregate.EMPLOYEES)) {
+            return null;
+        }
+        return attendanceService.getAttendancePage(filter);
+    }
+
+    // delta sync: rows changed since the token; no token returns the current one
+    @GetMapping("changes")
+    public ChangesDTO<AttendanceDTO> getChanges(@RequestParam(required = false) String since) {
+        return attendanceService.getAttendanceChanges(since);
     }
 
     @GetMapping("attendances/{date}")
-    public List<Attendance> getAttendanceByDate(@PathVariable("date") String date ) {
+    public List<Attendance> getAttendanceByDate(@PathVariable("date") String date, WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.ATTENDANCE, Aggregate.EMPLOYEES)) {
+            return null;
+        }
         return attendanceService.getAttendanceByDate(LocalDate.parse(date));
     }
 
+    // rate and streaks from the presence index, ?from=&to= (defaults to the year so far)
+    @GetMapping("stats/{empId}")
+    public AttendanceStatsDTO getAttendanceStats(@PathVariable Integer empId,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return attendanceService.getAttendanceStats(empId, from, to);
+    }
+
+    // org-wide present / absent counts for one day
+    @GetMapping("presence/{date}")
+    public PresenceDTO getPresence(@PathVariable("date") String date) {
+        return attendanceService.getPresenceOn(LocalDate.parse(date));
+    }
+
 //    @GetMapping("allattendance")
 //    public List<Attendance> getAttendance() {
 //        return attendanceService.getAttendance();
@@ -0,0 +1,22 @@
+package com.ems.backend.controller;
+
+import com.ems.backend.dto.CacheRegionStatsDTO;
+import com.ems.backend.service.EntityCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")
+public class CacheController {
+
+    private final EntityCacheService entityCacheService;
+
+    @GetMapping("stats")
+    public List<CacheRegionStatsDTO> getStats() {
+        return entityCacheService.getRegionStats();
+    }
+}
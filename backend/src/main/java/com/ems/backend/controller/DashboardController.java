@@ -0,0 +1,33 @@
+package com.ems.backend.controller;
+
+import com.ems.backend.dto.DashboardSummaryDTO;
+import com.ems.backend.entity.Task;
+import com.ems.backend.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    // headcount, attendance, leave and task counts for the admin home page
+    @GetMapping("summary")
+    public DashboardSummaryDTO getSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return dashboardService.getSummary(date != null ? date : LocalDate.now());
+    }
+
+    // newest tasks first, for the activity feed
+    @GetMapping("recent-tasks")
+    public List<Task> getRecentTasks(@RequestParam(defaultValue = "3") int size) {
+        return dashboardService.getRecentTasks(size);
+    }
+}
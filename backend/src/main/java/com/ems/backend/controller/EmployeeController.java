@@ -1,9 +1,15 @@
 package com.ems.backend.controller;
 
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
 import com.ems.backend.entity.Employee;
 import com.ems.backend.service.EmployeeService;
+import com.ems.backend.service.AggregateVersions;
+import com.ems.backend.service.AggregateVersions.Aggregate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,10 +21,23 @@ import java.util.Optional;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final AggregateVersions aggregateVersions;
 
+    // ?status=<role>&cursor=&size=
     @GetMapping("employees")
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public ResponseEntity<List<Employee>> getAllEmployees(ListFilterDTO filter, WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.EMPLOYEES)) {
+            return null;
+        }
+        return CursorPageDTO.asListResponse(employeeService.getEmployeePage(filter));
+    }
+
+    @GetMapping("page")
+    public CursorPageDTO<Employee> getEmployeePage(ListFilterDTO filter, WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.EMPLOYEES)) {
+            return null;
+        }
+        return employeeService.getEmployeePage(filter);
     }
 
     @GetMapping("employee/{id}")
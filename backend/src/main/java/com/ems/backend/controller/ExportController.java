@@ -0,0 +1,49 @@
+package com.ems.backend.controller;
+
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    // /api/export/attendance?format=csv&empId=&from=&to=&status=
+    @GetMapping("{type}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String type,
+                                                        @RequestParam(defaultValue = "csv") String format,
+                                                        ListFilterDTO filter) {
+        ExportService.Type exportType = parse(ExportService.Type.class, type, HttpStatus.NOT_FOUND);
+        ExportService.Format exportFormat = parse(ExportService.Format.class, format, HttpStatus.BAD_REQUEST);
+
+        MediaType mediaType = exportFormat == ExportService.Format.CSV
+                ? new MediaType("text", "csv")
+                : new MediaType("application", "x-ndjson");
+        String filename = type.toLowerCase() + "." + format.toLowerCase();
+
+        StreamingResponseBody body = out -> exportService.export(exportType, exportFormat, filter, out);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, HttpStatus status) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(status, "Unsupported export " + type.getSimpleName().toLowerCase() + ": " + value);
+        }
+    }
+}
@@ -1,10 +1,22 @@
 package com.ems.backend.controller;
 
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.LeaveViewDTO;
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.dto.TeamAvailabilityDTO;
+import com.ems.backend.dto.ViewPageDTO;
 import com.ems.backend.entity.EmployeeLeave;
 import com.ems.backend.service.LeaveService;
+import com.ems.backend.service.AggregateVersions;
+import com.ems.backend.service.AggregateVersions.Aggregate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -14,10 +26,47 @@ import java.util.List;
 public class LeaveController {
 
     private final LeaveService leaveService;
+    private final AggregateVersions aggregateVersions;
 
+    // ?empId=&from=&to=&status=&cursor=&size=
     @GetMapping("leaves")
-    public List<EmployeeLeave> getAllLeaves() {
-        return leaveService.getAllLeaves();
+    public ResponseEntity<List<EmployeeLeave>> getAllLeaves(ListFilterDTO filter, WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.LEAVES, Aggregate.EMPLOYEES)) {
+            return null;
+        }
+        return CursorPageDTO.asListResponse(leaveService.getLeavePage(filter));
+    }
+
+    // employees by id; ?include=employees side-loads them once per page
+    @GetMapping("page")
+    public ViewPageDTO<LeaveViewDTO> getLeavePage(ListFilterDTO filter,
+                                                  @RequestParam(required = false) String include,
+                                                  WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.LEAVES, Aggregate.EMPLOYEES)) {
+            return null;
+        }
+        return leaveService.getLeaveViewPage(filter, "employees".equalsIgnoreCase(include));
+    }
+
+    // delta sync: rows changed since the token; no token returns the current one
+    @GetMapping("changes")
+    public ChangesDTO<EmployeeLeave> getChanges(@RequestParam(required = false) String since) {
+        return leaveService.getLeaveChanges(since);
+    }
+
+    // approved leaves covering the date; ?include=employees side-loads who they are
+    @GetMapping("out-on/{date}")
+    public ViewPageDTO<LeaveViewDTO> getOutOn(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                              @RequestParam(required = false) String include) {
+        return leaveService.getOutOn(date, "employees".equalsIgnoreCase(include));
+    }
+
+    // ?from=&to=, both included
+    @GetMapping("team/{teamId}/availability")
+    public TeamAvailabilityDTO getTeamAvailability(@PathVariable Long teamId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return leaveService.getTeamAvailability(teamId, from, to);
     }
 
     @PostMapping("add")
@@ -33,7 +82,10 @@ public class LeaveController {
     }
 
     @GetMapping("leaves/{status}")
-    public List<EmployeeLeave> getLeaveByStatus(@PathVariable("status") String status) {
+    public List<EmployeeLeave> getLeaveByStatus(@PathVariable("status") String status, WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.LEAVES, Aggregate.EMPLOYEES)) {
+            return null;
+        }
         return leaveService.getLeavesByStatus(EmployeeLeave.LeaveStatus.valueOf(status));
     }
 }
@@ -1,12 +1,19 @@
 package com.ems.backend.controller;
 
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
 import com.ems.backend.dto.NotificationDTO;
+import com.ems.backend.dto.NotificationViewDTO;
 import com.ems.backend.entity.Notification;
 import com.ems.backend.service.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -22,12 +29,31 @@ public class NotificationController {
     }
 
     @GetMapping("/user/{empId}")
-    public List<Notification> getNotifications(@PathVariable Long empId) {
-        return notificationService.getNotificationsForUser(empId);
+    public ResponseEntity<List<NotificationViewDTO>> getNotifications(@PathVariable Integer empId, ListFilterDTO filter) {
+        filter.setEmpId(empId);
+        return CursorPageDTO.asListResponse(notificationService.getNotificationPage(filter));
+    }
+
+    @GetMapping("/user/{empId}/page")
+    public ResponseEntity<CursorPageDTO<NotificationViewDTO>> getNotificationPage(@PathVariable Integer empId, ListFilterDTO filter) {
+        filter.setEmpId(empId);
+        return ResponseEntity.ok(notificationService.getNotificationPage(filter));
+    }
+
+    @GetMapping("/user/{empId}/unread-count")
+    public Map<String, Long> getUnreadCount(@PathVariable Integer empId) {
+        return Map.of("unread", notificationService.countUnread(empId));
     }
 
     @PutMapping("/mark-all-read/{empId}")
-    public void markAllAsRead(@PathVariable Long empId) {
-        notificationService.markAllAsRead(empId);
+    public Map<String, Integer> markAllAsRead(@PathVariable Integer empId) {
+        return Map.of("updated", notificationService.markAllAsRead(empId));
+    }
+
+    // Push channel; browsers resend Last-Event-ID on reconnect to resume
+    @GetMapping(path = "/stream/{empId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Integer empId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return notificationService.subscribe(empId, lastEventId);
     }
 }
@@ -0,0 +1,34 @@
+package com.ems.backend.controller;
+
+import com.ems.backend.dto.MonthlyRollupDTO;
+import com.ems.backend.service.RollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")
+public class ReportController {
+
+    private final RollupService rollupService;
+
+    // ?from=2025-01&to=2025-06[&empId=]
+    @GetMapping("monthly")
+    public List<MonthlyRollupDTO> getMonthlyRollups(@RequestParam YearMonth from,
+                                                    @RequestParam YearMonth to,
+                                                    @RequestParam(required = false) Integer empId) {
+        return rollupService.getRollups(from, to, empId);
+    }
+
+    // Backfill / repair the rollups from the source tables
+    @PostMapping("rollups/rebuild")
+    public Map<String, Object> rebuildRollups(@RequestParam YearMonth from, @RequestParam YearMonth to) {
+        int rows = rollupService.rebuild(from, to);
+        return Map.of("from", from.toString(), "to", to.toString(), "rows", rows);
+    }
+}
@@ -1,15 +1,25 @@
 package com.ems.backend.controller;
 
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.dto.TaskDispatchDTO;
 import com.ems.backend.dto.TaskRequestDTO;
+import com.ems.backend.dto.TaskSummaryDTO;
 import com.ems.backend.dto.TaskUpdateDTO;
+import com.ems.backend.dto.TaskViewDTO;
 import com.ems.backend.dto.TeamLeadTaskDecisionDTO;
+import com.ems.backend.dto.ViewPageDTO;
 import com.ems.backend.entity.Employee;
 import com.ems.backend.entity.Task;
 import com.ems.backend.repository.EmployeeRepository;
 import com.ems.backend.service.TaskService;
+import com.ems.backend.service.AggregateVersions;
+import com.ems.backend.service.AggregateVersions.Aggregate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.sql.Timestamp;
 import java.util.List;
@@ -22,6 +32,7 @@ public class TaskController {
 
     private final TaskService taskService;
     private final EmployeeRepository employeeRepository;
+    private final AggregateVersions aggregateVersions;
     // create employee
     @PostMapping("/add") //ok
     public ResponseEntity<Task> create(@RequestBody TaskRequestDTO dto) {
@@ -45,10 +56,30 @@ public class TaskController {
         return ResponseEntity.ok(taskService.createTask(task));
     }
 
-    // getting all tasks
+    // getting all tasks, ?empId=&from=&to=&status=&cursor=&size=
     @GetMapping("/tasks")  // ok
-    public ResponseEntity<List<Task>> getAll() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<List<Task>> getAll(ListFilterDTO filter, WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.TASKS, Aggregate.EMPLOYEES)) {
+            return null;
+        }
+        return CursorPageDTO.asListResponse(taskService.getTaskPage(filter));
+    }
+
+    // employees by id; ?include=employees side-loads them once per page
+    @GetMapping("/page")
+    public ResponseEntity<ViewPageDTO<TaskViewDTO>> getPage(ListFilterDTO filter,
+                                                            @RequestParam(required = false) String include,
+                                                            WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.TASKS, Aggregate.EMPLOYEES)) {
+            return null;
+        }
+        return ResponseEntity.ok(taskService.getTaskViewPage(filter, "employees".equalsIgnoreCase(include)));
+    }
+
+    // delta sync: rows changed since the token; no token returns the current one
+    @GetMapping("/changes")
+    public ChangesDTO<Task> getChanges(@RequestParam(required = false) String since) {
+        return taskService.getTaskChanges(since);
     }
 
     @PutMapping("/update/{id}")
@@ -56,9 +87,18 @@ public class TaskController {
         return ResponseEntity.ok(taskService.updateTask(id, dto));
     }
 
+    // assign to a team and/or employee, change status and notify in one call
+    @PostMapping("/{id}/dispatch")
+    public ResponseEntity<TaskSummaryDTO> dispatch(@PathVariable Long id, @RequestBody TaskDispatchDTO dto) {
+        return ResponseEntity.ok(taskService.dispatchTask(id, dto));
+    }
+
     // get tasks by employee
     @GetMapping("/employee/{empId}")
-    public ResponseEntity<List<Task>> getEmployeeTasks(@PathVariable Long empId) {
+    public ResponseEntity<List<Task>> getEmployeeTasks(@PathVariable Long empId, WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.TASKS, Aggregate.EMPLOYEES)) {
+            return null;
+        }
         return ResponseEntity.ok(taskService.getTasksByEmployee(empId));
     }
 
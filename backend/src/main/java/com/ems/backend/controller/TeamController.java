@@ -1,13 +1,19 @@
 package com.ems.backend.controller;
 
 import com.ems.backend.dto.TeamDTO;
+import com.ems.backend.dto.TeamViewDTO;
+import com.ems.backend.dto.ViewPageDTO;
 import com.ems.backend.entity.Task;
 import com.ems.backend.entity.Team;
 import com.ems.backend.service.TaskService;
+import com.ems.backend.service.TeamMembershipIndex;
 import com.ems.backend.service.TeamService;
+import com.ems.backend.service.AggregateVersions;
+import com.ems.backend.service.AggregateVersions.Aggregate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,17 +25,30 @@ public class TeamController {
 
     private final TeamService teamService;
     private final TaskService taskService;
+    private final AggregateVersions aggregateVersions;
+    private final TeamMembershipIndex membershipIndex;
 
     @PostMapping("/create")
     public ResponseEntity<Team> createTeam(@RequestBody Team team) {
         return ResponseEntity.ok(teamService.createTeam(team));
     }
 
+    // No ETag: lead and members come through the node-local second-level cache
     @GetMapping("/teams")
     public ResponseEntity<List<Team>> getAllTeams() {
         return ResponseEntity.ok(teamService.getAllTeams());
     }
 
+    // lead and members by id; ?include=employees side-loads them once
+    @GetMapping("/views")
+    public ResponseEntity<ViewPageDTO<TeamViewDTO>> getTeamViews(@RequestParam(required = false) String include,
+                                                                 WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.TEAMS, Aggregate.EMPLOYEES)) {
+            return null;
+        }
+        return ResponseEntity.ok(teamService.getTeamViews("employees".equalsIgnoreCase(include)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Team> getTeamById(@PathVariable Integer id) {
         return ResponseEntity.ok(teamService.getTeamById(id));
@@ -41,7 +60,10 @@ public class TeamController {
     }
 
     @GetMapping("/team-dto")
-    public ResponseEntity<List<TeamDTO>> getTeamDTOs() {
+    public ResponseEntity<List<TeamDTO>> getTeamDTOs(WebRequest request) {
+        if (aggregateVersions.notModified(request, Aggregate.TEAMS, Aggregate.TASKS, Aggregate.EMPLOYEES)) {
+            return null;
+        }
         return ResponseEntity.ok(teamService.getAllTeamsWithTasks());
     }
 
@@ -51,7 +73,10 @@ public class TeamController {
     }
 
     @GetMapping("/employee/{employeeId}/teams")
-    public ResponseEntity<List<TeamDTO>> getTeamsByEmployeeId(@PathVariable Long employeeId) {
+    public ResponseEntity<List<TeamDTO>> getTeamsByEmployeeId(@PathVariable Long employeeId, WebRequest request) {
+        if (aggregateVersions.notModified(request, membershipIndex.stateTag(), Aggregate.TEAMS, Aggregate.TASKS, Aggregate.EMPLOYEES)) {
+            return null;
+        }
         return ResponseEntity.ok(teamService.getTeamsByEmployeeId(employeeId));
     }
 
@@ -1,5 +1,7 @@
 package com.ems.backend.controller;
 
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
 import com.ems.backend.dto.TimesheetDTO;
 import com.ems.backend.entity.Timesheet;
 import com.ems.backend.service.TimesheetService;
@@ -19,9 +21,15 @@ public class TimesheetController {
 
     private final TimesheetService timesheetService;
 
+    // ?empId=&from=&to=&cursor=&size=
     @GetMapping("timesheets")
-    public List<TimesheetDTO> getAllTimesheets() {
-        return timesheetService.getAllTimesheet();
+    public ResponseEntity<List<TimesheetDTO>> getAllTimesheets(ListFilterDTO filter) {
+        return CursorPageDTO.asListResponse(timesheetService.getTimesheetPage(filter));
+    }
+
+    @GetMapping("page")
+    public CursorPageDTO<TimesheetDTO> getTimesheetPage(ListFilterDTO filter) {
+        return timesheetService.getTimesheetPage(filter);
     }
 
     @PostMapping("add")
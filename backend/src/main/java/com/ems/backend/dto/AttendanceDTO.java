@@ -13,8 +13,8 @@ import java.time.LocalTime;
 @AllArgsConstructor
 @NoArgsConstructor
 public class AttendanceDTO {
-    private int attId;
-    private int empId;
+    private Integer attId;
+    private Integer empId;
     private String fname;
     private String lname;
     private LocalDate date;
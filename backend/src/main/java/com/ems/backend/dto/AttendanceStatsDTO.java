@@ -0,0 +1,23 @@
+package com.ems.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AttendanceStatsDTO {
+    private Integer empId;
+    private LocalDate from;
+    private LocalDate to;
+    private int present;
+    private int absent;
+    // present / (present + absent), 0 when nothing was marked
+    private double rate;
+    // present days in a row, skipping unmarked days; an absence breaks the run
+    private int longestStreak;
+    private int currentStreak;
+}
@@ -0,0 +1,17 @@
+package com.ems.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheRegionStatsDTO {
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long elementsInMemory;
+    private double hitRatio;
+}
@@ -0,0 +1,20 @@
+package com.ems.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One delta-sync step: rows inserted or updated since the token, ids of rows
+// deleted since then, and the token to send next time
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangesDTO<T> {
+    private List<T> items;
+    private List<Long> deleted;
+    private String token;
+    // more changes are waiting; call again right away with the new token
+    private boolean hasMore;
+}
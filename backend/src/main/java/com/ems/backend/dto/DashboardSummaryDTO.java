@@ -0,0 +1,23 @@
+package com.ems.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardSummaryDTO {
+    private LocalDate date;
+    private long totalEmployees;
+    private long presentToday;
+    private long absentToday;
+    // employees with no attendance row for the date
+    private long notMarkedToday;
+    private long onLeaveToday;
+    private Map<String, Long> leaveCounts;
+    private Map<String, Long> taskCounts;
+}
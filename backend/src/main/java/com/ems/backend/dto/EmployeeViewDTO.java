@@ -0,0 +1,38 @@
+package com.ems.backend.dto;
+
+import com.ems.backend.entity.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// An employee as other views reference it: no password, no audit columns
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeViewDTO {
+    private Integer empId;
+    private String username;
+    private Employee.Role role;
+    private String fname;
+    private String lname;
+    private String email;
+    private String phone;
+    private LocalDate dob;
+    private String designation;
+
+    public static EmployeeViewDTO of(Employee employee) {
+        return new EmployeeViewDTO(
+                employee.getEmpId(),
+                employee.getUsername(),
+                employee.getRole(),
+                employee.getFname(),
+                employee.getLname(),
+                employee.getEmail(),
+                employee.getPhone(),
+                employee.getDob(),
+                employee.getDesignation()
+        );
+    }
+}
@@ -11,14 +11,14 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @NoArgsConstructor
 public class LeaveDTO {
-    private int leaveId;
-    private int empId;
+    private Integer leaveId;
+    private Integer empId;
     private String fName;
     private String lName;
     private String designation;
     private LocalDate startDate;
     private LocalDate endDate;
-    private int days;
+    private Integer days;
     private EmployeeLeave.LeaveStatus status;
     private EmployeeLeave.LeaveType type;
     private String description;
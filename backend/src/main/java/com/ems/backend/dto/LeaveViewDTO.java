@@ -0,0 +1,38 @@
+package com.ems.backend.dto;
+
+import com.ems.backend.entity.EmployeeLeave;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// A leave with its employee by id
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaveViewDTO {
+    private Integer leaveId;
+    private Integer empId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private EmployeeLeave.LeaveType leaveType;
+    private EmployeeLeave.LeaveStatus status;
+    private Integer days;
+    private String description;
+    private LocalDate appliedAt;
+
+    public static LeaveViewDTO of(EmployeeLeave leave) {
+        return new LeaveViewDTO(
+                leave.getLeaveId(),
+                leave.getEmployee().getEmpId(),
+                leave.getStartDate(),
+                leave.getEndDate(),
+                leave.getLeaveType(),
+                leave.getStatus(),
+                leave.getDays(),
+                leave.getDescription(),
+                leave.getAppliedAt()
+        );
+    }
+}
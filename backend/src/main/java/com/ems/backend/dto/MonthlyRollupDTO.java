@@ -0,0 +1,21 @@
+package com.ems.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MonthlyRollupDTO {
+    private Integer empId;
+    private YearMonth month;
+    private int daysPresent;
+    private int daysAbsent;
+    private long workedMinutes;
+    private int approvedLeaveDays;
+    private int tasksCompleted;
+    private int tasksOverdue;
+}
@@ -0,0 +1,33 @@
+package com.ems.backend.dto;
+
+import com.ems.backend.entity.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationViewDTO {
+    private Long id;
+    private Integer recipientId;
+    private Long taskId;
+    private Notification.Type type;
+    private String message;
+    private Boolean isRead;
+    private LocalDateTime createdAt;
+
+    public static NotificationViewDTO of(Notification notification) {
+        return new NotificationViewDTO(
+                notification.getId(),
+                notification.getRecipientId() != null ? notification.getRecipientId().getEmpId() : null,
+                notification.getTaskId() != null ? notification.getTaskId().getId() : null,
+                notification.getType(),
+                notification.getMessage(),
+                notification.getIsRead(),
+                notification.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.ems.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresenceDTO {
+    private LocalDate date;
+    private int present;
+    private int absent;
+    // present / (present + absent), 0 when nothing was marked
+    private double rate;
+}
@@ -0,0 +1,17 @@
+package com.ems.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Every field is optional: hand the task to a team (its lead takes it unless
+// assignedToId names someone else), assign it, change its status, or all three
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskDispatchDTO {
+    private Long teamId;
+    private Long assignedToId;
+    private String status;
+    private String message;
+}
@@ -0,0 +1,43 @@
+package com.ems.backend.dto;
+
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskSummaryDTO {
+    private Long id;
+    private String name;
+    private Task.Status status;
+    private Task.AcceptingStatus acceptingStatus;
+    private LocalDate dueDate;
+    private Integer assigneeId;
+    private String assigneeFname;
+    private String assigneeLname;
+    private Long teamId;
+    private String teamName;
+    // notifications written by this call
+    private int notified;
+
+    public static TaskSummaryDTO of(Task task, int notified) {
+        Employee assignee = task.getAssignedToId();
+        return new TaskSummaryDTO(
+                task.getId(),
+                task.getName(),
+                task.getStatus(),
+                task.getAcceptingStatus(),
+                task.getDueDate(),
+                assignee != null ? assignee.getEmpId() : null,
+                assignee != null ? assignee.getFname() : null,
+                assignee != null ? assignee.getLname() : null,
+                task.getTeam() != null ? task.getTeam().getId() : null,
+                task.getTeam() != null ? task.getTeam().getName() : null,
+                notified);
+    }
+}
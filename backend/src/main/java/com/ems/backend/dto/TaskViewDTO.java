@@ -0,0 +1,49 @@
+package com.ems.backend.dto;
+
+import com.ems.backend.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+// A task with its owner, assignee and team by id
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskViewDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private LocalDate startDate;
+    private LocalDate dueDate;
+    private LocalDate reminderDate;
+    private Timestamp createdAt;
+    private Task.Status status;
+    private Task.Priority priority;
+    private Task.AcceptingStatus acceptingStatus;
+    private String rejectingReason;
+    private Integer ownerId;
+    private Integer assignedToId;
+    private Long teamId;
+
+    public static TaskViewDTO of(Task task) {
+        return new TaskViewDTO(
+                task.getId(),
+                task.getName(),
+                task.getDescription(),
+                task.getStartDate(),
+                task.getDueDate(),
+                task.getReminderDate(),
+                task.getCreatedAt(),
+                task.getStatus(),
+                task.getPriority(),
+                task.getAcceptingStatus(),
+                task.getRejectingReason(),
+                task.getOwnerId() != null ? task.getOwnerId().getEmpId() : null,
+                task.getAssignedToId() != null ? task.getAssignedToId().getEmpId() : null,
+                task.getTeam() != null ? task.getTeam().getId() : null
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package com.ems.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeamAvailabilityDTO {
+    private Long teamId;
+    private LocalDate from;
+    private LocalDate to;
+    // lead and members
+    private int members;
+    // members with no approved leave in the range
+    private List<Integer> available;
+    // fewest members in on any single day of the range
+    private int minAvailable;
+    private List<LeaveViewDTO> leaves;
+}
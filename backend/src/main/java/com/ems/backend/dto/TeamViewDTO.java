@@ -0,0 +1,18 @@
+package com.ems.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// A team with its lead and members by id
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeamViewDTO {
+    private Long id;
+    private String name;
+    private Integer teamLeadId;
+    private List<Integer> memberIds;
+}
@@ -11,8 +11,8 @@ import java.time.LocalTime;
 @AllArgsConstructor
 @NoArgsConstructor
 public class TimesheetDTO {
-    private int timesheetId;
-    private int employeeId;
+    private Integer timesheetId;
+    private Integer employeeId;
     private LocalDate date;
     private LocalTime startTime;
     private LocalTime lunchInTime;
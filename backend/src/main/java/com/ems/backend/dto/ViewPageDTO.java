@@ -0,0 +1,23 @@
+package com.ems.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// A page of id-referencing views. With ?include=employees every employee the
+// items mention is side-loaded once, keyed by empId, instead of once per row.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ViewPageDTO<T> {
+    private List<T> items;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<Integer, EmployeeViewDTO> employees;
+    // null when there are no more rows
+    private String nextCursor;
+    private int size;
+}
@@ -0,0 +1,22 @@
+package com.ems.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Live backend replicas; a node drops out when it stops heartbeating
+@Entity
+@Table(name = "cluster_node")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClusterNode {
+
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
+    @Column(name = "heartbeat_at_ms", nullable = false)
+    private long heartbeatAtMs;
+}
@@ -0,0 +1,60 @@
+package com.ems.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "employee_monthly_rollup")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeMonthlyRollup {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "days_present", nullable = false)
+    private int daysPresent;
+
+    @Column(name = "days_absent", nullable = false)
+    private int daysAbsent;
+
+    @Column(name = "worked_minutes", nullable = false)
+    private long workedMinutes;
+
+    @Column(name = "approved_leave_days", nullable = false)
+    private int approvedLeaveDays;
+
+    @Column(name = "tasks_completed", nullable = false)
+    private int tasksCompleted;
+
+    // assigned tasks due in the month and still not completed
+    @Column(name = "tasks_overdue", nullable = false)
+    private int tasksOverdue;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public EmployeeMonthlyRollup(Key id) {
+        this.id = id;
+    }
+
+    @Embeddable
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        @Column(name = "emp_id")
+        private Integer empId;
+
+        // first day of the month
+        @Column(name = "month_start")
+        private LocalDate month;
+    }
+}
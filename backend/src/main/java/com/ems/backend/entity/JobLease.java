@@ -0,0 +1,29 @@
+package com.ems.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Which node currently runs a cluster-wide job. token grows by one every time
+// the lease changes hands, so a node that lost it can tell its work is stale.
+@Entity
+@Table(name = "job_lease")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "owner", nullable = false, length = 100)
+    private String owner;
+
+    @Column(name = "token", nullable = false)
+    private long token;
+
+    @Column(name = "expires_at_ms", nullable = false)
+    private long expiresAtMs;
+}
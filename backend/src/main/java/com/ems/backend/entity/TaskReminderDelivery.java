@@ -0,0 +1,37 @@
+package com.ems.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One row per reminder actually sent; the primary key makes delivery exactly-once
+@Entity
+@Table(name = "task_reminder_delivery")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskReminderDelivery {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    @Embeddable
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        @Column(name = "task_id")
+        private Long taskId;
+
+        @Column(name = "reminder_date")
+        private LocalDate reminderDate;
+    }
+}
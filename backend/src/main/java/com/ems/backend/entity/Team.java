@@ -4,12 +4,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "teams")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -25,6 +28,7 @@ public class Team {
     private Employee teamLead;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team_members")
     @JoinTable(
             name = "team_members",
             joinColumns = @JoinColumn(name = "team_id"),
@@ -2,13 +2,35 @@ package com.ems.backend.repository;
 
 import com.ems.backend.dto.AttendanceDTO;
 import com.ems.backend.entity.Attendance;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+    @EntityGraph(attributePaths = "employee")
     List<Attendance> findByDate(LocalDate date);
     Optional<Attendance> findByEmployeeEmpIdAndDate(Integer employee_empId, LocalDate date);
+
+    @Query("select a.status, count(a) from Attendance a where a.date = :date group by a.status")
+    List<Object[]> countByStatusOnDate(@Param("date") LocalDate date);
+
+    // (empId, status, count) for the monthly rollups; empId null means every employee
+    @Query("select a.employee.empId, a.status, count(a) from Attendance a " +
+            "where a.date between :from and :to and (:empId is null or a.employee.empId = :empId) " +
+            "group by a.employee.empId, a.status")
+    List<Object[]> countByEmployeeAndStatus(@Param("from") LocalDate from,
+                                            @Param("to") LocalDate to,
+                                            @Param("empId") Integer empId);
+
+    // Delta-sync rows, shaped like the listing
+    @Query("select new com.ems.backend.dto.AttendanceDTO(a.attId, e.empId, e.fname, e.lname, a.date, a.status, " +
+            "e.designation, a.loggedInTime, a.loggedOutTime) " +
+            "from Attendance a join a.employee e where a.attId in :ids order by a.attId")
+    List<AttendanceDTO> findDTOsByIds(@Param("ids") Collection<Integer> ids);
 }
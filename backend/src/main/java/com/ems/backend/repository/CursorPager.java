@@ -0,0 +1,176 @@
+package com.ems.backend.repository;
+
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Shared keyset paging over any entity: filter + "after cursor" predicate,
+// ordered by the keyset and limited to size + 1 rows to detect the next page.
+@Component
+@RequiredArgsConstructor
+public class CursorPager {
+
+    private final EntityManager entityManager;
+
+    @Value("${ems.paging.default-size:500}")
+    private int defaultSize;
+
+    @Value("${ems.paging.max-size:2000}")
+    private int maxSize;
+
+    @Transactional(readOnly = true)
+    public <T, R> CursorPageDTO<R> page(Class<T> entityClass,
+                                        Specification<T> filter,
+                                        Keyset<T> keyset,
+                                        ListFilterDTO request,
+                                        Function<T, R> mapper) {
+        CursorPageDTO<T> page = fetch(entityClass, entityClass, filter, keyset, request, (root, cb) -> root);
+        return new CursorPageDTO<>(page.getItems().stream().map(mapper).toList(), page.getNextCursor(), page.getSize());
+    }
+
+    // Selects straight into a DTO (constructor expression), so the rows come back
+    // in one statement without loading entities or their associations
+    @Transactional(readOnly = true)
+    public <T, R> CursorPageDTO<R> project(Class<T> entityClass,
+                                           Class<R> resultClass,
+                                           Specification<T> filter,
+                                           Keyset<R> keyset,
+                                           ListFilterDTO request,
+                                           BiFunction<Root<T>, CriteriaBuilder, Selection<R>> selection) {
+        return fetch(entityClass, resultClass, filter, keyset, request, selection);
+    }
+
+    private <T, R> CursorPageDTO<R> fetch(Class<T> entityClass,
+                                          Class<R> resultClass,
+                                          Specification<T> filter,
+                                          Keyset<R> keyset,
+                                          ListFilterDTO request,
+                                          BiFunction<Root<T>, CriteriaBuilder, Selection<R>> selection) {
+        int size = resolveSize(request.getSize());
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(resultClass);
+        Root<T> root = query.from(entityClass);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            predicates.add(afterCursor(root, cb, keyset, request.getCursor()));
+        }
+
+        query.select(selection.apply(root, cb))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(orderOf(root, cb, keyset));
+
+        List<R> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            R last = rows.get(size - 1);
+            nextCursor = encode(keyset.dateOf().apply(last), keyset.idOf().apply(last));
+        }
+
+        return new CursorPageDTO<>(rows, nextCursor, size);
+    }
+
+    private int resolveSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    private List<Order> orderOf(Root<?> root, CriteriaBuilder cb, Keyset<?> keyset) {
+        List<Order> orders = new ArrayList<>();
+        if (keyset.dateAttribute() != null) {
+            Path<?> date = root.get(keyset.dateAttribute());
+            orders.add(keyset.descending() ? cb.desc(date) : cb.asc(date));
+        }
+        Path<?> id = root.get(keyset.idAttribute());
+        orders.add(keyset.descending() ? cb.desc(id) : cb.asc(id));
+        return orders;
+    }
+
+    // (date, id) beyond the last row of the previous page
+    private Predicate afterCursor(Root<?> root, CriteriaBuilder cb, Keyset<?> keyset, String cursor) {
+        String[] parts = decode(cursor);
+        Path<?> idPath = root.get(keyset.idAttribute());
+        Comparable<?> id;
+        LocalDate date;
+        try {
+            id = parseId(idPath.getJavaType(), parts[1]);
+            date = keyset.dateAttribute() != null ? LocalDate.parse(parts[0]) : null;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+        }
+
+        Predicate idBeyond = beyond(cb, idPath, id, keyset.descending());
+        if (date == null) {
+            return idBeyond;
+        }
+
+        Path<LocalDate> datePath = root.get(keyset.dateAttribute());
+        return cb.or(
+                beyond(cb, datePath, date, keyset.descending()),
+                cb.and(cb.equal(datePath, date), idBeyond)
+        );
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate beyond(CriteriaBuilder cb, Path path, Comparable value, boolean descending) {
+        return descending ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+    }
+
+    private static Comparable<?> parseId(Class<?> idType, String raw) {
+        return Long.class.equals(idType) ? Long.valueOf(raw) : Integer.valueOf(raw);
+    }
+
+    private static String encode(LocalDate date, Number id) {
+        String raw = (date != null ? date.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2 || parts[1].isBlank()) {
+                throw new IllegalArgumentException(raw);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.ems.backend.repository;
+
+import com.ems.backend.dto.AttendanceDTO;
+import com.ems.backend.dto.LeaveDTO;
+import com.ems.backend.dto.LeaveViewDTO;
+import com.ems.backend.dto.NotificationViewDTO;
+import com.ems.backend.dto.TaskViewDTO;
+import com.ems.backend.dto.TimesheetDTO;
+import com.ems.backend.entity.Attendance;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.EmployeeLeave;
+import com.ems.backend.entity.Notification;
+import com.ems.backend.entity.Task;
+import com.ems.backend.entity.Team;
+import com.ems.backend.entity.Timesheet;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+// Constructor-expression selections for the listing DTOs. The employee columns
+// come from an inner join in the same statement instead of a lazy load per row.
+public final class DtoProjections {
+
+    private DtoProjections() {
+    }
+
+    public static Selection<AttendanceDTO> attendance(Root<Attendance> root, CriteriaBuilder cb) {
+        Join<Attendance, Employee> employee = root.join("employee");
+        return cb.construct(AttendanceDTO.class,
+                root.get("attId"),
+                employee.get("empId"),
+                employee.get("fname"),
+                employee.get("lname"),
+                root.get("date"),
+                root.get("status"),
+                employee.get("designation"),
+                root.get("loggedInTime"),
+                root.get("loggedOutTime"));
+    }
+
+    public static Selection<TimesheetDTO> timesheet(Root<Timesheet> root, CriteriaBuilder cb) {
+        Join<Timesheet, Employee> employee = root.join("employee");
+        return cb.construct(TimesheetDTO.class,
+                root.get("timesheetId"),
+                employee.get("empId"),
+                root.get("date"),
+                root.get("startTime"),
+                root.get("lunchInTime"),
+                root.get("lunchOutTime"),
+                root.get("outTime"),
+                root.get("inTime"),
+                root.get("endTime"),
+                root.get("workHours"),
+                employee.get("fname"),
+                employee.get("lname"),
+                root.get("workSummery"));
+    }
+
+    public static Selection<LeaveDTO> leave(Root<EmployeeLeave> root, CriteriaBuilder cb) {
+        Join<EmployeeLeave, Employee> employee = root.join("employee");
+        return cb.construct(LeaveDTO.class,
+                root.get("leaveId"),
+                employee.get("empId"),
+                employee.get("fname"),
+                employee.get("lname"),
+                employee.get("designation"),
+                root.get("startDate"),
+                root.get("endDate"),
+                root.get("days"),
+                root.get("status"),
+                root.get("leaveType"),
+                root.get("description"),
+                root.get("appliedAt"));
+    }
+
+    // Team notifications have no task, hence the outer join
+    public static Selection<NotificationViewDTO> notification(Root<Notification> root, CriteriaBuilder cb) {
+        Join<Notification, Task> task = root.join("taskId", JoinType.LEFT);
+        return cb.construct(NotificationViewDTO.class,
+                root.get("id"),
+                root.get("recipientId").get("empId"),
+                task.get("id"),
+                root.get("type"),
+                root.get("message"),
+                root.get("isRead"),
+                root.get("createdAt"));
+    }
+
+    // Employees by id only. Owner, assignee and team are all optional, hence the outer joins
+    public static Selection<TaskViewDTO> taskView(Root<Task> root, CriteriaBuilder cb) {
+        Join<Task, Employee> owner = root.join("ownerId", JoinType.LEFT);
+        Join<Task, Employee> assignee = root.join("assignedToId", JoinType.LEFT);
+        Join<Task, Team> team = root.join("team", JoinType.LEFT);
+        return cb.construct(TaskViewDTO.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("description"),
+                root.get("startDate"),
+                root.get("dueDate"),
+                root.get("reminderDate"),
+                root.get("createdAt"),
+                root.get("status"),
+                root.get("priority"),
+                root.get("AcceptingStatus"),
+                root.get("rejectingReason"),
+                owner.get("empId"),
+                assignee.get("empId"),
+                team.get("id"));
+    }
+
+    public static Selection<LeaveViewDTO> leaveView(Root<EmployeeLeave> root, CriteriaBuilder cb) {
+        return cb.construct(LeaveViewDTO.class,
+                root.get("leaveId"),
+                root.get("employee").get("empId"),
+                root.get("startDate"),
+                root.get("endDate"),
+                root.get("leaveType"),
+                root.get("status"),
+                root.get("days"),
+                root.get("description"),
+                root.get("appliedAt"));
+    }
+}
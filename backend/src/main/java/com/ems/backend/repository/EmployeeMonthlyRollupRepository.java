@@ -0,0 +1,19 @@
+package com.ems.backend.repository;
+
+import com.ems.backend.entity.EmployeeMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EmployeeMonthlyRollupRepository extends JpaRepository<EmployeeMonthlyRollup, EmployeeMonthlyRollup.Key> {
+    List<EmployeeMonthlyRollup> findByIdMonth(LocalDate month);
+
+    @Query("select r from EmployeeMonthlyRollup r where r.id.month between :from and :to " +
+            "and (:empId is null or r.id.empId = :empId) order by r.id.month, r.id.empId")
+    List<EmployeeMonthlyRollup> findRange(@Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          @Param("empId") Integer empId);
+}
@@ -1,12 +1,28 @@
 package com.ems.backend.repository;
 
+import com.ems.backend.dto.EmployeeViewDTO;
 import com.ems.backend.entity.Employee;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByEmail(String email);
     Optional<Employee> findByUsername(String username);
 
+    // Row lock for check-then-write rules scoped to one employee (leave overlap)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Employee e where e.empId = :empId")
+    Optional<Employee> lockById(@Param("empId") Integer empId);
+
+    @Query("select new com.ems.backend.dto.EmployeeViewDTO(e.empId, e.username, e.role, e.fname, e.lname, " +
+            "e.email, e.phone, e.dob, e.designation) from Employee e where e.empId in :ids order by e.empId")
+    List<EmployeeViewDTO> findViewsByEmpIdIn(@Param("ids") Collection<Integer> ids);
+
 }
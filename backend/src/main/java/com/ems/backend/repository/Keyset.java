@@ -0,0 +1,30 @@
+package com.ems.backend.repository;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+// Describes the (date, id) columns a listing is ordered and cursored on.
+// dateAttribute is null for tables that are paged by id only.
+public record Keyset<T>(String dateAttribute,
+                        String idAttribute,
+                        boolean descending,
+                        Function<T, LocalDate> dateOf,
+                        Function<T, ? extends Number> idOf) {
+
+    // Newest first, ties broken by id
+    public static <T> Keyset<T> byDateAndId(String dateAttribute, String idAttribute,
+                                            Function<T, LocalDate> dateOf,
+                                            Function<T, ? extends Number> idOf) {
+        return new Keyset<>(dateAttribute, idAttribute, true, dateOf, idOf);
+    }
+
+    // Insertion order
+    public static <T> Keyset<T> byId(String idAttribute, Function<T, ? extends Number> idOf) {
+        return new Keyset<>(null, idAttribute, false, row -> null, idOf);
+    }
+
+    // Newest first for tables whose ids follow insertion time
+    public static <T> Keyset<T> byIdDescending(String idAttribute, Function<T, ? extends Number> idOf) {
+        return new Keyset<>(null, idAttribute, true, row -> null, idOf);
+    }
+}
@@ -1,10 +1,53 @@
 package com.ems.backend.repository;
 
+import com.ems.backend.dto.LeaveViewDTO;
 import com.ems.backend.entity.EmployeeLeave;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface LeaveRepository extends JpaRepository<EmployeeLeave, Long> {
     List<EmployeeLeave> findByStatus(EmployeeLeave.LeaveStatus status);
+
+    @Query("select l.status, count(l) from EmployeeLeave l group by l.status")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("select count(l) from EmployeeLeave l where l.status = :status and :date between l.startDate and l.endDate")
+    long countCovering(@Param("status") EmployeeLeave.LeaveStatus status, @Param("date") LocalDate date);
+
+    // (empId, startDate, endDate) of leaves overlapping the range
+    @Query("select l.employee.empId, l.startDate, l.endDate from EmployeeLeave l " +
+            "where l.status = :status and l.startDate <= :to and l.endDate >= :from " +
+            "and (:empId is null or l.employee.empId = :empId)")
+    List<Object[]> findRanges(@Param("status") EmployeeLeave.LeaveStatus status,
+                              @Param("from") LocalDate from,
+                              @Param("to") LocalDate to,
+                              @Param("empId") Integer empId);
+
+    // Leaves of one employee overlapping the range other than exceptId, by start date (idx_leave_emp_start)
+    @Query("select l from EmployeeLeave l where l.employee.empId = :empId and l.status <> :excluded " +
+            "and l.startDate <= :to and l.endDate >= :from " +
+            "and (:exceptId is null or l.leaveId <> :exceptId) order by l.startDate")
+    List<EmployeeLeave> findOverlapping(@Param("empId") Integer empId,
+                                        @Param("excluded") EmployeeLeave.LeaveStatus excluded,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to,
+                                        @Param("exceptId") Integer exceptId,
+                                        Pageable pageable);
+
+    @EntityGraph(attributePaths = "employee")
+    @Query("select l from EmployeeLeave l where l.leaveId in :ids order by l.leaveId")
+    List<EmployeeLeave> findByLeaveIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Changed leaves for LeaveIntervalIndex.reconcile(), shaped like its rows
+    @Query("select new com.ems.backend.dto.LeaveViewDTO(l.leaveId, l.employee.empId, l.startDate, l.endDate, " +
+            "l.leaveType, l.status, l.days, l.description, l.appliedAt) " +
+            "from EmployeeLeave l where l.leaveId in :ids order by l.leaveId")
+    List<LeaveViewDTO> findViewsByIds(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,102 @@
+package com.ems.backend.repository;
+
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.entity.Attendance;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.EmployeeLeave;
+import com.ems.backend.entity.Notification;
+import com.ems.backend.entity.Task;
+import com.ems.backend.entity.Timesheet;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+// Server-side filters for the list endpoints (employee, date range, status)
+public final class ListSpecifications {
+
+    private ListSpecifications() {
+    }
+
+    public static Specification<Attendance> attendance(ListFilterDTO filter) {
+        return Specification.<Attendance>where(employeeIs("employee", filter.getEmpId()))
+                .and(dateBetween("date", filter.getFrom(), filter.getTo()))
+                .and(statusIs("status", Attendance.Status.class, filter.getStatus()));
+    }
+
+    public static Specification<Timesheet> timesheet(ListFilterDTO filter) {
+        return Specification.<Timesheet>where(employeeIs("employee", filter.getEmpId()))
+                .and(dateBetween("date", filter.getFrom(), filter.getTo()));
+    }
+
+    // A leave matches the range when it overlaps it
+    public static Specification<EmployeeLeave> leave(ListFilterDTO filter) {
+        return Specification.<EmployeeLeave>where(employeeIs("employee", filter.getEmpId()))
+                .and(dateBetween("endDate", filter.getFrom(), null))
+                .and(dateBetween("startDate", null, filter.getTo()))
+                .and(statusIs("status", EmployeeLeave.LeaveStatus.class, filter.getStatus()));
+    }
+
+    public static Specification<Task> task(ListFilterDTO filter) {
+        return Specification.<Task>where(employeeIs("assignedToId", filter.getEmpId()))
+                .and(dateBetween("dueDate", filter.getFrom(), filter.getTo()))
+                .and(statusIs("status", Task.Status.class, filter.getStatus()));
+    }
+
+    public static Specification<Employee> employee(ListFilterDTO filter) {
+        return Specification.<Employee>where(statusIs("role", Employee.Role.class, filter.getStatus()));
+    }
+
+    // status=UNREAD narrows the inbox to unread notifications
+    public static Specification<Notification> notification(ListFilterDTO filter) {
+        return Specification.<Notification>where(employeeIs("recipientId", filter.getEmpId()))
+                .and(unreadOnly(filter.getStatus()));
+    }
+
+    private static Specification<Notification> unreadOnly(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        if (!"UNREAD".equalsIgnoreCase(status.trim())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown status: " + status);
+        }
+        return (root, query, cb) -> cb.isFalse(root.get("isRead"));
+    }
+
+    private static <T> Specification<T> employeeIs(String association, Integer empId) {
+        if (empId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(association).get("empId"), empId);
+    }
+
+    private static <T> Specification<T> dateBetween(String attribute, LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.<LocalDate>get(attribute), from, to);
+            } else if (from != null) {
+                return cb.greaterThanOrEqualTo(root.<LocalDate>get(attribute), from);
+            } else if (to != null) {
+                return cb.lessThanOrEqualTo(root.<LocalDate>get(attribute), to);
+            }
+            return null;
+        };
+    }
+
+    private static <T, E extends Enum<E>> Specification<T> statusIs(String attribute, Class<E> type, String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        E value = parseStatus(type, status);
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    private static <E extends Enum<E>> E parseStatus(Class<E> type, String status) {
+        try {
+            return Enum.valueOf(type, status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown status: " + status);
+        }
+    }
+}
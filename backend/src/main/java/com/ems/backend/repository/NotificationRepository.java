@@ -1,13 +1,44 @@
 package com.ems.backend.repository;
 
-import com.ems.backend.entity.Employee;
+import com.ems.backend.dto.NotificationViewDTO;
 import com.ems.backend.entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByRecipientId(Employee employee);
-    List<Notification> findByRecipientId_EmpId(Integer recipientId_empId);
+    // Filters on the recipient_id column itself (the derived query joined employee)
+    @Query("select n from Notification n where n.recipientId.empId = :empId")
+    List<Notification> findByRecipientId_EmpId(@Param("empId") Integer empId);
+
+    @Query("select new com.ems.backend.dto.NotificationViewDTO(n.id, n.recipientId.empId, t.id, n.type, n.message, n.isRead, n.createdAt) " +
+            "from Notification n left join n.taskId t where n.recipientId.empId = :empId and n.id > :afterId order by n.id")
+    List<NotificationViewDTO> findSince(@Param("empId") Integer empId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.ems.backend.dto.NotificationViewDTO(n.id, n.recipientId.empId, t.id, n.type, n.message, n.isRead, n.createdAt) " +
+            "from Notification n left join n.taskId t where n.recipientId.empId in :empIds and n.id > :afterId order by n.id")
+    List<NotificationViewDTO> findForRecipientsSince(@Param("empIds") Collection<Integer> empIds, @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    @Query("select coalesce(max(n.id), 0) from Notification n")
+    long findMaxId();
+
+    // Newest id past afterId saved before the cutoff; only scans the ids past afterId
+    @Query("select max(n.id) from Notification n where n.id > :afterId and n.createdAt < :before")
+    Long findMaxIdSavedBefore(@Param("afterId") Long afterId, @Param("before") LocalDateTime before);
+
+    // Answered from the (recipient_id, is_read) index alone
+    long countByRecipientId_EmpIdAndIsReadFalse(Integer empId);
+
+    // One statement regardless of how many rows are unread
+    @Modifying
+    @Query("update Notification n set n.isRead = true where n.recipientId.empId = :empId and n.isRead = false")
+    int markAllRead(@Param("empId") Integer empId);
 
 }
@@ -0,0 +1,78 @@
+package com.ems.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+// Streams a filtered DTO projection off an open JDBC cursor, in (date, id) order.
+// Must be consumed inside a transaction and closed by the caller.
+@Component
+@RequiredArgsConstructor
+public class ProjectionStreamer {
+
+    private final EntityManager entityManager;
+    private final DataSource dataSource;
+
+    // MySQL Connector/J only streams row by row with Integer.MIN_VALUE;
+    // other drivers reject negative sizes and get a regular one instead
+    @Value("${ems.export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    private volatile Integer effectiveFetchSize;
+
+    public <T, R> Stream<R> stream(Class<T> entityClass,
+                                   Class<R> resultClass,
+                                   Specification<T> filter,
+                                   String dateAttribute,
+                                   String idAttribute,
+                                   BiFunction<Root<T>, CriteriaBuilder, Selection<R>> selection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(resultClass);
+        Root<T> root = query.from(entityClass);
+
+        Predicate predicate = filter != null ? filter.toPredicate(root, query, cb) : null;
+        query.select(selection.apply(root, cb))
+                .orderBy(cb.asc(root.get(dateAttribute)), cb.asc(root.get(idAttribute)));
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private int fetchSize() {
+        Integer resolved = effectiveFetchSize;
+        if (resolved == null) {
+            resolved = fetchSize >= 0 || isMySql() ? fetchSize : 1000;
+            effectiveFetchSize = resolved;
+        }
+        return resolved;
+    }
+
+    private boolean isMySql() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "MySQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+}
@@ -3,15 +3,53 @@ package com.ems.backend.repository;
 import com.ems.backend.entity.Employee;
 import com.ems.backend.entity.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByAssignedToId(Employee assignedToId);
-    List<Task> findByAssignedToId_EmpId(Long empId);
+
+    // Filters on the assigned_to_id column itself (the derived query joined employee)
+    @Query("select t from Task t where t.assignedToId.empId = :empId")
+    List<Task> findByAssignedToId_EmpId(@Param("empId") Integer empId);
+
     List<Task> findByOwnerId(Employee ownerId);
-    List<Task> findByReminderDate(LocalDate reminderDate);
     List<Task> findByTeam_Id(Long id);
+
+    // (taskId, reminderDate) for assigned tasks whose reminder in the range has not gone out yet,
+    // limited to the ids of one shard (id % shards = shard)
+    @Query("select t.id, t.reminderDate from Task t " +
+            "where t.reminderDate between :from and :to and t.assignedToId is not null " +
+            "and mod(t.id, :shards) = :shard " +
+            "and not exists (select d from TaskReminderDelivery d " +
+            "where d.id.taskId = t.id and d.id.reminderDate = t.reminderDate)")
+    List<Object[]> findUndeliveredReminders(@Param("from") LocalDate from,
+                                            @Param("to") LocalDate to,
+                                            @Param("shards") int shards,
+                                            @Param("shard") int shard);
+
+    // (teamId, taskId, name) for tasks handed to a team
+    @Query("select t.team.id, t.id, t.name from Task t " +
+            "where t.team is not null and (:teamId is null or t.team.id = :teamId) order by t.id")
+    List<Object[]> findTeamTaskRows(@Param("teamId") Long teamId);
+
+    @Query("select t.status, count(t) from Task t group by t.status")
+    List<Object[]> countGroupedByStatus();
+
+    // (empId, completed, overdue) for assigned tasks due in the range
+    @Query("select t.assignedToId.empId, " +
+            "sum(case when t.status = :completed then 1 else 0 end), " +
+            "sum(case when t.status <> :completed and t.dueDate < :today then 1 else 0 end) " +
+            "from Task t where t.assignedToId is not null and t.dueDate between :from and :to " +
+            "and (:empId is null or t.assignedToId.empId = :empId) " +
+            "group by t.assignedToId.empId")
+    List<Object[]> countCompletedAndOverdue(@Param("from") LocalDate from,
+                                            @Param("to") LocalDate to,
+                                            @Param("today") LocalDate today,
+                                            @Param("completed") Task.Status completed,
+                                            @Param("empId") Integer empId);
 }
 
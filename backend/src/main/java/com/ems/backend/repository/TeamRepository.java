@@ -2,14 +2,36 @@ package com.ems.backend.repository;
 
 import com.ems.backend.entity.Employee;
 import com.ems.backend.entity.Team;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
     Optional<Team> findByName(String name);
+
+    // Lead and members in the same statement instead of a load per team
+    @Override
+    @EntityGraph(attributePaths = {"teamLead", "members"})
+    List<Team> findAll();
 //    Optional<Team> findByMembersContaining(Employee employee);
     // In TeamRepository
     List<Team> findByMembersContaining(Employee employee);
+
+    // The team with its lead and members in one statement, for dispatching a task to it
+    @EntityGraph(attributePaths = {"teamLead", "members"})
+    Optional<Team> findWithMembersById(Long id);
+
+    // (teamId, name, leadId, leadFname, leadLname); teamId null for every team
+    @Query("select t.id, t.name, l.empId, l.fname, l.lname from Team t left join t.teamLead l " +
+            "where (:teamId is null or t.id = :teamId) order by t.id")
+    List<Object[]> findTeamRows(@Param("teamId") Long teamId);
+
+    // (teamId, empId, fname, lname)
+    @Query("select t.id, m.empId, m.fname, m.lname from Team t join t.members m " +
+            "where (:teamId is null or t.id = :teamId) order by t.id, m.empId")
+    List<Object[]> findMemberRows(@Param("teamId") Long teamId);
 }
@@ -3,13 +3,22 @@ package com.ems.backend.repository;
 
 import com.ems.backend.entity.Timesheet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 public interface TimesheetRepository extends JpaRepository<Timesheet, Long> {
     boolean existsByEmployeeEmpIdAndDate(Integer employee_empId, LocalDate date);
     Optional<Timesheet> findByEmployeeEmpIdAndDate(Integer empId, LocalDate date);
 
+    // (empId, workHours, startTime, endTime) for the monthly rollups
+    @Query("select t.employee.empId, t.workHours, t.startTime, t.endTime from Timesheet t " +
+            "where t.date between :from and :to and (:empId is null or t.employee.empId = :empId)")
+    List<Object[]> findWorkHours(@Param("from") LocalDate from,
+                                 @Param("to") LocalDate to,
+                                 @Param("empId") Integer empId);
 
 }
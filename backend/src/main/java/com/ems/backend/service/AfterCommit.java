@@ -0,0 +1,26 @@
+package com.ems.backend.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Side effects that must not run ahead of the data: deferred until the surrounding
+// transaction commits (and dropped if it rolls back), or run straight away outside one
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable work) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            work.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                work.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,185 @@
+package com.ems.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+// Monotonic change counter per aggregate (aggregate_version), shared by all
+// replicas. Services bump it after their write commits; list endpoints turn the
+// versions they depend on plus the request URI into a strong ETag and answer a
+// matching If-None-Match with 304 before running any query. Row-level changes
+// also go to change_log, which feeds the delta-sync endpoints (ChangeFeed); that
+// row is written in the caller's transaction, so it commits or rolls back with
+// the write. Deletes are logged like any other change: a logged row that no
+// longer exists is reported as deleted.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AggregateVersions {
+
+    public enum Aggregate { TASKS, ATTENDANCE, LEAVES, EMPLOYEES, TEAMS }
+
+    private static final String PENDING_KEY = AggregateVersions.class.getName() + ".pending";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate ownTransaction;
+
+    @PostConstruct
+    void init() {
+        // afterCommit still sees the finished transaction's connection; the bump needs its own
+        ownTransaction = new TransactionTemplate(transactionManager);
+        ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Aggregates a transaction changed, bumped once it commits
+    private static final class Pending {
+        final Set<Aggregate> aggregates = EnumSet.noneOf(Aggregate.class);
+    }
+
+    // Deferred to after commit, so a reader never sees the new version before the data
+    public void bump(Aggregate... aggregates) {
+        if (aggregates.length == 0) {
+            return;
+        }
+        Pending pending = pending();
+        pending.aggregates.addAll(Arrays.asList(aggregates));
+        writeUnlessDeferred(pending);
+    }
+
+    // Row-level change for the delta-sync feed (change_log); bumps the aggregate too.
+    // Inside a transaction the row is inserted there and then, so it cannot be lost
+    // once the write commits; only the bump waits for the commit
+    public void changed(Aggregate aggregate, Number rowId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            logChange(aggregate, rowId);
+            pending().aggregates.add(aggregate);
+            return;
+        }
+        ownTransaction.executeWithoutResult(status -> {
+            logChange(aggregate, rowId);
+            increment(Set.of(aggregate));
+        });
+    }
+
+    private void logChange(Aggregate aggregate, Number rowId) {
+        jdbcTemplate.update("insert into change_log (aggregate_name, row_id, changed_at) values (?, ?, ?)",
+                aggregate.name(), rowId.longValue(), LocalDateTime.now());
+    }
+
+    private Pending pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new Pending();
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(PENDING_KEY);
+        if (pending == null) {
+            Pending created = new Pending();
+            TransactionSynchronizationManager.bindResource(PENDING_KEY, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_KEY);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void writeUnlessDeferred(Pending pending) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(pending);
+        }
+    }
+
+    public Map<Aggregate, Long> current() {
+        return jdbcTemplate.query("select name, version from aggregate_version", rs -> {
+            Map<Aggregate, Long> versions = new EnumMap<>(Aggregate.class);
+            while (rs.next()) {
+                versions.put(Aggregate.valueOf(rs.getString(1)), rs.getLong(2));
+            }
+            return versions;
+        });
+    }
+
+    // True (and the 304 already set) when the client's copy is still current.
+    // Otherwise the ETag is on the response and the caller renders the body as usual.
+    public boolean notModified(WebRequest request, Aggregate... dependsOn) {
+        return request.checkNotModified(etag(request, dependsOn));
+    }
+
+    // For bodies served from node-local state (an in-memory index): the tag also carries
+    // that state's own version, so a copy validated on one replica is not confirmed by
+    // another whose index has not caught up yet
+    public boolean notModified(WebRequest request, String localState, Aggregate... dependsOn) {
+        String etag = etag(request, dependsOn);
+        return request.checkNotModified(etag.substring(0, etag.length() - 1) + "-" + localState + "\"");
+    }
+
+    String etag(WebRequest request, Aggregate... dependsOn) {
+        HttpServletRequest servletRequest = null;
+        if (request instanceof ServletWebRequest servlet) {
+            servletRequest = servlet.getRequest();
+            if (servlet.getResponse() != null) {
+                // Cacheable, but always revalidated
+                servlet.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            }
+        }
+
+        Map<Aggregate, Long> versions = current();
+        String stamp = Arrays.stream(dependsOn)
+                .map(aggregate -> String.valueOf(versions.getOrDefault(aggregate, 0L)))
+                .collect(Collectors.joining("."));
+
+        CRC32 query = new CRC32();
+        if (servletRequest != null) {
+            query.update(servletRequest.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (servletRequest.getQueryString() != null) {
+                query.update('?');
+                query.update(servletRequest.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return "\"" + stamp + "-" + Long.toHexString(query.getValue()) + "\"";
+    }
+
+    private void write(Pending pending) {
+        try {
+            ownTransaction.executeWithoutResult(status -> increment(pending.aggregates));
+        } catch (RuntimeException e) {
+            // The write and its change_log rows are committed; ETags may match a stale copy until the next bump
+            log.warn("Could not bump {}: {}", pending.aggregates, e.getMessage());
+        }
+    }
+
+    private void increment(Set<Aggregate> aggregates) {
+        jdbcTemplate.batchUpdate("update aggregate_version set version = version + 1 where name = ?",
+                aggregates.stream().map(aggregate -> new Object[]{aggregate.name()}).toList());
+    }
+}
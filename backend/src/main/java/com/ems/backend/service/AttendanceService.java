@@ -1,6 +1,11 @@
 package com.ems.backend.service;
 
 import com.ems.backend.dto.AttendanceDTO;
+import com.ems.backend.dto.AttendanceStatsDTO;
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.dto.PresenceDTO;
 import com.ems.backend.entity.Attendance;
 
 import java.time.LocalDate;
@@ -8,7 +13,7 @@ import java.util.List;
 
 public interface AttendanceService {
 
-    List<AttendanceDTO> getAllAttendance();
+    CursorPageDTO<AttendanceDTO> getAttendancePage(ListFilterDTO filter);
 //    List<Attendance> getAttendance();
     Attendance saveAttendance(Attendance attendance);
     Attendance updateAttendance(Long id, Attendance attendance);
@@ -16,4 +21,10 @@ public interface AttendanceService {
     Attendance updateLogoutTime(Long empId);
 
     List<Attendance> getAttendanceByDate(LocalDate date);
+
+    ChangesDTO<AttendanceDTO> getAttendanceChanges(String token);
+
+    AttendanceStatsDTO getAttendanceStats(Integer empId, LocalDate from, LocalDate to);
+
+    PresenceDTO getPresenceOn(LocalDate date);
 }
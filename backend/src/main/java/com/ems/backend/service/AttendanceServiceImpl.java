@@ -1,11 +1,23 @@
 package com.ems.backend.service;
 
 import com.ems.backend.dto.AttendanceDTO;
+import com.ems.backend.dto.AttendanceStatsDTO;
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.dto.PresenceDTO;
 import com.ems.backend.entity.Attendance;
 import com.ems.backend.repository.AttendanceRepository;
+import com.ems.backend.repository.CursorPager;
+import com.ems.backend.repository.DtoProjections;
+import com.ems.backend.repository.Keyset;
+import com.ems.backend.repository.ListSpecifications;
+import com.ems.backend.service.AggregateVersions.Aggregate;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
@@ -13,28 +25,25 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AttendanceServiceImpl implements AttendanceService {
 
+    private static final Keyset<AttendanceDTO> KEYSET =
+            Keyset.byDateAndId("date", "attId", AttendanceDTO::getDate, AttendanceDTO::getAttId);
+
     private final AttendanceRepository attendanceRepository;
+    private final CursorPager cursorPager;
+    private final RollupService rollupService;
+    private final AggregateVersions aggregateVersions;
+    private final ChangeFeed changeFeed;
+    private final PresenceIndex presenceIndex;
 
     @Override
-    public List<AttendanceDTO> getAllAttendance() {
-        List<Attendance> attList = attendanceRepository.findAll();
-        return attList.stream().map(att -> new AttendanceDTO(
-                att.getAttId(),
-                att.getEmployee().getEmpId(),
-                att.getEmployee().getFname(),
-                att.getEmployee().getLname(),
-                att.getDate(),
-                att.getStatus(),
-                att.getEmployee().getDesignation(),
-                att.getLoggedInTime(),
-                att.getLoggedOutTime()
-        )).collect(Collectors.toList());
+    public CursorPageDTO<AttendanceDTO> getAttendancePage(ListFilterDTO filter) {
+        return cursorPager.project(Attendance.class, AttendanceDTO.class, ListSpecifications.attendance(filter),
+                KEYSET, filter, DtoProjections::attendance);
     }
 
 //    @Override
@@ -43,6 +52,8 @@ public class AttendanceServiceImpl implements AttendanceService {
 //    }
 
     @Override
+    @Transactional
+    @Timed(value = "ems.attendance.save", histogram = true)
     public Attendance saveAttendance(Attendance attendance) {
         if (attendance.getEmployee() == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,"Employee must be specified for attendance");
@@ -66,7 +77,11 @@ public class AttendanceServiceImpl implements AttendanceService {
             attendance.setLoggedOutTime(null);
         }
 
-        return attendanceRepository.save(attendance);
+        Attendance saved = attendanceRepository.save(attendance);
+        rollupService.refreshAttendance(saved.getEmployee().getEmpId(), saved.getDate());
+        AfterCommit.run(() -> presenceIndex.mark(saved.getEmployee().getEmpId(), saved.getDate(), saved.getStatus()));
+        aggregateVersions.changed(Aggregate.ATTENDANCE, saved.getAttId());
+        return saved;
     }
 
 
@@ -82,6 +97,7 @@ public class AttendanceServiceImpl implements AttendanceService {
     */
 
     @Override
+    @Transactional
     public Attendance updateAttendance(Long attId, Attendance updatedAtt) {
         Attendance existingAtt = attendanceRepository.findById(attId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,"Attendance not found for: " + attId));
@@ -107,10 +123,15 @@ public class AttendanceServiceImpl implements AttendanceService {
             }
         }
 
-        return attendanceRepository.save(existingAtt);
+        Attendance saved = attendanceRepository.save(existingAtt);
+        rollupService.refreshAttendance(saved.getEmployee().getEmpId(), saved.getDate());
+        AfterCommit.run(() -> presenceIndex.mark(saved.getEmployee().getEmpId(), saved.getDate(), saved.getStatus()));
+        aggregateVersions.changed(Aggregate.ATTENDANCE, saved.getAttId());
+        return saved;
     }
 
     @Override
+    @Transactional
     public Attendance updateLogoutTime(Long empId) {
         LocalDate today = LocalDate.now();
 
@@ -122,7 +143,9 @@ public class AttendanceServiceImpl implements AttendanceService {
         }
 
         attendance.setLoggedOutTime(LocalTime.now());
-        return attendanceRepository.save(attendance);
+        Attendance saved = attendanceRepository.save(attendance);
+        aggregateVersions.changed(Aggregate.ATTENDANCE, saved.getAttId());
+        return saved;
     }
 
 
@@ -130,4 +153,24 @@ public class AttendanceServiceImpl implements AttendanceService {
     public List<Attendance> getAttendanceByDate(LocalDate date) {
         return attendanceRepository.findByDate(date);
     }
+
+    @Override
+    public ChangesDTO<AttendanceDTO> getAttendanceChanges(String token) {
+        return changeFeed.since(Aggregate.ATTENDANCE, token,
+                ids -> attendanceRepository.findDTOsByIds(ids.stream().map(Long::intValue).toList()),
+                AttendanceDTO::getAttId);
+    }
+
+    // Defaults to the year so far
+    @Override
+    public AttendanceStatsDTO getAttendanceStats(Integer empId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.withDayOfYear(1);
+        return presenceIndex.stats(empId, start, end);
+    }
+
+    @Override
+    public PresenceDTO getPresenceOn(LocalDate date) {
+        return presenceIndex.presenceOn(date);
+    }
 }
@@ -0,0 +1,141 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.service.AggregateVersions.Aggregate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+// Reads change_log for the /changes endpoints. The token is the last change_log
+// seq the client has applied. Sequence numbers are handed out before commit, so
+// a late-committing write could land below a token already given out; the token
+// therefore only advances past entries older than ems.changes.settle-ms, and the
+// newest entries are re-sent on the next call (clients apply them idempotently).
+// A client with no token gets the settled one and loads the list endpoint first.
+// purge() records the highest seq it removed in change_log_purge; older tokens get 410.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeFeed {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLeaseManager jobLeases;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${ems.changes.max-batch:1000}")
+    private int maxBatch;
+
+    @Value("${ems.changes.settle-ms:5000}")
+    private long settleMs;
+
+    @Value("${ems.changes.retention-days:7}")
+    private int retentionDays;
+
+    private record Entry(long seq, long rowId, LocalDateTime changedAt) {
+    }
+
+    public <T> ChangesDTO<T> since(Aggregate aggregate, String token, Function<Collection<Long>, List<T>> loadRows,
+                                   Function<T, Number> idOf) {
+        if (token == null || token.isBlank()) {
+            return new ChangesDTO<>(List.of(), List.of(), settledToken(), false);
+        }
+        long since = parse(token);
+        requireRetained(since);
+
+        List<Entry> entries = jdbcTemplate.query(
+                "select seq, row_id, changed_at from change_log where aggregate_name = ? and seq > ? order by seq",
+                ps -> {
+                    ps.setString(1, aggregate.name());
+                    ps.setLong(2, since);
+                    ps.setMaxRows(maxBatch + 1);
+                },
+                (rs, i) -> new Entry(rs.getLong(1), rs.getLong(2), rs.getTimestamp(3).toLocalDateTime()));
+        boolean hasMore = entries.size() > maxBatch;
+        if (hasMore) {
+            entries = entries.subList(0, maxBatch);
+        }
+
+        Set<Long> changed = new LinkedHashSet<>();
+        long next = since;
+        LocalDateTime settled = LocalDateTime.now().minusNanos(settleMs * 1_000_000);
+        boolean settling = true;
+        for (Entry entry : entries) {
+            changed.add(entry.rowId());
+            settling = settling && entry.changedAt().isBefore(settled);
+            if (settling) {
+                next = entry.seq();
+            }
+        }
+
+        List<T> rows = changed.isEmpty() ? List.of() : loadRows.apply(changed);
+        // Changed rows that no longer exist are reported as deleted
+        Set<Long> found = new LinkedHashSet<>();
+        rows.forEach(row -> found.add(idOf.apply(row).longValue()));
+        List<Long> deleted = changed.stream().filter(id -> !found.contains(id)).toList();
+
+        // Nothing settled yet: no point calling straight back
+        return new ChangesDTO<>(rows, deleted, String.valueOf(next), hasMore && next > since);
+    }
+
+    // Token behind every change that may still be in flight (newer than the settle window).
+    // Taken before a full load of the table, following the feed from it misses nothing
+    public String settledToken() {
+        Long settled = jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from change_log where changed_at < ?",
+                Long.class, Timestamp.valueOf(LocalDateTime.now().minusNanos(settleMs * 1_000_000)));
+        // Never below the purge watermark, or a log purged empty would hand out an expired token
+        return String.valueOf(Math.max(settled, purgedThrough()));
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purge() {
+        jobLeases.runIfLeader("change-log-purge", token -> {
+            Integer purged = new TransactionTemplate(transactionManager).execute(status -> {
+                jobLeases.checkFence("change-log-purge", token);
+                Long through = jdbcTemplate.queryForObject("select max(seq) from change_log where changed_at < ?",
+                        Long.class, Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays)));
+                if (through == null) {
+                    return 0;
+                }
+                // Same transaction as the delete, so no reader sees the rows gone without the watermark
+                jdbcTemplate.update("update change_log_purge set purged_through = ? where id = 1 and purged_through < ?",
+                        through, through);
+                return jdbcTemplate.update("delete from change_log where seq <= ?", through);
+            });
+            log.info("Purged {} change_log row(s) older than {} days", purged, retentionDays);
+        });
+    }
+
+    // Entries after the token may have been purged; the client has to reload the list
+    private void requireRetained(long since) {
+        if (since < purgedThrough()) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Sync token expired, reload the list");
+        }
+    }
+
+    private long purgedThrough() {
+        return jdbcTemplate.queryForObject("select purged_through from change_log_purge where id = 1", Long.class);
+    }
+
+    private static long parse(String token) {
+        try {
+            return Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid token: " + token);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.DashboardSummaryDTO;
+import com.ems.backend.entity.Task;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DashboardService {
+    DashboardSummaryDTO getSummary(LocalDate date);
+
+    List<Task> getRecentTasks(int size);
+}
@@ -0,0 +1,112 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.DashboardSummaryDTO;
+import com.ems.backend.entity.Attendance;
+import com.ems.backend.entity.EmployeeLeave;
+import com.ems.backend.entity.Task;
+import com.ems.backend.repository.AttendanceRepository;
+import com.ems.backend.repository.EmployeeRepository;
+import com.ems.backend.repository.LeaveRepository;
+import com.ems.backend.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final int MAX_RECENT_TASKS = 20;
+
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final LeaveRepository leaveRepository;
+    private final TaskRepository taskRepository;
+
+    private final Map<LocalDate, CachedSummary> cache = new ConcurrentHashMap<>();
+
+    @Value("${ems.dashboard.cache-ttl-seconds:5}")
+    private long cacheTtlSeconds;
+
+    @Override
+    public DashboardSummaryDTO getSummary(LocalDate date) {
+        long now = System.nanoTime();
+        // compute() only claims the entry; the caller that installs a new one builds the
+        // summary outside the map's lock, and concurrent callers for the date wait on it
+        CachedSummary claim = new CachedSummary(new CompletableFuture<>(), now + TimeUnit.SECONDS.toNanos(cacheTtlSeconds));
+        CachedSummary cached = cache.compute(date, (day, current) ->
+                current != null && current.expiresAt - now > 0 ? current : claim);
+
+        if (cached == claim) {
+            try {
+                claim.summary.complete(buildSummary(date));
+            } catch (RuntimeException e) {
+                cache.remove(date, claim);
+                claim.summary.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        cache.values().removeIf(entry -> entry.expiresAt - now <= 0);
+        try {
+            return cached.summary.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @Override
+    public List<Task> getRecentTasks(int size) {
+        int limit = Math.max(1, Math.min(size, MAX_RECENT_TASKS));
+        return taskRepository.findAll(PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "id"))).getContent();
+    }
+
+    private DashboardSummaryDTO buildSummary(LocalDate date) {
+        long totalEmployees = employeeRepository.count();
+
+        Map<String, Long> attendance = toCounts(Attendance.Status.values(), attendanceRepository.countByStatusOnDate(date));
+        long present = attendance.get(Attendance.Status.PRESENT.name());
+        long absent = attendance.get(Attendance.Status.ABSENT.name());
+
+        long onLeave = leaveRepository.countCovering(EmployeeLeave.LeaveStatus.APPROVED, date);
+
+        return new DashboardSummaryDTO(
+                date,
+                totalEmployees,
+                present,
+                absent,
+                Math.max(0, totalEmployees - present - absent),
+                onLeave,
+                toCounts(EmployeeLeave.LeaveStatus.values(), leaveRepository.countGroupedByStatus()),
+                toCounts(Task.Status.values(), taskRepository.countGroupedByStatus())
+        );
+    }
+
+    // Grouped COUNT rows are (status, count); statuses with no rows are reported as 0
+    private static Map<String, Long> toCounts(Enum<?>[] statuses, List<Object[]> rows) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Enum<?> status : statuses) {
+            counts.put(status.name(), 0L);
+        }
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                counts.put(((Enum<?>) row[0]).name(), ((Number) row[1]).longValue());
+            }
+        }
+        return counts;
+    }
+
+    private record CachedSummary(CompletableFuture<DashboardSummaryDTO> summary, long expiresAt) {
+    }
+}
@@ -1,14 +1,15 @@
 package com.ems.backend.service;
 
 
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
 import com.ems.backend.entity.Employee;
 
-import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
-    List<Employee> getAllEmployees();
+    CursorPageDTO<Employee> getEmployeePage(ListFilterDTO filter);
     Employee updateEmployee(Long id, Employee employee);
     void deleteEmployee(Long id);
     Optional<Employee> getEmployeeById(Long id);
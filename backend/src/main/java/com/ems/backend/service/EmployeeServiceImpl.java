@@ -1,18 +1,29 @@
 package com.ems.backend.service;
 
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
 import com.ems.backend.entity.Employee;
+import com.ems.backend.repository.CursorPager;
 import com.ems.backend.repository.EmployeeRepository;
+import com.ems.backend.repository.Keyset;
+import com.ems.backend.repository.ListSpecifications;
+import com.ems.backend.service.AggregateVersions.Aggregate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final Keyset<Employee> KEYSET = Keyset.byId("empId", Employee::getEmpId);
+
     private final EmployeeRepository employeeRepository;
+    private final CursorPager cursorPager;
+    private final EntityCacheService entityCacheService;
+    private final TeamMembershipIndex membershipIndex;
+    private final AggregateVersions aggregateVersions;
 
     @Override
     public Employee saveEmployee(Employee employee) {
@@ -23,13 +34,15 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new IllegalArgumentException("Username already in use.");
         }else {
             System.out.println("Employee " + employee.getUsername() + " created");
-            return employeeRepository.save(employee);
+            Employee saved = employeeRepository.save(employee);
+            aggregateVersions.bump(Aggregate.EMPLOYEES);
+            return saved;
         }
     }
 
     @Override
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    public CursorPageDTO<Employee> getEmployeePage(ListFilterDTO filter) {
+        return cursorPager.page(Employee.class, ListSpecifications.employee(filter), KEYSET, filter, employee -> employee);
     }
 
     @Override
@@ -39,7 +52,10 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (optionalEmployee.isPresent()) {
             Employee existingEmployee = optionalEmployee.get();
             existingEmployee.setUsername(updateEmployee.getUsername());
-            existingEmployee.setPassword(updateEmployee.getPassword());
+            // Responses never carry the password, so an edit that leaves it out keeps the current one
+            if (updateEmployee.getPassword() != null && !updateEmployee.getPassword().isBlank()) {
+                existingEmployee.setPassword(updateEmployee.getPassword());
+            }
             existingEmployee.setRole(updateEmployee.getRole());
             existingEmployee.setFname(updateEmployee.getFname());
             existingEmployee.setLname(updateEmployee.getLname());
@@ -48,7 +64,11 @@ public class EmployeeServiceImpl implements EmployeeService {
             existingEmployee.setDob(updateEmployee.getDob());
             existingEmployee.setDesignation(updateEmployee.getDesignation());
 
-            return employeeRepository.save(existingEmployee);
+            Employee saved = employeeRepository.save(existingEmployee);
+            entityCacheService.evictEmployee(saved.getEmpId());
+            membershipIndex.refreshEmployee(saved.getEmpId());
+            aggregateVersions.bump(Aggregate.EMPLOYEES);
+            return saved;
         } else {
             throw new RuntimeException("Employee not found with id: " + id);
         }
@@ -59,6 +79,10 @@ public class EmployeeServiceImpl implements EmployeeService {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
         employeeRepository.delete(employee);
+        entityCacheService.evictEmployee(employee.getEmpId());
+        entityCacheService.evictTeams();
+        membershipIndex.refreshEmployee(employee.getEmpId());
+        aggregateVersions.bump(Aggregate.EMPLOYEES, Aggregate.TEAMS);
     }
 
     @Override
@@ -0,0 +1,47 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.EmployeeViewDTO;
+import com.ems.backend.dto.ViewPageDTO;
+import com.ems.backend.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Wraps id-referencing views in a ViewPageDTO, loading the referenced employees
+// (each once, in one statement) when the caller asked for them
+@Component
+@RequiredArgsConstructor
+public class EmployeeSideLoad {
+
+    private final EmployeeRepository employeeRepository;
+
+    public <T> ViewPageDTO<T> page(CursorPageDTO<T> page, boolean includeEmployees, Function<T, Stream<Integer>> employeeIds) {
+        return page(page.getItems(), page.getNextCursor(), page.getSize(), includeEmployees, employeeIds);
+    }
+
+    public <T> ViewPageDTO<T> page(List<T> items, String nextCursor, int size, boolean includeEmployees,
+                                   Function<T, Stream<Integer>> employeeIds) {
+        if (!includeEmployees) {
+            return new ViewPageDTO<>(items, null, nextCursor, size);
+        }
+        Set<Integer> ids = items.stream()
+                .flatMap(employeeIds)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Integer, EmployeeViewDTO> employees = new LinkedHashMap<>();
+        if (!ids.isEmpty()) {
+            employeeRepository.findViewsByEmpIdIn(ids).forEach(employee -> employees.put(employee.getEmpId(), employee));
+        }
+        return new ViewPageDTO<>(items, employees, nextCursor, size);
+    }
+}
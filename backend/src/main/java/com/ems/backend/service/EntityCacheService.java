@@ -0,0 +1,50 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.CacheRegionStatsDTO;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.Team;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Hit/miss counters for the second-level cache regions, plus the evictions
+// Hibernate cannot work out on its own
+@Service
+@RequiredArgsConstructor
+public class EntityCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatsDTO> getRegionStats() {
+        Statistics statistics = sessionFactory().getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+                    long lookups = stats.getHitCount() + stats.getMissCount();
+                    return new CacheRegionStatsDTO(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount(),
+                            stats.getElementCountInMemory(), lookups == 0 ? 0 : (double) stats.getHitCount() / lookups);
+                })
+                .toList();
+    }
+
+    public void evictEmployee(Integer empId) {
+        sessionFactory().getCache().evictEntityData(Employee.class, empId);
+    }
+
+    // A deleted employee can still be a team lead or sit in a cached member set
+    public void evictTeams() {
+        sessionFactory().getCache().evictEntityData(Team.class);
+        sessionFactory().getCache().evictCollectionData(Team.class.getName() + ".members");
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.ListFilterDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    enum Type { ATTENDANCE, TIMESHEET, LEAVE }
+    enum Format { CSV, NDJSON }
+
+    void export(Type type, Format format, ListFilterDTO filter, OutputStream out) throws IOException;
+}
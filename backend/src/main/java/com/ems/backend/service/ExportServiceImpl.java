@@ -0,0 +1,164 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.AttendanceDTO;
+import com.ems.backend.dto.LeaveDTO;
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.dto.TimesheetDTO;
+import com.ems.backend.entity.Attendance;
+import com.ems.backend.entity.EmployeeLeave;
+import com.ems.backend.entity.Timesheet;
+import com.ems.backend.repository.DtoProjections;
+import com.ems.backend.repository.ListSpecifications;
+import com.ems.backend.repository.ProjectionStreamer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Writes each row to the response as it comes off the database cursor, flushing
+// every FLUSH_EVERY rows, so memory stays flat and the client starts receiving
+// data before the query has finished.
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private static final List<Column<AttendanceDTO>> ATTENDANCE_COLUMNS = List.of(
+            new Column<>("attId", AttendanceDTO::getAttId),
+            new Column<>("empId", AttendanceDTO::getEmpId),
+            new Column<>("fname", AttendanceDTO::getFname),
+            new Column<>("lname", AttendanceDTO::getLname),
+            new Column<>("designation", AttendanceDTO::getDesignation),
+            new Column<>("date", AttendanceDTO::getDate),
+            new Column<>("status", AttendanceDTO::getStatus),
+            new Column<>("loggedInTime", AttendanceDTO::getLoggedInTime),
+            new Column<>("loggedOutTime", AttendanceDTO::getLoggedOutTime)
+    );
+
+    private static final List<Column<TimesheetDTO>> TIMESHEET_COLUMNS = List.of(
+            new Column<>("timesheetId", TimesheetDTO::getTimesheetId),
+            new Column<>("empId", TimesheetDTO::getEmployeeId),
+            new Column<>("fname", TimesheetDTO::getFname),
+            new Column<>("lname", TimesheetDTO::getLname),
+            new Column<>("date", TimesheetDTO::getDate),
+            new Column<>("startTime", TimesheetDTO::getStartTime),
+            new Column<>("lunchOutTime", TimesheetDTO::getLunchOutTime),
+            new Column<>("lunchInTime", TimesheetDTO::getLunchInTime),
+            new Column<>("outTime", TimesheetDTO::getOutTime),
+            new Column<>("inTime", TimesheetDTO::getInTime),
+            new Column<>("endTime", TimesheetDTO::getEndTime),
+            new Column<>("workHours", TimesheetDTO::getWorkHours),
+            new Column<>("workSummery", TimesheetDTO::getWorkSummery)
+    );
+
+    private static final List<Column<LeaveDTO>> LEAVE_COLUMNS = List.of(
+            new Column<>("leaveId", LeaveDTO::getLeaveId),
+            new Column<>("empId", LeaveDTO::getEmpId),
+            new Column<>("fname", LeaveDTO::getFName),
+            new Column<>("lname", LeaveDTO::getLName),
+            new Column<>("designation", LeaveDTO::getDesignation),
+            new Column<>("leaveType", LeaveDTO::getType),
+            new Column<>("status", LeaveDTO::getStatus),
+            new Column<>("startDate", LeaveDTO::getStartDate),
+            new Column<>("endDate", LeaveDTO::getEndDate),
+            new Column<>("days", LeaveDTO::getDays),
+            new Column<>("appliedAt", LeaveDTO::getAppliedAt),
+            new Column<>("description", LeaveDTO::getDescription)
+    );
+
+    private final ProjectionStreamer projectionStreamer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportServiceImpl(ProjectionStreamer projectionStreamer,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.projectionStreamer = projectionStreamer;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void export(Type type, Format format, ListFilterDTO filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                switch (type) {
+                    case ATTENDANCE -> write(projectionStreamer.stream(Attendance.class, AttendanceDTO.class,
+                            ListSpecifications.attendance(filter), "date", "attId", DtoProjections::attendance),
+                            ATTENDANCE_COLUMNS, format, writer);
+                    case TIMESHEET -> write(projectionStreamer.stream(Timesheet.class, TimesheetDTO.class,
+                            ListSpecifications.timesheet(filter), "date", "timesheetId", DtoProjections::timesheet),
+                            TIMESHEET_COLUMNS, format, writer);
+                    case LEAVE -> write(projectionStreamer.stream(EmployeeLeave.class, LeaveDTO.class,
+                            ListSpecifications.leave(filter), "startDate", "leaveId", DtoProjections::leave),
+                            LEAVE_COLUMNS, format, writer);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private <R> void write(Stream<R> rows, List<Column<R>> columns, Format format, Writer writer) {
+        try (rows) {
+            if (format == Format.CSV) {
+                writer.write(String.join(",", columns.stream().map(Column::header).toList()));
+                writer.write('\n');
+            }
+            int written = 0;
+            Iterator<R> it = rows.iterator();
+            while (it.hasNext()) {
+                R row = it.next();
+                if (format == Format.CSV) {
+                    writeCsvLine(row, columns, writer);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                if (++written % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <R> void writeCsvLine(R row, List<Column<R>> columns, Writer writer) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = columns.get(i).value().apply(row);
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private record Column<R>(String header, Function<R, Object> value) {
+    }
+}
@@ -0,0 +1,189 @@
+package com.ems.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+// Lease-based coordination through our own database, so only one replica runs
+// a cluster-wide job. Leases expire unless the holder heartbeats, and each
+// hand-over bumps a fencing token that guarded writes check (checkFence). Nodes
+// also heartbeat into cluster_node, which gives every replica the same view of
+// who is alive for sharding.
+@Slf4j
+@Component
+public class JobLeaseManager {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final Duration leaseDuration;
+    private final Clock clock;
+
+    // jobs this node holds -> fencing token
+    private final Map<String, Long> held = new ConcurrentHashMap<>();
+
+    // Slice of an id space owned by this node: ids with id % count == index
+    public record Shard(int index, int count) {
+        public boolean owns(long id) {
+            return Math.floorMod(id, count) == index;
+        }
+    }
+
+    @Autowired
+    public JobLeaseManager(JdbcTemplate jdbcTemplate,
+                           @Value("${ems.cluster.node-id:}") String nodeId,
+                           @Value("${ems.cluster.lease-seconds:30}") long leaseSeconds) {
+        this(jdbcTemplate, nodeId.isBlank() ? defaultNodeId() : nodeId, Duration.ofSeconds(leaseSeconds), Clock.systemUTC());
+    }
+
+    JobLeaseManager(JdbcTemplate jdbcTemplate, String nodeId, Duration leaseDuration, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId;
+        this.leaseDuration = leaseDuration;
+        this.clock = clock;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    // Runs the work only on the node holding the job's lease
+    public boolean runIfLeader(String job, LongConsumer work) {
+        OptionalLong token = acquire(job);
+        if (token.isEmpty()) {
+            log.debug("Skipping {}: lease held by another node", job);
+            return false;
+        }
+        work.accept(token.getAsLong());
+        return true;
+    }
+
+    // Returns the fencing token when this node holds (or just took) the lease
+    public OptionalLong acquire(String job) {
+        long now = clock.millis();
+        long expiresAt = now + leaseDuration.toMillis();
+
+        // token is assigned before owner so it compares against the previous owner
+        int updated = jdbcTemplate.update(
+                "update job_lease set token = case when owner = ? then token else token + 1 end, owner = ?, expires_at_ms = ? " +
+                        "where job_name = ? and (owner = ? or expires_at_ms < ?)",
+                nodeId, nodeId, expiresAt, job, nodeId, now);
+        if (updated == 0) {
+            try {
+                jdbcTemplate.update("insert into job_lease (job_name, owner, token, expires_at_ms) values (?, ?, 1, ?)",
+                        job, nodeId, expiresAt);
+            } catch (DuplicateKeyException e) {
+                held.remove(job);
+                return OptionalLong.empty();
+            }
+        }
+
+        List<Long> tokens = jdbcTemplate.queryForList(
+                "select token from job_lease where job_name = ? and owner = ?", Long.class, job, nodeId);
+        if (tokens.isEmpty()) {
+            held.remove(job);
+            return OptionalLong.empty();
+        }
+        held.put(job, tokens.get(0));
+        return OptionalLong.of(tokens.get(0));
+    }
+
+    // Fencing check before a side effect that must not come from a stale leader
+    public boolean holds(String job, long token) {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from job_lease where job_name = ? and owner = ? and token = ? and expires_at_ms >= ?",
+                Integer.class, job, nodeId, token, clock.millis());
+        return count != null && count > 0;
+    }
+
+    // Fencing for a guarded write; call it inside the write's transaction. The lease row
+    // stays locked until that transaction ends, so no other node can take the lease over
+    // mid-write, and a former leader whose token has moved on (it paused past expiry)
+    // gets an exception instead of writing
+    public void checkFence(String job, long token) {
+        List<Long> current = jdbcTemplate.queryForList(
+                "select token from job_lease where job_name = ? and owner = ? and token = ? and expires_at_ms >= ? for update",
+                Long.class, job, nodeId, token, clock.millis());
+        if (current.isEmpty()) {
+            held.remove(job, token);
+            throw new IllegalStateException("Lease on " + job + " is no longer held with token " + token);
+        }
+    }
+
+    public void release(String job) {
+        held.remove(job);
+        jdbcTemplate.update("update job_lease set expires_at_ms = 0 where job_name = ? and owner = ?", job, nodeId);
+    }
+
+    // This node's slice among the live nodes, ordered by node id
+    public Shard shard() {
+        List<String> live = jdbcTemplate.queryForList(
+                "select node_id from cluster_node where heartbeat_at_ms >= ? order by node_id",
+                String.class, clock.millis() - leaseDuration.toMillis());
+        int index = live.indexOf(nodeId);
+        if (index < 0) {
+            // Not registered yet; act alone rather than skip the work
+            return new Shard(0, 1);
+        }
+        return new Shard(index, live.size());
+    }
+
+    @Scheduled(fixedRateString = "${ems.cluster.heartbeat-ms:10000}")
+    public void heartbeat() {
+        long now = clock.millis();
+        int updated = jdbcTemplate.update("update cluster_node set heartbeat_at_ms = ? where node_id = ?", now, nodeId);
+        if (updated == 0) {
+            try {
+                jdbcTemplate.update("insert into cluster_node (node_id, heartbeat_at_ms) values (?, ?)", nodeId, now);
+            } catch (DuplicateKeyException e) {
+                log.debug("Node {} registered concurrently", nodeId);
+            }
+        }
+
+        long expiresAt = now + leaseDuration.toMillis();
+        held.forEach((job, token) -> {
+            int renewed = jdbcTemplate.update(
+                    "update job_lease set expires_at_ms = ? where job_name = ? and owner = ? and token = ? and expires_at_ms >= ?",
+                    expiresAt, job, nodeId, token, now);
+            if (renewed == 0) {
+                log.warn("Lost lease on {} (token {})", job, token);
+                held.remove(job, token);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            held.keySet().forEach(this::release);
+            jdbcTemplate.update("delete from cluster_node where node_id = ?", nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Could not release leases for {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ems.backend.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// Calendar days a leave covers, both ends included
+public final class LeaveDays {
+
+    private LeaveDays() {
+    }
+
+    public static int inclusive(LocalDate start, LocalDate end) {
+        return (int) ChronoUnit.DAYS.between(start, end) + 1;
+    }
+
+    // Days of the leave that fall inside [from, to]; 0 when they do not overlap
+    public static int within(LocalDate start, LocalDate end, LocalDate from, LocalDate to) {
+        LocalDate clippedStart = start.isBefore(from) ? from : start;
+        LocalDate clippedEnd = end.isAfter(to) ? to : end;
+        return clippedEnd.isBefore(clippedStart) ? 0 : inclusive(clippedStart, clippedEnd);
+    }
+}
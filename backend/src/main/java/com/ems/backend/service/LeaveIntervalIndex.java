@@ -0,0 +1,381 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.dto.LeaveViewDTO;
+import com.ems.backend.entity.EmployeeLeave;
+import com.ems.backend.repository.DtoProjections;
+import com.ems.backend.repository.LeaveRepository;
+import com.ems.backend.repository.ProjectionStreamer;
+import com.ems.backend.service.AggregateVersions.Aggregate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+// In-memory leave intervals: every APPROVED leave in one interval tree, and each
+// employee's PENDING and APPROVED leaves in a tree of their own, so "who is out on
+// X" and team availability are tree searches instead of scans of the leave table.
+// Overlap checks at submit time go to the database instead (LeaveServiceImpl),
+// since other replicas' writes reach this index only when it reconciles. Each tree
+// is an immutable array sorted by (startDate, leaveId) with the latest end date of
+// every subtree at its midpoint. Writes copy an employee's own small tree; the
+// org-wide tree takes them in a bounded overlay that is folded in once it fills up.
+// Loaded with a streaming scan at startup; this node's writes are applied as they
+// commit, every ems.leave.index-reconcile-ms the LEAVES entries of change_log bring
+// in writes made on other replicas, and a periodic rebuild starts over from the table.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaveIntervalIndex {
+
+    private static final Comparator<LeaveViewDTO> ORDER =
+            Comparator.comparing(LeaveViewDTO::getStartDate).thenComparing(LeaveViewDTO::getLeaveId);
+
+    // Overlay entries (added leaves plus removed ids) the org-wide tree holds before a fold
+    private static final int FOLD_AT = 1024;
+
+    private final ProjectionStreamer projectionStreamer;
+    private final PlatformTransactionManager transactionManager;
+    private final ChangeFeed changeFeed;
+    private final LeaveRepository leaveRepository;
+
+    private volatile ApprovedLeaves approved = ApprovedLeaves.EMPTY;
+    private final Map<Integer, IntervalTree> byEmployee = new ConcurrentHashMap<>();
+    // Every leave in the trees by id; guarded by this
+    private final Map<Integer, LeaveViewDTO> byId = new HashMap<>();
+    private volatile boolean loaded;
+    // change_log position the trees are known to include; null until the first load
+    private volatile String changeToken;
+
+    // Changes made while a rebuild scans, replayed onto the rebuilt trees; guarded by this
+    private List<Change> replay;
+
+    // leave is null when the row is gone
+    private record Change(Integer leaveId, LeaveViewDTO leave) {
+    }
+
+    static final class IntervalTree {
+        static final IntervalTree EMPTY = new IntervalTree(new LeaveViewDTO[0]);
+
+        private final LeaveViewDTO[] leaves;
+        // Latest end (epoch day) of the subtree rooted at each midpoint
+        private final long[] maxEnd;
+
+        IntervalTree(LeaveViewDTO[] sorted) {
+            leaves = sorted;
+            maxEnd = new long[sorted.length];
+            index(0, sorted.length);
+        }
+
+        int size() {
+            return leaves.length;
+        }
+
+        // Leaves overlapping [from, to] in start order: O(log n) per reported leave at worst
+        List<LeaveViewDTO> overlapping(LocalDate from, LocalDate to) {
+            List<LeaveViewDTO> found = new ArrayList<>();
+            collect(from.toEpochDay(), to.toEpochDay(), 0, leaves.length, found);
+            return found;
+        }
+
+        IntervalTree with(LeaveViewDTO leave) {
+            int at = -Arrays.binarySearch(leaves, leave, ORDER) - 1;
+            LeaveViewDTO[] grown = new LeaveViewDTO[leaves.length + 1];
+            System.arraycopy(leaves, 0, grown, 0, at);
+            grown[at] = leave;
+            System.arraycopy(leaves, at, grown, at + 1, leaves.length - at);
+            return new IntervalTree(grown);
+        }
+
+        IntervalTree without(LeaveViewDTO leave) {
+            int at = Arrays.binarySearch(leaves, leave, ORDER);
+            if (at < 0) {
+                return this;
+            }
+            LeaveViewDTO[] shrunk = new LeaveViewDTO[leaves.length - 1];
+            System.arraycopy(leaves, 0, shrunk, 0, at);
+            System.arraycopy(leaves, at + 1, shrunk, at, leaves.length - at - 1);
+            return new IntervalTree(shrunk);
+        }
+
+        boolean contains(LeaveViewDTO leave) {
+            return Arrays.binarySearch(leaves, leave, ORDER) >= 0;
+        }
+
+        private long index(int lo, int hi) {
+            if (lo >= hi) {
+                return Long.MIN_VALUE;
+            }
+            int mid = (lo + hi) >>> 1;
+            long max = Math.max(leaves[mid].getEndDate().toEpochDay(), Math.max(index(lo, mid), index(mid + 1, hi)));
+            maxEnd[mid] = max;
+            return max;
+        }
+
+        // Skip subtrees that end before 'from'; stop at the first start after 'to'
+        private void collect(long from, long to, int lo, int hi, List<LeaveViewDTO> found) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (maxEnd[mid] < from) {
+                return;
+            }
+            collect(from, to, lo, mid, found);
+            LeaveViewDTO leave = leaves[mid];
+            if (leave.getStartDate().toEpochDay() > to) {
+                return;
+            }
+            if (leave.getEndDate().toEpochDay() >= from) {
+                found.add(leave);
+            }
+            collect(from, to, mid + 1, hi, found);
+        }
+    }
+
+    // The org-wide tree as loaded, less the ids removed since and plus a small tree of the
+    // leaves added since, so a write copies the overlay rather than every approved leave
+    static final class ApprovedLeaves {
+        static final ApprovedLeaves EMPTY = new ApprovedLeaves(IntervalTree.EMPTY);
+
+        private final IntervalTree base;
+        private final IntervalTree added;
+        private final Set<Integer> removed;
+
+        ApprovedLeaves(IntervalTree base) {
+            this(base, IntervalTree.EMPTY, Set.of());
+        }
+
+        private ApprovedLeaves(IntervalTree base, IntervalTree added, Set<Integer> removed) {
+            this.base = base;
+            this.added = added;
+            this.removed = removed;
+        }
+
+        List<LeaveViewDTO> overlapping(LocalDate from, LocalDate to) {
+            List<LeaveViewDTO> found = base.overlapping(from, to);
+            if (added.size() == 0 && removed.isEmpty()) {
+                return found;
+            }
+            found.removeIf(leave -> removed.contains(leave.getLeaveId()));
+            found.addAll(added.overlapping(from, to));
+            found.sort(ORDER);
+            return found;
+        }
+
+        ApprovedLeaves with(LeaveViewDTO leave) {
+            return new ApprovedLeaves(base, added.with(leave), removed).foldIfFull();
+        }
+
+        // Only called with a leave that is in the tree
+        ApprovedLeaves without(LeaveViewDTO leave) {
+            if (added.contains(leave)) {
+                return new ApprovedLeaves(base, added.without(leave), removed);
+            }
+            Set<Integer> more = new HashSet<>(removed);
+            more.add(leave.getLeaveId());
+            return new ApprovedLeaves(base, added, Set.copyOf(more)).foldIfFull();
+        }
+
+        // One merge of the two sorted arrays every FOLD_AT writes
+        private ApprovedLeaves foldIfFull() {
+            if (added.size() + removed.size() < FOLD_AT) {
+                return this;
+            }
+            List<LeaveViewDTO> merged = new ArrayList<>(base.size() + added.size());
+            int a = 0;
+            for (LeaveViewDTO leave : base.leaves) {
+                while (a < added.size() && ORDER.compare(added.leaves[a], leave) < 0) {
+                    merged.add(added.leaves[a++]);
+                }
+                if (!removed.contains(leave.getLeaveId())) {
+                    merged.add(leave);
+                }
+            }
+            while (a < added.size()) {
+                merged.add(added.leaves[a++]);
+            }
+            return new ApprovedLeaves(new IntervalTree(merged.toArray(LeaveViewDTO[]::new)));
+        }
+    }
+
+    // After a leave is saved or its status changes, on this node or found by reconcile(); REJECTED takes it out
+    public void put(LeaveViewDTO leave) {
+        if (leave.getEmpId() == null || leave.getStartDate() == null || leave.getEndDate() == null) {
+            return;
+        }
+        record(new Change(leave.getLeaveId(), leave));
+    }
+
+    private synchronized void record(Change change) {
+        if (replay != null) {
+            replay.add(change);
+        }
+        apply(change);
+    }
+
+    // Approved leaves covering the date
+    public List<LeaveViewDTO> outOn(LocalDate date) {
+        requireLoaded();
+        return approved.overlapping(date, date);
+    }
+
+    // Approved leaves of these employees overlapping [from, to], in start order
+    public List<LeaveViewDTO> approvedOverlapping(List<Integer> empIds, LocalDate from, LocalDate to) {
+        requireLoaded();
+        return empIds.stream()
+                .distinct()
+                .map(empId -> byEmployee.getOrDefault(empId, IntervalTree.EMPTY))
+                .flatMap(tree -> tree.overlapping(from, to).stream())
+                .filter(leave -> leave.getStatus() == EmployeeLeave.LeaveStatus.APPROVED)
+                .sorted(ORDER)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ems.leave.index-refresh-ms:900000}", fixedDelayString = "${ems.leave.index-refresh-ms:900000}")
+    public void rebuild() {
+        synchronized (this) {
+            if (replay != null) {
+                return;
+            }
+            replay = new ArrayList<>();
+        }
+        try {
+            long start = System.nanoTime();
+            String token = changeFeed.settledToken();
+            // Already in (startDate, leaveId) order, so every tree is built without sorting
+            List<LeaveViewDTO> all = new ArrayList<>();
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                Specification<EmployeeLeave> inPlay = (root, query, cb) ->
+                        cb.notEqual(root.get("status"), EmployeeLeave.LeaveStatus.REJECTED);
+                try (Stream<LeaveViewDTO> stream = projectionStreamer.stream(EmployeeLeave.class, LeaveViewDTO.class,
+                        inPlay, "startDate", "leaveId", DtoProjections::leaveView)) {
+                    stream.forEach(all::add);
+                }
+            });
+
+            Map<Integer, List<LeaveViewDTO>> grouped = new HashMap<>();
+            all.forEach(leave -> grouped.computeIfAbsent(leave.getEmpId(), id -> new ArrayList<>()).add(leave));
+            Map<Integer, LeaveViewDTO> rebuiltById = new HashMap<>();
+            all.forEach(leave -> rebuiltById.put(leave.getLeaveId(), leave));
+            Map<Integer, IntervalTree> rebuilt = new HashMap<>();
+            grouped.forEach((empId, leaves) -> rebuilt.put(empId, new IntervalTree(leaves.toArray(LeaveViewDTO[]::new))));
+            IntervalTree rebuiltApproved = new IntervalTree(all.stream()
+                    .filter(leave -> leave.getStatus() == EmployeeLeave.LeaveStatus.APPROVED)
+                    .toArray(LeaveViewDTO[]::new));
+
+            synchronized (this) {
+                approved = new ApprovedLeaves(rebuiltApproved);
+                byEmployee.keySet().retainAll(rebuilt.keySet());
+                byEmployee.putAll(rebuilt);
+                byId.clear();
+                byId.putAll(rebuiltById);
+                replay.forEach(this::apply);
+                changeToken = token;
+                loaded = true;
+            }
+            log.info("Leave index rebuilt from {} leaves in {} ms: {} approved, {} employees",
+                    all.size(), (System.nanoTime() - start) / 1_000_000, rebuiltApproved.size(), rebuilt.size());
+        } catch (RuntimeException e) {
+            // Keep serving the previous trees (or 503 until the first load succeeds)
+            log.error("Leave index rebuild failed", e);
+        } finally {
+            synchronized (this) {
+                replay = null;
+            }
+        }
+    }
+
+    // Applies leaves changed since the last load or reconcile, wherever they were written;
+    // leaves this node already put are put again, which changes nothing
+    @Scheduled(initialDelayString = "${ems.leave.index-reconcile-ms:30000}",
+            fixedDelayString = "${ems.leave.index-reconcile-ms:30000}")
+    public void reconcile() {
+        String token = changeToken;
+        if (token == null) {
+            // The startup load failed (or is still running, and this returns at once)
+            rebuild();
+            return;
+        }
+        try {
+            ChangesDTO<LeaveViewDTO> changes;
+            int rows = 0;
+            do {
+                changes = changeFeed.since(Aggregate.LEAVES, token,
+                        ids -> leaveRepository.findViewsByIds(ids.stream().map(Long::intValue).toList()),
+                        LeaveViewDTO::getLeaveId);
+                changes.getItems().forEach(this::put);
+                changes.getDeleted().forEach(id -> record(new Change(id.intValue(), null)));
+                rows += changes.getItems().size() + changes.getDeleted().size();
+                token = changes.getToken();
+            } while (changes.isHasMore());
+            // Racing a rebuild is harmless: an older token only puts a few leaves again
+            changeToken = token;
+            log.debug("Leave index reconciled {} leave(s)", rows);
+        } catch (ResponseStatusException e) {
+            // change_log no longer reaches back to the token
+            log.warn("Leave index fell behind change_log ({}), rebuilding", e.getReason());
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Leave index reconcile failed", e);
+        }
+    }
+
+    // Guarded by this
+    private void apply(Change change) {
+        LeaveViewDTO leave = change.leave() != null && change.leave().getStatus() != EmployeeLeave.LeaveStatus.REJECTED
+                ? change.leave() : null;
+        LeaveViewDTO previous = leave != null ? byId.put(change.leaveId(), leave) : byId.remove(change.leaveId());
+        if (previous != null) {
+            edit(previous.getEmpId(), own -> own.without(previous));
+            if (previous.getStatus() == EmployeeLeave.LeaveStatus.APPROVED) {
+                approved = approved.without(previous);
+            }
+        }
+        if (leave != null) {
+            edit(leave.getEmpId(), own -> own.with(leave));
+            if (leave.getStatus() == EmployeeLeave.LeaveStatus.APPROVED) {
+                approved = approved.with(leave);
+            }
+        }
+    }
+
+    private void edit(Integer empId, UnaryOperator<IntervalTree> change) {
+        IntervalTree own = change.apply(byEmployee.getOrDefault(empId, IntervalTree.EMPTY));
+        if (own.size() == 0) {
+            byEmployee.remove(empId);
+        } else {
+            byEmployee.put(empId, own);
+        }
+    }
+
+    // A failed startup load is retried by the next reconcile
+    private void requireLoaded() {
+        if (!loaded) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Leave index is still loading");
+        }
+    }
+}
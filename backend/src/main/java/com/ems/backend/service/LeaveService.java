@@ -1,13 +1,24 @@
 package com.ems.backend.service;
 
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.LeaveViewDTO;
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.dto.TeamAvailabilityDTO;
+import com.ems.backend.dto.ViewPageDTO;
 import com.ems.backend.entity.EmployeeLeave;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface LeaveService {
-    List<EmployeeLeave> getAllLeaves();
+    CursorPageDTO<EmployeeLeave> getLeavePage(ListFilterDTO filter);
+    ViewPageDTO<LeaveViewDTO> getLeaveViewPage(ListFilterDTO filter, boolean includeEmployees);
     EmployeeLeave saveLeave (EmployeeLeave leave);
     EmployeeLeave updateLeave (Long id, EmployeeLeave leave);
     List<EmployeeLeave> getLeavesByStatus(EmployeeLeave.LeaveStatus status);
+    ChangesDTO<EmployeeLeave> getLeaveChanges(String token);
+    ViewPageDTO<LeaveViewDTO> getOutOn(LocalDate date, boolean includeEmployees);
+    TeamAvailabilityDTO getTeamAvailability(Long teamId, LocalDate from, LocalDate to);
 
 }
@@ -1,42 +1,89 @@
 package com.ems.backend.service;
 
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.LeaveViewDTO;
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.dto.TeamAvailabilityDTO;
+import com.ems.backend.dto.ViewPageDTO;
 import com.ems.backend.entity.EmployeeLeave;
+import com.ems.backend.repository.CursorPager;
+import com.ems.backend.repository.DtoProjections;
+import com.ems.backend.repository.EmployeeRepository;
+import com.ems.backend.repository.Keyset;
 import com.ems.backend.repository.LeaveRepository;
+import com.ems.backend.repository.ListSpecifications;
+import com.ems.backend.service.AggregateVersions.Aggregate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class LeaveServiceImpl implements LeaveService {
 
+    private static final Keyset<EmployeeLeave> KEYSET =
+            Keyset.byDateAndId("startDate", "leaveId", EmployeeLeave::getStartDate, EmployeeLeave::getLeaveId);
+    private static final Keyset<LeaveViewDTO> VIEW_KEYSET =
+            Keyset.byDateAndId("startDate", "leaveId", LeaveViewDTO::getStartDate, LeaveViewDTO::getLeaveId);
+
     private final LeaveRepository leaveRepository;
+    private final EmployeeRepository employeeRepository;
+    private final CursorPager cursorPager;
+    private final RollupService rollupService;
+    private final AggregateVersions aggregateVersions;
+    private final ChangeFeed changeFeed;
+    private final EmployeeSideLoad employeeSideLoad;
+    private final LeaveIntervalIndex leaveIntervalIndex;
+    private final TeamMembershipIndex membershipIndex;
+
+    @Override
+    public CursorPageDTO<EmployeeLeave> getLeavePage(ListFilterDTO filter) {
+        return cursorPager.page(EmployeeLeave.class, ListSpecifications.leave(filter), KEYSET, filter, leave -> leave);
+    }
 
     @Override
-    public List<EmployeeLeave> getAllLeaves() {
-        return leaveRepository.findAll();
+    public ViewPageDTO<LeaveViewDTO> getLeaveViewPage(ListFilterDTO filter, boolean includeEmployees) {
+        CursorPageDTO<LeaveViewDTO> page = cursorPager.project(EmployeeLeave.class, LeaveViewDTO.class,
+                ListSpecifications.leave(filter), VIEW_KEYSET, filter, DtoProjections::leaveView);
+        return employeeSideLoad.page(page, includeEmployees, leave -> Stream.of(leave.getEmpId()));
     }
 
     @Override
+    @Transactional
     public EmployeeLeave saveLeave(EmployeeLeave leave) {
 
         // Calculate days and save in db, do not enter manually
         if (leave.getStartDate() != null && leave.getEndDate() != null) {
-            long daysBetween = ChronoUnit.DAYS.between(leave.getStartDate(), leave.getEndDate()) + 1;
-            leave.setDays((int) daysBetween);
+            leave.setDays(LeaveDays.inclusive(leave.getStartDate(), leave.getEndDate()));
         }
 
         // Set applied date, do not enter manually
         leave.setAppliedAt(LocalDate.now());
 
-        return leaveRepository.save(leave);
+        rejectOverlap(leave, null);
+        EmployeeLeave saved = leaveRepository.save(leave);
+        LeaveViewDTO view = LeaveViewDTO.of(saved);
+        AfterCommit.run(() -> leaveIntervalIndex.put(view));
+        refreshRollup(saved);
+        aggregateVersions.changed(Aggregate.LEAVES, saved.getLeaveId());
+        return saved;
     }
 
     @Override
+    @Transactional
     public EmployeeLeave updateLeave(Long id, EmployeeLeave updateLeave) {
 
         Optional<EmployeeLeave> leave = leaveRepository.findById(id);
@@ -44,9 +91,19 @@ public class LeaveServiceImpl implements LeaveService {
         if (leave.isPresent()) {
             EmployeeLeave existingLeave = leave.get();
             // Update only status
+            boolean reinstated = existingLeave.getStatus() == EmployeeLeave.LeaveStatus.REJECTED;
             existingLeave.setStatus(updateLeave.getStatus());
+            // A rejected leave brought back must not clash with what was booked since
+            if (reinstated) {
+                rejectOverlap(existingLeave, existingLeave.getLeaveId());
+            }
 
-            return leaveRepository.save(existingLeave);
+            EmployeeLeave saved = leaveRepository.save(existingLeave);
+            LeaveViewDTO view = LeaveViewDTO.of(saved);
+            AfterCommit.run(() -> leaveIntervalIndex.put(view));
+            refreshRollup(saved);
+            aggregateVersions.changed(Aggregate.LEAVES, saved.getLeaveId());
+            return saved;
         } else {
             throw new RuntimeException("Leave not found with id: " + id);
         }
@@ -57,4 +114,82 @@ public class LeaveServiceImpl implements LeaveService {
     public List<EmployeeLeave> getLeavesByStatus(EmployeeLeave.LeaveStatus status) {
         return leaveRepository.findByStatus(status);
     }
+
+    @Override
+    public ChangesDTO<EmployeeLeave> getLeaveChanges(String token) {
+        return changeFeed.since(Aggregate.LEAVES, token,
+                ids -> leaveRepository.findByLeaveIdIn(ids.stream().map(Long::intValue).toList()),
+                EmployeeLeave::getLeaveId);
+    }
+
+    @Override
+    public ViewPageDTO<LeaveViewDTO> getOutOn(LocalDate date, boolean includeEmployees) {
+        List<LeaveViewDTO> out = leaveIntervalIndex.outOn(date);
+        return employeeSideLoad.page(out, null, out.size(), includeEmployees, leave -> Stream.of(leave.getEmpId()));
+    }
+
+    @Override
+    public TeamAvailabilityDTO getTeamAvailability(Long teamId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' is before 'from'");
+        }
+        List<Integer> people = membershipIndex.peopleOf(teamId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Team not found: " + teamId));
+        List<LeaveViewDTO> leaves = leaveIntervalIndex.approvedOverlapping(people, from, to);
+
+        // Sweep the leaves clipped to the range, one person counted once a day
+        Map<Integer, LocalDate> coveredUntil = new HashMap<>();
+        TreeMap<LocalDate, Integer> delta = new TreeMap<>();
+        for (LeaveViewDTO leave : leaves) {
+            LocalDate start = leave.getStartDate().isBefore(from) ? from : leave.getStartDate();
+            LocalDate end = leave.getEndDate().isAfter(to) ? to : leave.getEndDate();
+            LocalDate covered = coveredUntil.get(leave.getEmpId());
+            if (covered != null) {
+                if (!end.isAfter(covered)) {
+                    continue;
+                }
+                if (!start.isAfter(covered)) {
+                    start = covered.plusDays(1);
+                }
+            }
+            coveredUntil.put(leave.getEmpId(), end);
+            delta.merge(start, 1, Integer::sum);
+            delta.merge(end.plusDays(1), -1, Integer::sum);
+        }
+        int out = 0;
+        int mostOut = 0;
+        for (int change : delta.values()) {
+            out += change;
+            mostOut = Math.max(mostOut, out);
+        }
+
+        List<Integer> available = new ArrayList<>(people);
+        available.removeAll(coveredUntil.keySet());
+        return new TeamAvailabilityDTO(teamId, from, to, people.size(), available, people.size() - mostOut, leaves);
+    }
+
+    // Pending and approved leaves of one employee may not overlap. Checked against the
+    // database, not the leave index, which lags writes made on other replicas; the
+    // employee row stays locked until the save commits, so two submits cannot both pass
+    private void rejectOverlap(EmployeeLeave leave, Integer exceptLeaveId) {
+        if (leave.getEmployee() == null || leave.getStartDate() == null || leave.getEndDate() == null
+                || leave.getStatus() == EmployeeLeave.LeaveStatus.REJECTED) {
+            return;
+        }
+        Integer empId = leave.getEmployee().getEmpId();
+        employeeRepository.lockById(empId);
+        List<EmployeeLeave> clashes = leaveRepository.findOverlapping(empId, EmployeeLeave.LeaveStatus.REJECTED,
+                leave.getStartDate(), leave.getEndDate(), exceptLeaveId, PageRequest.of(0, 1));
+        if (!clashes.isEmpty()) {
+            EmployeeLeave clash = clashes.get(0);
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Overlaps " + clash.getStatus().name().toLowerCase()
+                    + " leave from " + clash.getStartDate() + " to " + clash.getEndDate());
+        }
+    }
+
+    private void refreshRollup(EmployeeLeave leave) {
+        if (leave.getEmployee() != null) {
+            rollupService.refreshLeave(leave.getEmployee().getEmpId(), leave.getStartDate(), leave.getEndDate());
+        }
+    }
 }
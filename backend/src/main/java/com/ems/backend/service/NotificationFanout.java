@@ -0,0 +1,88 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.NotificationViewDTO;
+import com.ems.backend.entity.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+// Writes one notification per recipient as multi-row INSERTs. Notification ids
+// are IDENTITY, which stops Hibernate from batching, so a team of N members
+// used to cost N round trips; this costs N / chunk-size.
+@Component
+@RequiredArgsConstructor
+public class NotificationFanout {
+
+    private static final String INSERT = "insert into notifications (message, is_read, created_at, type, recipient_id, task_id) values ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${ems.notifications.fanout-chunk-size:500}")
+    private int chunkSize;
+
+    @Transactional
+    public List<NotificationViewDTO> send(Collection<Integer> recipientIds, Long taskId, Notification.Type type, String message) {
+        List<Integer> recipients = new ArrayList<>(new LinkedHashSet<>(recipientIds));
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        List<NotificationViewDTO> created = new ArrayList<>(recipients.size());
+        for (int from = 0; from < recipients.size(); from += chunkSize) {
+            List<Integer> chunk = recipients.subList(from, Math.min(from + chunkSize, recipients.size()));
+            List<Long> ids = insertChunk(chunk, taskId, type, message, createdAt);
+            for (int i = 0; i < chunk.size(); i++) {
+                created.add(new NotificationViewDTO(ids.get(i), chunk.get(i), taskId, type, message, false, createdAt));
+            }
+        }
+
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new NotificationsCreatedEvent(created));
+        }
+        return created;
+    }
+
+    private List<Long> insertChunk(List<Integer> chunk, Long taskId, Notification.Type type, String message, LocalDateTime createdAt) {
+        String sql = INSERT + String.join(", ", Collections.nCopies(chunk.size(), ROW));
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            int p = 1;
+            for (Integer recipientId : chunk) {
+                statement.setString(p++, message);
+                statement.setBoolean(p++, false);
+                statement.setTimestamp(p++, Timestamp.valueOf(createdAt));
+                statement.setString(p++, type.name());
+                statement.setInt(p++, recipientId);
+                statement.setObject(p++, taskId);
+            }
+            return statement;
+        }, keys);
+
+        // Keys come back in row order; the column label differs per driver
+        List<Long> ids = new ArrayList<>(chunk.size());
+        for (Map<String, Object> row : keys.getKeyList()) {
+            ids.add(((Number) row.values().iterator().next()).longValue());
+        }
+        if (ids.size() != chunk.size()) {
+            throw new IllegalStateException("Expected " + chunk.size() + " generated ids, got " + ids.size());
+        }
+        return ids;
+    }
+}
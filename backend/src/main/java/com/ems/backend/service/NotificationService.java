@@ -1,12 +1,16 @@
 package com.ems.backend.service;
 
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
 import com.ems.backend.dto.NotificationDTO;
+import com.ems.backend.dto.NotificationViewDTO;
 import com.ems.backend.entity.Notification;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface NotificationService {
     Notification sendNotification(NotificationDTO dto);
-    List<Notification> getNotificationsForUser(Long userId);
-    void markAllAsRead(Long userId);
+    CursorPageDTO<NotificationViewDTO> getNotificationPage(ListFilterDTO filter);
+    long countUnread(Integer empId);
+    int markAllAsRead(Integer empId);
+    SseEmitter subscribe(Integer empId, Long lastEventId);
 }
@@ -1,14 +1,24 @@
 package com.ems.backend.service;
 
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
 import com.ems.backend.dto.NotificationDTO;
+import com.ems.backend.dto.NotificationViewDTO;
 import com.ems.backend.entity.Employee;
 import com.ems.backend.entity.Notification;
 import com.ems.backend.entity.Task;
+import com.ems.backend.repository.CursorPager;
+import com.ems.backend.repository.DtoProjections;
 import com.ems.backend.repository.EmployeeRepository;
+import com.ems.backend.repository.Keyset;
+import com.ems.backend.repository.ListSpecifications;
 import com.ems.backend.repository.NotificationRepository;
 import com.ems.backend.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -16,9 +26,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
+    // Ids are assigned in creation order, so id order is createdAt order without ties
+    private static final Keyset<NotificationViewDTO> KEYSET = Keyset.byIdDescending("id", NotificationViewDTO::getId);
+
     private final NotificationRepository notificationRepository;
     private final EmployeeRepository employeeRepository;
     private final TaskRepository taskRepository;
+    private final NotificationStreamRegistry streamRegistry;
+    private final CursorPager cursorPager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Notification sendNotification(NotificationDTO dto) {
@@ -34,24 +50,30 @@ public class NotificationServiceImpl implements NotificationService {
         notification.setMessage(dto.getMessage());
         notification.setType(Notification.Type.valueOf(dto.getType()));
 
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(List.of(NotificationViewDTO.of(saved))));
+        return saved;
+    }
+
+    @Override
+    public SseEmitter subscribe(Integer empId, Long lastEventId) {
+        return streamRegistry.register(empId, lastEventId);
+    }
+
+    @Override
+    public CursorPageDTO<NotificationViewDTO> getNotificationPage(ListFilterDTO filter) {
+        return cursorPager.project(Notification.class, NotificationViewDTO.class,
+                ListSpecifications.notification(filter), KEYSET, filter, DtoProjections::notification);
     }
 
     @Override
-    public List<Notification> getNotificationsForUser(Long userId) {
-        Employee emp = employeeRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
-        return notificationRepository.findByRecipientId(emp);
+    public long countUnread(Integer empId) {
+        return notificationRepository.countByRecipientId_EmpIdAndIsReadFalse(empId);
     }
 
     @Override
-    public void markAllAsRead(Long userId) {
-        Employee emp = employeeRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
-        List<Notification> notifications = notificationRepository.findByRecipientId(emp);
-        for (Notification n : notifications) {
-            n.setIsRead(true);
-        }
-        notificationRepository.saveAll(notifications);
+    @Transactional
+    public int markAllAsRead(Integer empId) {
+        return notificationRepository.markAllRead(empId);
     }
 }
@@ -0,0 +1,247 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.NotificationViewDTO;
+import com.ems.backend.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-memory registry of open notification streams, keyed by recipient.
+// Connected users get new notifications pushed after the saving transaction
+// commits, so an idle user costs no queries at all. Notifications saved on
+// another replica are only pushed there; a periodic catch-up reads anything
+// newer than the last run for the recipients connected here.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationStreamRegistry {
+
+    private static final int REPLAY_LIMIT = 100;
+    private static final int CATCH_UP_LIMIT = 1000;
+
+    private final Map<Integer, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    private final NotificationRepository notificationRepository;
+
+    @Value("${ems.notifications.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${ems.notifications.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${ems.notifications.send-queue:256}")
+    private int sendQueue;
+
+    @Value("${ems.notifications.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${ems.notifications.catch-up-settle-ms:5000}")
+    private long catchUpSettleMs;
+
+    // Every notification up to this id has reached the streams open here
+    private long caughtUpTo;
+
+    // Sends happen off the request thread so a slow client never holds up a write path
+    private ExecutorService sender;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger count = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "notification-push-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        caughtUpTo = notificationRepository.findMaxId();
+    }
+
+    // One open stream. Events queue per connection and at most one pool thread drains
+    // it at a time, so a slow or half-open client only ever holds up its own events.
+    // A client that falls a whole queue behind, or whose send hangs past the timeout,
+    // is disconnected; it reconnects with Last-Event-ID and replays from the database.
+    private final class Connection {
+        final Integer empId;
+        final SseEmitter emitter;
+        // Notifications up to this id predate the stream (or were replayed); the catch-up skips them
+        final long floor;
+        // Ids pushed past the catch-up cursor, so the push and the catch-up never both send one
+        final Set<Long> sent = ConcurrentHashMap.newKeySet();
+        final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(sendQueue);
+        final AtomicBoolean draining = new AtomicBoolean();
+        // System.nanoTime() when the current send started, 0 while idle
+        volatile long sendingSince;
+
+        Connection(Integer empId, SseEmitter emitter, long floor) {
+            this.empId = empId;
+            this.emitter = emitter;
+            this.floor = floor;
+        }
+
+        void push(NotificationViewDTO notification) {
+            if (sent.add(notification.getId())) {
+                offer(event(notification));
+            }
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (!queue.offer(event)) {
+                drop(new IllegalStateException("client is " + sendQueue + " events behind"));
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        boolean stuck(long now) {
+            long since = sendingSince;
+            return since != 0 && now - since > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        }
+
+        void drop(Exception reason) {
+            log.debug("Dropping notification stream for {}: {}", empId, reason.getMessage());
+            queue.clear();
+            remove(this);
+            emitter.completeWithError(reason);
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = queue.poll()) != null) {
+                    sendingSince = System.nanoTime();
+                    emitter.send(event);
+                    sendingSince = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                drop(e);
+            } finally {
+                sendingSince = 0;
+                draining.set(false);
+            }
+            // An event offered after the last poll but before the flag was cleared
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+    }
+
+    public SseEmitter register(Integer empId, Long lastEventId) {
+        SseEmitter emitter = newEmitter();
+        Connection connection = new Connection(empId, emitter,
+                lastEventId != null ? lastEventId : notificationRepository.findMaxId());
+        connections.computeIfAbsent(empId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(error -> remove(connection));
+
+        // Resume: replay what was created while the client was disconnected
+        if (lastEventId != null) {
+            List<NotificationViewDTO> missed = notificationRepository.findSince(empId, lastEventId, PageRequest.of(0, REPLAY_LIMIT));
+            missed.forEach(connection::push);
+        }
+        return emitter;
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(streamTimeoutMs);
+    }
+
+    public int connectedRecipients() {
+        return connections.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        for (NotificationViewDTO notification : event.notifications()) {
+            Set<Connection> recipientConnections = connections.get(notification.getRecipientId());
+            if (recipientConnections != null) {
+                recipientConnections.forEach(connection -> connection.push(notification));
+            }
+        }
+    }
+
+    // The cursor only moves past notifications saved more than catch-up-settle-ms ago, so one
+    // committed late with a lower id is still read; anything read twice is skipped per stream
+    @Scheduled(initialDelayString = "${ems.notifications.catch-up-ms:15000}", fixedDelayString = "${ems.notifications.catch-up-ms:15000}")
+    public synchronized void catchUp() {
+        Long settled = notificationRepository.findMaxIdSavedBefore(caughtUpTo,
+                LocalDateTime.now().minusNanos(catchUpSettleMs * 1_000_000));
+        if (!connections.isEmpty()) {
+            List<NotificationViewDTO> missed = notificationRepository.findForRecipientsSince(
+                    List.copyOf(connections.keySet()), caughtUpTo, PageRequest.of(0, CATCH_UP_LIMIT));
+            for (NotificationViewDTO notification : missed) {
+                Set<Connection> recipientConnections = connections.get(notification.getRecipientId());
+                if (recipientConnections != null) {
+                    recipientConnections.stream()
+                            .filter(connection -> notification.getId() > connection.floor)
+                            .forEach(connection -> connection.push(notification));
+                }
+            }
+            if (missed.size() == CATCH_UP_LIMIT && settled != null) {
+                settled = Math.min(settled, missed.get(missed.size() - 1).getId());
+            }
+        }
+        if (settled != null) {
+            long through = settled;
+            caughtUpTo = through;
+            connections.values().forEach(set -> set.forEach(connection -> connection.sent.removeIf(id -> id <= through)));
+        }
+    }
+
+    // Keeps proxies from closing idle connections, detects dead clients and
+    // disconnects any whose send has been stuck longer than the timeout
+    @Scheduled(fixedRateString = "${ems.notifications.heartbeat-ms:20000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        connections.values().forEach(set -> set.forEach(connection -> {
+            if (connection.stuck(now)) {
+                connection.drop(new IllegalStateException("send blocked for over " + sendTimeoutMs + " ms"));
+            } else {
+                connection.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }));
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.empId, (id, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder event(NotificationViewDTO notification) {
+        return SseEmitter.event()
+                .id(String.valueOf(notification.getId()))
+                .name("notification")
+                .data(notification);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        connections.values().forEach(set -> set.forEach(connection -> connection.emitter.complete()));
+    }
+}
@@ -0,0 +1,9 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.NotificationViewDTO;
+
+import java.util.List;
+
+// Published by the services that save notifications; delivered to SSE clients after commit
+public record NotificationsCreatedEvent(List<NotificationViewDTO> notifications) {
+}
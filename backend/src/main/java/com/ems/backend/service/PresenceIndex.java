@@ -0,0 +1,281 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.AttendanceDTO;
+import com.ems.backend.dto.AttendanceStatsDTO;
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.dto.PresenceDTO;
+import com.ems.backend.entity.Attendance;
+import com.ems.backend.repository.AttendanceRepository;
+import com.ems.backend.repository.ProjectionStreamer;
+import com.ems.backend.service.AggregateVersions.Aggregate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+// In-memory attendance presence: per year, one PRESENT and one ABSENT bitmap per
+// employee with a bit per day of the year, laid out densely by empId (6 words an
+// employee, about 1.9 MB a year for 20k employees). Rates, streaks and org-wide
+// counts are popcounts over masked words instead of scans of attendance rows.
+// Loaded with a streaming scan at startup. This node's writes are applied as they
+// commit; every ems.attendance.presence-reconcile-ms the ATTENDANCE entries of
+// change_log bring in rows written on other replicas, and a nightly rebuild
+// starts over from the table.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PresenceIndex {
+
+    // 6 x 64 bits cover the 366 days of a leap year
+    private static final int WORDS = 6;
+
+    private final ProjectionStreamer projectionStreamer;
+    private final PlatformTransactionManager transactionManager;
+    private final ChangeFeed changeFeed;
+    private final AttendanceRepository attendanceRepository;
+
+    private final Map<Integer, YearBitmaps> years = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    // change_log position the bitmaps are known to include; null until the first load
+    private volatile String changeToken;
+
+    // Marks made while a rebuild scans, replayed onto the rebuilt bitmaps; guarded by this
+    private List<Mark> replay;
+
+    private record Mark(int empId, LocalDate date, Attendance.Status status) {
+    }
+
+    // One year: bit (empId * WORDS * 64 + dayOfYear - 1) of each array. Writers hold
+    // the index lock; readers may see the arrays just before a write or a resize.
+    private static final class YearBitmaps {
+        private volatile AtomicLongArray present = new AtomicLongArray(0);
+        private volatile AtomicLongArray absent = new AtomicLongArray(0);
+
+        void mark(int empId, int day, Attendance.Status status) {
+            int index = empId * WORDS + (day >>> 6);
+            if (index >= present.length()) {
+                // Grow in blocks of 1024 employees so the arrays stay close to the highest empId
+                int length = (empId / 1024 + 1) * 1024 * WORDS;
+                present = grow(present, length);
+                absent = grow(absent, length);
+            }
+            long bit = 1L << (day & 63);
+            AtomicLongArray set = status == Attendance.Status.PRESENT ? present : absent;
+            AtomicLongArray clear = status == Attendance.Status.PRESENT ? absent : present;
+            set.getAndUpdate(index, word -> word | bit);
+            clear.getAndUpdate(index, word -> word & ~bit);
+        }
+
+        long present(int empId, int word) {
+            return word(present, empId * WORDS + word);
+        }
+
+        long absent(int empId, int word) {
+            return word(absent, empId * WORDS + word);
+        }
+
+        int employees() {
+            return present.length() / WORDS;
+        }
+
+        long bytes() {
+            return (present.length() + absent.length()) * 8L;
+        }
+
+        private static long word(AtomicLongArray bits, int index) {
+            return index < bits.length() ? bits.get(index) : 0L;
+        }
+
+        private static AtomicLongArray grow(AtomicLongArray bits, int length) {
+            AtomicLongArray grown = new AtomicLongArray(length);
+            for (int i = 0; i < bits.length(); i++) {
+                grown.set(i, bits.get(i));
+            }
+            return grown;
+        }
+    }
+
+    // After an attendance row is saved on this node, or found by reconcile()
+    public synchronized void mark(Integer empId, LocalDate date, Attendance.Status status) {
+        if (empId == null || date == null || status == null) {
+            return;
+        }
+        Mark mark = new Mark(empId, date, status);
+        if (replay != null) {
+            replay.add(mark);
+        }
+        apply(years, mark);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${ems.attendance.presence-rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        synchronized (this) {
+            if (replay != null) {
+                return;
+            }
+            replay = new ArrayList<>();
+        }
+        try {
+            long start = System.nanoTime();
+            String token = changeFeed.settledToken();
+            Map<Integer, YearBitmaps> rebuilt = new ConcurrentHashMap<>();
+            long[] rows = new long[1];
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<Object[]> stream = projectionStreamer.stream(Attendance.class, Object[].class, null,
+                        "date", "attId",
+                        (root, cb) -> cb.array(root.get("employee").get("empId"), root.get("date"), root.get("status")))) {
+                    stream.forEach(row -> {
+                        apply(rebuilt, new Mark((Integer) row[0], (LocalDate) row[1], (Attendance.Status) row[2]));
+                        rows[0]++;
+                    });
+                }
+            });
+
+            synchronized (this) {
+                replay.forEach(mark -> apply(rebuilt, mark));
+                years.keySet().retainAll(rebuilt.keySet());
+                years.putAll(rebuilt);
+                changeToken = token;
+                loaded = true;
+            }
+            log.info("Presence index rebuilt from {} attendance rows in {} ms: {} year(s), {} KiB",
+                    rows[0], (System.nanoTime() - start) / 1_000_000, rebuilt.size(),
+                    rebuilt.values().stream().mapToLong(YearBitmaps::bytes).sum() / 1024);
+        } catch (RuntimeException e) {
+            // Keep serving the previous bitmaps (or 503 until the first load succeeds)
+            log.error("Presence index rebuild failed", e);
+        } finally {
+            synchronized (this) {
+                replay = null;
+            }
+        }
+    }
+
+    // Applies attendance rows changed since the last load or reconcile, wherever they were
+    // written; rows this node already marked are marked again, which changes nothing
+    @Scheduled(initialDelayString = "${ems.attendance.presence-reconcile-ms:30000}",
+            fixedDelayString = "${ems.attendance.presence-reconcile-ms:30000}")
+    public void reconcile() {
+        String token = changeToken;
+        if (token == null) {
+            return;
+        }
+        try {
+            ChangesDTO<AttendanceDTO> changes;
+            int rows = 0;
+            do {
+                changes = changeFeed.since(Aggregate.ATTENDANCE, token,
+                        ids -> attendanceRepository.findDTOsByIds(ids.stream().map(Long::intValue).toList()),
+                        AttendanceDTO::getAttId);
+                changes.getItems().forEach(row -> mark(row.getEmpId(), row.getDate(), row.getStatus()));
+                rows += changes.getItems().size();
+                token = changes.getToken();
+            } while (changes.isHasMore());
+            // Racing a rebuild is harmless: an older token only replays a few rows again
+            changeToken = token;
+            log.debug("Presence index reconciled {} attendance row(s)", rows);
+        } catch (ResponseStatusException e) {
+            // change_log no longer reaches back to the token
+            log.warn("Presence index fell behind change_log ({}), rebuilding", e.getReason());
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Presence index reconcile failed", e);
+        }
+    }
+
+    public AttendanceStatsDTO stats(Integer empId, LocalDate from, LocalDate to) {
+        requireLoaded();
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' is before 'from'");
+        }
+
+        int present = 0;
+        int absent = 0;
+        int run = 0;
+        int longest = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            YearBitmaps bitmaps = years.get(year);
+            int first = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+            int last = year == to.getYear() ? to.getDayOfYear() - 1 : LocalDate.of(year, 12, 31).getDayOfYear() - 1;
+            for (int word = first >>> 6; word <= last >>> 6; word++) {
+                long mask = rangeMask(Math.max(first - word * 64, 0), Math.min(last - word * 64, 63));
+                long p = bitmaps != null ? bitmaps.present(empId, word) & mask : 0L;
+                long a = bitmaps != null ? bitmaps.absent(empId, word) & mask : 0L;
+                present += Long.bitCount(p);
+                absent += Long.bitCount(a);
+
+                // Each absence closes the run: add the present days below it, then restart
+                while (a != 0) {
+                    int bit = Long.numberOfTrailingZeros(a);
+                    long below = bit == 0 ? 0L : -1L >>> (64 - bit);
+                    run += Long.bitCount(p & below);
+                    longest = Math.max(longest, run);
+                    run = 0;
+                    p &= ~(below | 1L << bit);
+                    a &= a - 1;
+                }
+                run += Long.bitCount(p);
+                longest = Math.max(longest, run);
+            }
+        }
+        return new AttendanceStatsDTO(empId, from, to, present, absent, rate(present, absent), longest, run);
+    }
+
+    // Org-wide: one bit test per employee slot of that year
+    public PresenceDTO presenceOn(LocalDate date) {
+        requireLoaded();
+        YearBitmaps bitmaps = years.get(date.getYear());
+        int present = 0;
+        int absent = 0;
+        if (bitmaps != null) {
+            int day = date.getDayOfYear() - 1;
+            int word = day >>> 6;
+            long bit = 1L << (day & 63);
+            for (int empId = 0, count = bitmaps.employees(); empId < count; empId++) {
+                if ((bitmaps.present(empId, word) & bit) != 0) {
+                    present++;
+                } else if ((bitmaps.absent(empId, word) & bit) != 0) {
+                    absent++;
+                }
+            }
+        }
+        return new PresenceDTO(date, present, absent, rate(present, absent));
+    }
+
+    private void requireLoaded() {
+        if (!loaded) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Attendance index is still loading");
+        }
+    }
+
+    private static void apply(Map<Integer, YearBitmaps> target, Mark mark) {
+        target.computeIfAbsent(mark.date().getYear(), year -> new YearBitmaps())
+                .mark(mark.empId(), mark.date().getDayOfYear() - 1, mark.status());
+    }
+
+    // Bits from..to (inclusive) of a word
+    private static long rangeMask(int from, int to) {
+        return (-1L << from) & (-1L >>> (63 - to));
+    }
+
+    private static double rate(int present, int absent) {
+        return present + absent == 0 ? 0 : (double) present / (present + absent);
+    }
+}
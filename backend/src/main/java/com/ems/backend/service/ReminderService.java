@@ -1,62 +1,165 @@
 package com.ems.backend.service;
 
-import com.ems.backend.dto.NotificationDTO;
-import com.ems.backend.entity.Task;
 import com.ems.backend.entity.Notification;
+import com.ems.backend.entity.Task;
 import com.ems.backend.repository.TaskRepository;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 
+// Fires each task reminder once, at ems.reminders.time on its reminder date.
+// Upcoming reminders sit in the scheduler's time-ordered queue; task writes
+// reschedule their own entry and an hourly reload reconciles everything else.
+// Delivery is claimed by inserting into task_reminder_delivery, so a reminder
+// is never sent twice, even after a restart or when replicas overlap.
 @Slf4j
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class ReminderService {
 
     private final TaskRepository taskRepository;
-    private final NotificationService notificationService;
-
-    // Runs every 4 hours between 8 AM and 6 PM daily (Colombo time)
-    @Scheduled(fixedRate = 4 * 60 * 60 * 1000, zone = "Asia/Colombo")
-    public void checkReminders() {
-        // Get current time in Colombo timezone
-        java.time.LocalTime now = java.time.LocalTime.now(java.time.ZoneId.of("Asia/Colombo"));
-
-        // Only proceed if current time is between 8 AM and 6 PM
-        if (now.getHour() >= 8 && now.getHour() < 18) {
-            LocalDate today = LocalDate.now();
-            List<Task> tasksDueForReminder = taskRepository.findByReminderDate(today);
-
-            log.info("Found {} tasks with reminders due today", tasksDueForReminder.size());
-
-            for (Task task : tasksDueForReminder) {
-                try {
-                    sendReminderNotification(task);
-                } catch (Exception e) {
-                    log.error("Failed to send reminder for task ID {}: {}", task.getId(), e.getMessage());
-                }
-            }
+    private final NotificationFanout notificationFanout;
+    private final TaskScheduler taskScheduler;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final JobLeaseManager jobLeases;
+    private final MeterRegistry meterRegistry;
+
+    // taskId -> the reminder currently queued for it
+    private final Map<Long, QueuedReminder> queued = new ConcurrentHashMap<>();
+
+    @Value("${ems.reminders.time:09:00}")
+    private String reminderTimeOfDay;
+
+    @Value("${ems.reminders.zone:Asia/Colombo}")
+    private String zoneId;
+
+    // How many days ahead are kept in memory
+    @Value("${ems.reminders.horizon-days:1}")
+    private int horizonDays;
+
+    private LocalTime reminderTime;
+    private ZoneId zone;
+    private TransactionTemplate transactionTemplate;
+
+    private record QueuedReminder(LocalDate reminderDate, ScheduledFuture<?> future) {
+    }
+
+    @PostConstruct
+    void init() {
+        reminderTime = LocalTime.parse(reminderTimeOfDay);
+        zone = ZoneId.of(zoneId);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("ems.reminders.queued", queued, Map::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 * * * *", zone = "${ems.reminders.zone:Asia/Colombo}")
+    @Timed(value = "ems.reminders.reload", histogram = true)
+    public void reload() {
+        LocalDate today = LocalDate.now(zone);
+        // Each replica queues its own slice of the tasks
+        JobLeaseManager.Shard shard = jobLeases.shard();
+        List<Object[]> undelivered = taskRepository.findUndeliveredReminders(today, today.plusDays(horizonDays),
+                shard.count(), shard.index());
+        for (Object[] row : undelivered) {
+            enqueue((Long) row[0], (LocalDate) row[1]);
         }
+        log.info("Reminder queue holds {} task(s), shard {}/{}", queued.size(), shard.index(), shard.count());
     }
 
-    void sendReminderNotification(Task task) {
-        // Skip if no assigned employee
-        if (task.getAssignedToId() == null) {
-            log.debug("Task {} has no assigned employee, skipping reminder", task.getId());
+    // Called after a task is created or updated
+    public void schedule(Task task) {
+        LocalDate today = LocalDate.now(zone);
+        LocalDate reminderDate = task.getReminderDate();
+        if (reminderDate == null || task.getAssignedToId() == null
+                || reminderDate.isBefore(today) || reminderDate.isAfter(today.plusDays(horizonDays))) {
+            cancel(task.getId());
             return;
         }
+        enqueue(task.getId(), reminderDate);
+    }
+
+    public void cancel(Long taskId) {
+        QueuedReminder removed = queued.remove(taskId);
+        if (removed != null) {
+            removed.future().cancel(false);
+        }
+    }
 
-        NotificationDTO dto = new NotificationDTO();
-        dto.setRecipientId(Long.valueOf(task.getAssignedToId().getEmpId()));
-        dto.setTaskId(task.getId());
-        dto.setType(Notification.Type.REMINDER.name()); // Use the enum value
-        dto.setMessage("Reminder: Task '" + task.getName() + "' is due soon!");
+    private void enqueue(Long taskId, LocalDate reminderDate) {
+        queued.compute(taskId, (id, existing) -> {
+            if (existing != null) {
+                if (existing.reminderDate().equals(reminderDate)) {
+                    return existing;
+                }
+                existing.future().cancel(false);
+            }
+            // A time already passed today fires straight away
+            ScheduledFuture<?> future = taskScheduler.schedule(() -> fire(taskId, reminderDate),
+                    reminderDate.atTime(reminderTime).atZone(zone).toInstant());
+            return new QueuedReminder(reminderDate, future);
+        });
+    }
 
-        notificationService.sendNotification(dto);
-        log.info("Sent reminder notification for task {}", task.getId());
+    // Package-private for tests
+    void fire(Long taskId, LocalDate reminderDate) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "skipped";
+        try {
+            Boolean sent = transactionTemplate.execute(status -> deliver(taskId, reminderDate));
+            if (Boolean.TRUE.equals(sent)) {
+                outcome = "sent";
+                log.info("Sent reminder notification for task {}", taskId);
+            }
+        } catch (Exception e) {
+            // Left undelivered; the next reload queues it again
+            outcome = "failed";
+            log.error("Failed to send reminder for task ID {}: {}", taskId, e.getMessage());
+        } finally {
+            queued.computeIfPresent(taskId, (id, entry) -> entry.reminderDate().equals(reminderDate) ? null : entry);
+            sample.stop(meterRegistry.timer("ems.reminders.fire", "outcome", outcome));
+        }
+    }
+
+    private boolean deliver(Long taskId, LocalDate reminderDate) {
+        Task task = taskRepository.findById(taskId).orElse(null);
+        // Re-checked because the task may have changed since it was queued
+        if (task == null || task.getAssignedToId() == null || !reminderDate.equals(task.getReminderDate())) {
+            return false;
+        }
+        try {
+            jdbcTemplate.update("insert into task_reminder_delivery (task_id, reminder_date, delivered_at) values (?, ?, ?)",
+                    taskId, reminderDate, LocalDateTime.now(zone));
+        } catch (DuplicateKeyException e) {
+            log.debug("Reminder for task {} on {} was already delivered", taskId, reminderDate);
+            return false;
+        }
+        notificationFanout.send(List.of(task.getAssignedToId().getEmpId()), taskId, Notification.Type.REMINDER,
+                "Reminder: Task '" + task.getName() + "' is due soon!");
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.ems.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.List;
+
+// Backfill from the command line:
+//   java -jar backend.jar --rebuild-rollups=2024-01:2025-06
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RollupRebuildRunner implements ApplicationRunner {
+
+    private static final String OPTION = "rebuild-rollups";
+
+    private final RollupService rollupService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> values = args.getOptionValues(OPTION);
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        String[] range = values.get(0).split(":");
+        YearMonth from = YearMonth.parse(range[0]);
+        YearMonth to = range.length > 1 ? YearMonth.parse(range[1]) : YearMonth.now();
+        log.info("Rebuilding monthly rollups {}..{}", from, to);
+        rollupService.rebuild(from, to);
+    }
+}
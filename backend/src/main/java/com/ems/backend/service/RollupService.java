@@ -0,0 +1,16 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.MonthlyRollupDTO;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface RollupService {
+    void refreshAttendance(Integer empId, LocalDate date);
+    void refreshTimesheet(Integer empId, LocalDate date);
+    void refreshLeave(Integer empId, LocalDate startDate, LocalDate endDate);
+    void refreshTasks(Integer empId, LocalDate dueDate);
+    int rebuild(YearMonth from, YearMonth to);
+    List<MonthlyRollupDTO> getRollups(YearMonth from, YearMonth to, Integer empId);
+}
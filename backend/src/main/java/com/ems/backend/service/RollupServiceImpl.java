@@ -0,0 +1,217 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.MonthlyRollupDTO;
+import com.ems.backend.entity.Attendance;
+import com.ems.backend.entity.EmployeeLeave;
+import com.ems.backend.entity.EmployeeMonthlyRollup;
+import com.ems.backend.entity.Task;
+import com.ems.backend.repository.AttendanceRepository;
+import com.ems.backend.repository.EmployeeMonthlyRollupRepository;
+import com.ems.backend.repository.LeaveRepository;
+import com.ems.backend.repository.TaskRepository;
+import com.ems.backend.repository.TimesheetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Keeps employee_monthly_rollup current. A write to attendance, timesheets, leaves
+// or tasks recomputes just the affected (employee, month) counters from the source
+// rows, so the rollup cannot drift, and rebuild() does the same set-based for backfills.
+@Slf4j
+@Service
+public class RollupServiceImpl implements RollupService {
+
+    // Business day boundary for "overdue"
+    private static final String ZONE = "Asia/Colombo";
+
+    private enum Part { ATTENDANCE, TIMESHEET, LEAVE, TASKS }
+
+    private final EmployeeMonthlyRollupRepository rollupRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final TimesheetRepository timesheetRepository;
+    private final LeaveRepository leaveRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate refreshTransaction;
+    private final JobLeaseManager jobLeases;
+
+    public RollupServiceImpl(EmployeeMonthlyRollupRepository rollupRepository,
+                             AttendanceRepository attendanceRepository,
+                             TimesheetRepository timesheetRepository,
+                             LeaveRepository leaveRepository,
+                             TaskRepository taskRepository,
+                             PlatformTransactionManager transactionManager,
+                             JobLeaseManager jobLeases) {
+        this.rollupRepository = rollupRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.timesheetRepository = timesheetRepository;
+        this.leaveRepository = leaveRepository;
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Never joins the writer's transaction: a failed refresh must not mark it rollback-only,
+        // and after commit the finished transaction's resources are still bound
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.jobLeases = jobLeases;
+    }
+
+    @Override
+    public void refreshAttendance(Integer empId, LocalDate date) {
+        refresh(empId, date, Part.ATTENDANCE);
+    }
+
+    @Override
+    public void refreshTimesheet(Integer empId, LocalDate date) {
+        refresh(empId, date, Part.TIMESHEET);
+    }
+
+    @Override
+    public void refreshLeave(Integer empId, LocalDate startDate, LocalDate endDate) {
+        if (empId == null || startDate == null) {
+            return;
+        }
+        YearMonth last = YearMonth.from(endDate != null ? endDate : startDate);
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(last); month = month.plusMonths(1)) {
+            refresh(empId, month.atDay(1), Part.LEAVE);
+        }
+    }
+
+    @Override
+    public void refreshTasks(Integer empId, LocalDate dueDate) {
+        refresh(empId, dueDate, Part.TASKS);
+    }
+
+    // Rollups are derived data: recomputed once the write commits, in a transaction of
+    // their own, and a failure is logged and left for rebuild() rather than failing the write
+    private void refresh(Integer empId, LocalDate date, Part part) {
+        if (empId == null || date == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            try {
+                refreshTransaction.executeWithoutResult(status -> recompute(YearMonth.from(date), empId, EnumSet.of(part)));
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh {} rollup for employee {} in {}: {}", part, empId, YearMonth.from(date), e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public int rebuild(YearMonth from, YearMonth to) {
+        int written = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            YearMonth current = month;
+            written += transactionTemplate.execute(status -> recompute(current, null, EnumSet.allOf(Part.class)));
+        }
+        log.info("Rebuilt monthly rollups {}..{}: {} rows", from, to, written);
+        return written;
+    }
+
+    // Tasks due yesterday turn overdue today without any write touching them
+    @Scheduled(cron = "0 5 0 * * *", zone = ZONE)
+    public void refreshOverdueTasks() {
+        YearMonth month = YearMonth.from(LocalDate.now(ZoneId.of(ZONE)).minusDays(1));
+        // One replica is enough; the others would write the same rows
+        jobLeases.runIfLeader("rollup-overdue-refresh", token -> transactionTemplate.executeWithoutResult(status -> {
+            jobLeases.checkFence("rollup-overdue-refresh", token);
+            recompute(month, null, EnumSet.of(Part.TASKS));
+        }));
+    }
+
+    @Override
+    public List<MonthlyRollupDTO> getRollups(YearMonth from, YearMonth to, Integer empId) {
+        return rollupRepository.findRange(from.atDay(1), to.atDay(1), empId).stream()
+                .map(r -> new MonthlyRollupDTO(
+                        r.getId().getEmpId(),
+                        YearMonth.from(r.getId().getMonth()),
+                        r.getDaysPresent(),
+                        r.getDaysAbsent(),
+                        r.getWorkedMinutes(),
+                        r.getApprovedLeaveDays(),
+                        r.getTasksCompleted(),
+                        r.getTasksOverdue()
+                ))
+                .toList();
+    }
+
+    // empId null recomputes every employee for the month
+    private int recompute(YearMonth month, Integer empId, Set<Part> parts) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.atEndOfMonth();
+
+        Map<Integer, EmployeeMonthlyRollup> rows = new HashMap<>();
+        if (empId != null) {
+            rollupRepository.findById(new EmployeeMonthlyRollup.Key(empId, from))
+                    .ifPresent(row -> rows.put(empId, row));
+        } else {
+            rollupRepository.findByIdMonth(from).forEach(row -> rows.put(row.getId().getEmpId(), row));
+        }
+
+        if (parts.contains(Part.ATTENDANCE)) {
+            rows.values().forEach(row -> {
+                row.setDaysPresent(0);
+                row.setDaysAbsent(0);
+            });
+            for (Object[] r : attendanceRepository.countByEmployeeAndStatus(from, to, empId)) {
+                EmployeeMonthlyRollup row = rowFor(rows, (Integer) r[0], from);
+                int count = ((Number) r[2]).intValue();
+                if (r[1] == Attendance.Status.PRESENT) {
+                    row.setDaysPresent(count);
+                } else {
+                    row.setDaysAbsent(count);
+                }
+            }
+        }
+
+        if (parts.contains(Part.TIMESHEET)) {
+            rows.values().forEach(row -> row.setWorkedMinutes(0));
+            for (Object[] r : timesheetRepository.findWorkHours(from, to, empId)) {
+                EmployeeMonthlyRollup row = rowFor(rows, (Integer) r[0], from);
+                row.setWorkedMinutes(row.getWorkedMinutes() + WorkHours.toMinutes((String) r[1], (LocalTime) r[2], (LocalTime) r[3]));
+            }
+        }
+
+        if (parts.contains(Part.LEAVE)) {
+            rows.values().forEach(row -> row.setApprovedLeaveDays(0));
+            for (Object[] r : leaveRepository.findRanges(EmployeeLeave.LeaveStatus.APPROVED, from, to, empId)) {
+                EmployeeMonthlyRollup row = rowFor(rows, (Integer) r[0], from);
+                row.setApprovedLeaveDays(row.getApprovedLeaveDays() + LeaveDays.within((LocalDate) r[1], (LocalDate) r[2], from, to));
+            }
+        }
+
+        if (parts.contains(Part.TASKS)) {
+            rows.values().forEach(row -> {
+                row.setTasksCompleted(0);
+                row.setTasksOverdue(0);
+            });
+            for (Object[] r : taskRepository.countCompletedAndOverdue(from, to, LocalDate.now(ZoneId.of(ZONE)), Task.Status.COMPLETED, empId)) {
+                EmployeeMonthlyRollup row = rowFor(rows, (Integer) r[0], from);
+                row.setTasksCompleted(((Number) r[1]).intValue());
+                row.setTasksOverdue(((Number) r[2]).intValue());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        rows.values().forEach(row -> row.setUpdatedAt(now));
+        rollupRepository.saveAll(rows.values());
+        return rows.size();
+    }
+
+    private static EmployeeMonthlyRollup rowFor(Map<Integer, EmployeeMonthlyRollup> rows, Integer empId, LocalDate month) {
+        return rows.computeIfAbsent(empId, id -> new EmployeeMonthlyRollup(new EmployeeMonthlyRollup.Key(id, month)));
+    }
+}
@@ -1,6 +1,13 @@
 package com.ems.backend.service;
 
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.dto.TaskDispatchDTO;
+import com.ems.backend.dto.TaskSummaryDTO;
 import com.ems.backend.dto.TaskUpdateDTO;
+import com.ems.backend.dto.TaskViewDTO;
+import com.ems.backend.dto.ViewPageDTO;
 import com.ems.backend.entity.Task;
 
 import java.util.List;
@@ -9,7 +16,10 @@ public interface TaskService {
     Task createTask(Task task);
     Task updateTask(Long id, TaskUpdateDTO dto);
     List<Task> getTasksByEmployee(Long empId);
-    List<Task> getAllTasks();
+    CursorPageDTO<Task> getTaskPage(ListFilterDTO filter);
+    ViewPageDTO<TaskViewDTO> getTaskViewPage(ListFilterDTO filter, boolean includeEmployees);
     Task assignTeamToTask(Long taskId, Integer teamId);
+    TaskSummaryDTO dispatchTask(Long id, TaskDispatchDTO dto);
     void teamLeadRespondToTask(Long taskId, String decision, String reason);
+    ChangesDTO<Task> getTaskChanges(String token);
 }
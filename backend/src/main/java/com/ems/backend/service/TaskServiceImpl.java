@@ -1,43 +1,70 @@
 package com.ems.backend.service;
 
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.dto.TaskDispatchDTO;
+import com.ems.backend.dto.TaskSummaryDTO;
 import com.ems.backend.dto.TaskUpdateDTO;
+import com.ems.backend.dto.TaskViewDTO;
+import com.ems.backend.dto.ViewPageDTO;
 import com.ems.backend.entity.Employee;
 import com.ems.backend.entity.Notification;
 import com.ems.backend.entity.Task;
 import com.ems.backend.entity.Team;
+import com.ems.backend.repository.CursorPager;
+import com.ems.backend.repository.DtoProjections;
 import com.ems.backend.repository.EmployeeRepository;
-import com.ems.backend.repository.NotificationRepository;
+import com.ems.backend.repository.Keyset;
+import com.ems.backend.repository.ListSpecifications;
 import com.ems.backend.repository.TaskRepository;
 import com.ems.backend.repository.TeamRepository;
+import com.ems.backend.service.AggregateVersions.Aggregate;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+    private static final Keyset<Task> KEYSET = Keyset.byId("id", Task::getId);
+    private static final Keyset<TaskViewDTO> VIEW_KEYSET = Keyset.byId("id", TaskViewDTO::getId);
+
     private final TaskRepository taskRepository;
     private final EmployeeRepository employeeRepository;
     private final ReminderService reminderService;
     private final TeamRepository teamRepository;
-    private final NotificationRepository notificationRepository;
+    private final NotificationFanout notificationFanout;
+    private final TeamMembershipIndex membershipIndex;
+    private final CursorPager cursorPager;
+    private final RollupService rollupService;
+    private final AggregateVersions aggregateVersions;
+    private final ChangeFeed changeFeed;
+    private final EmployeeSideLoad employeeSideLoad;
 
     @Override
+    @Transactional
     public Task createTask(Task task) {
         Task savedTask = taskRepository.save(task);
-        if (task.getReminderDate() != null && task.getReminderDate().equals(LocalDate.now())) {
-            reminderService.sendReminderNotification(savedTask);
-        }
+        refreshRollup(savedTask.getAssignedToId(), savedTask);
+        AfterCommit.run(() -> reminderService.schedule(savedTask));
+        aggregateVersions.changed(Aggregate.TASKS, savedTask.getId());
         return savedTask;
     }
 
     @Override
+    @Transactional
     public Task updateTask(Long id, TaskUpdateDTO dto) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+        Employee previousAssignee = task.getAssignedToId();
 
         if (dto.getAcceptingStatus() != null) {
             task.setAcceptingStatus(Task.AcceptingStatus.valueOf(dto.getAcceptingStatus().toUpperCase()));
@@ -57,40 +84,120 @@ public class TaskServiceImpl implements TaskService {
             task.setStatus(Task.Status.valueOf(dto.getStatus().toUpperCase()));
         }
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        refreshRollup(saved.getAssignedToId(), saved);
+        if (previousAssignee != null && previousAssignee != saved.getAssignedToId()) {
+            refreshRollup(previousAssignee, saved);
+        }
+        AfterCommit.run(() -> reminderService.schedule(saved));
+        aggregateVersions.changed(Aggregate.TASKS, saved.getId());
+        return saved;
     }
 
     @Override
     public List<Task> getTasksByEmployee(Long empId) {
-        return taskRepository.findByAssignedToId_EmpId(empId);
+        return taskRepository.findByAssignedToId_EmpId(empId.intValue());
+    }
+
+    @Override
+    public CursorPageDTO<Task> getTaskPage(ListFilterDTO filter) {
+        return cursorPager.page(Task.class, ListSpecifications.task(filter), KEYSET, filter, task -> task);
     }
 
     @Override
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    public ViewPageDTO<TaskViewDTO> getTaskViewPage(ListFilterDTO filter, boolean includeEmployees) {
+        CursorPageDTO<TaskViewDTO> page = cursorPager.project(Task.class, TaskViewDTO.class, ListSpecifications.task(filter),
+                VIEW_KEYSET, filter, DtoProjections::taskView);
+        return employeeSideLoad.page(page, includeEmployees, task -> Stream.of(task.getOwnerId(), task.getAssignedToId()));
     }
 
+    // The hand-over and its notifications commit together, or neither does
     @Override
+    @Transactional
+    @Timed(value = "ems.task.assign-team", histogram = true)
     public Task assignTeamToTask(Long taskId, Integer teamId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
         Team team = teamRepository.findById(Long.valueOf(teamId))
                 .orElseThrow(() -> new RuntimeException("Team not found"));
 
+        Long previousTeamId = task.getTeam() != null ? task.getTeam().getId() : null;
         task.setTeam(team);
 
-        for (Employee member : team.getMembers()) {
-            Notification notification = new Notification();
-            notification.setMessage("A new task \"" + task.getName() + "\" has been assigned to your team: " + team.getName());
-            notification.setRecipientId(member);
-            notification.setType(Notification.Type.ASSIGNED);
-            notification.setTaskId(task);
-            notificationRepository.save(notification);
+        Task saved = taskRepository.save(task);
+        notificationFanout.send(team.getMembers().stream().map(Employee::getEmpId).toList(), saved.getId(),
+                Notification.Type.ASSIGNED,
+                "A new task \"" + saved.getName() + "\" has been assigned to your team: " + team.getName());
+        AfterCommit.run(() -> membershipIndex.moveTask(saved.getId(), saved.getName(), previousTeamId, team.getId()));
+        aggregateVersions.changed(Aggregate.TASKS, saved.getId());
+        // Team overviews list their tasks
+        aggregateVersions.bump(Aggregate.TEAMS);
+        return saved;
+    }
+
+    // Team hand-over, assignment, status change and notification fan-out in one
+    // transaction, loading the task, the team (with lead and members) and the
+    // assignee once; the assignee comes from the loaded team when it is in it
+    @Override
+    @Transactional
+    @Timed(value = "ems.task.dispatch", histogram = true)
+    public TaskSummaryDTO dispatchTask(Long id, TaskDispatchDTO dto) {
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        Employee previousAssignee = task.getAssignedToId();
+        Long previousTeamId = task.getTeam() != null ? task.getTeam().getId() : null;
+
+        Team team = null;
+        if (dto.getTeamId() != null) {
+            team = teamRepository.findWithMembersById(dto.getTeamId())
+                    .orElseThrow(() -> new RuntimeException("Team not found"));
+            task.setTeam(team);
+        }
+
+        Employee assignee = resolveAssignee(dto.getAssignedToId(), team);
+        if (assignee != null) {
+            task.setAssignedToId(assignee);
         }
-        return taskRepository.save(task);
+
+        if (dto.getStatus() != null) {
+            task.setStatus(Task.Status.valueOf(dto.getStatus().toUpperCase()));
+        }
+
+        Task saved = taskRepository.save(task);
+
+        // The team being handed the task plus the assignee, in one fan-out
+        Set<Integer> recipients = new LinkedHashSet<>();
+        if (team != null) {
+            team.getMembers().forEach(member -> recipients.add(member.getEmpId()));
+        }
+        if (assignee != null) {
+            recipients.add(assignee.getEmpId());
+        }
+        int notified = 0;
+        if (!recipients.isEmpty()) {
+            String message = dto.getMessage() != null && !dto.getMessage().isBlank() ? dto.getMessage()
+                    : team != null ? "A new task \"" + saved.getName() + "\" has been assigned to your team: " + team.getName()
+                    : "You have been assigned a new task: " + saved.getName();
+            notified = notificationFanout.send(recipients, saved.getId(), Notification.Type.ASSIGNED, message).size();
+        }
+
+        refreshRollup(saved.getAssignedToId(), saved);
+        if (previousAssignee != null && previousAssignee != saved.getAssignedToId()) {
+            refreshRollup(previousAssignee, saved);
+        }
+        // In-memory state follows the data only once it is committed
+        AfterCommit.run(() -> reminderService.schedule(saved));
+        aggregateVersions.changed(Aggregate.TASKS, saved.getId());
+        if (team != null) {
+            Long teamId = team.getId();
+            AfterCommit.run(() -> membershipIndex.moveTask(saved.getId(), saved.getName(), previousTeamId, teamId));
+            aggregateVersions.bump(Aggregate.TEAMS);
+        }
+        return TaskSummaryDTO.of(saved, notified);
     }
 
     @Override
+    @Transactional
     public void teamLeadRespondToTask(Long taskId, String decision, String reason) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
@@ -107,13 +214,40 @@ public class TaskServiceImpl implements TaskService {
             task.setRejectingReason(reason != null ? reason : "No reason provided");
         }
         taskRepository.save(task);
+        aggregateVersions.changed(Aggregate.TASKS, task.getId());
 
         // Notify the owner
-        Notification notification = new Notification();
-        notification.setRecipientId(task.getOwnerId());
-        notification.setTaskId(task);
-        notification.setType(Notification.Type.ACCEPTED);
-        notification.setMessage("Your task '" + task.getName() + "' was " + decision.toLowerCase() + "ed by the team lead.");
-        notificationRepository.save(notification);
+        notificationFanout.send(List.of(task.getOwnerId().getEmpId()), task.getId(), Notification.Type.ACCEPTED,
+                "Your task '" + task.getName() + "' was " + decision.toLowerCase() + "ed by the team lead.");
+    }
+
+    @Override
+    public ChangesDTO<Task> getTaskChanges(String token) {
+        return changeFeed.since(Aggregate.TASKS, token, taskRepository::findAllById, Task::getId);
+    }
+
+    // A team task goes to its lead unless someone is named
+    private Employee resolveAssignee(Long assignedToId, Team team) {
+        if (assignedToId == null) {
+            return team != null ? team.getTeamLead() : null;
+        }
+        if (team != null) {
+            if (team.getTeamLead() != null && assignedToId.equals(team.getTeamLead().getEmpId().longValue())) {
+                return team.getTeamLead();
+            }
+            for (Employee member : team.getMembers()) {
+                if (assignedToId.equals(member.getEmpId().longValue())) {
+                    return member;
+                }
+            }
+        }
+        return employeeRepository.findById(assignedToId)
+                .orElseThrow(() -> new RuntimeException("Assigned employee not found"));
+    }
+
+    private void refreshRollup(Employee assignee, Task task) {
+        if (assignee != null) {
+            rollupService.refreshTasks(assignee.getEmpId(), task.getDueDate());
+        }
     }
 }
@@ -0,0 +1,246 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.TeamDTO;
+import com.ems.backend.repository.TaskRepository;
+import com.ems.backend.repository.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+// In-memory employee -> teams index with a summary per team (lead, member names,
+// task names), so the employee team pages answer without touching the database.
+// Team writes refresh their own entry; a periodic rebuild picks up changes made
+// on other replicas. Readers see immutable snapshots swapped in atomically; edits
+// made while a full load runs are replayed onto it before it is swapped in.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamMembershipIndex {
+
+    private final TeamRepository teamRepository;
+    private final TaskRepository taskRepository;
+
+    private volatile Snapshot snapshot;
+    // Bumped whenever the snapshot actually changes; with the instance id it names this
+    // node's copy of the index in ETags, since other replicas may be ahead or behind
+    private final String instance = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private volatile long generation;
+
+    // Edits made while a full load runs, replayed onto what it loaded; guarded by this,
+    // null when no full load is running
+    private List<Consumer<Map<Long, TeamSummary>>> replay;
+    private int loadsRunning;
+
+    record TeamSummary(Long id, String name, Integer leadId, String teamLead,
+                       List<Integer> memberIds, List<String> members, Map<Long, String> tasks) {
+
+        TeamSummary withTasks(Map<Long, String> tasks) {
+            return new TeamSummary(id, name, leadId, teamLead, memberIds, members, Map.copyOf(tasks));
+        }
+
+        TeamDTO toDTO(boolean includeTasks) {
+            TeamDTO dto = new TeamDTO();
+            dto.setId(id);
+            dto.setName(name);
+            dto.setTeamLead(teamLead);
+            dto.setMembers(members);
+            if (includeTasks) {
+                dto.setAssignedTasks(tasks.entrySet().stream()
+                        .sorted(Map.Entry.comparingByKey())
+                        .map(Map.Entry::getValue)
+                        .toList());
+            }
+            return dto;
+        }
+    }
+
+    private record Snapshot(Map<Long, TeamSummary> teams, Map<Integer, List<Long>> teamsByEmployee) {
+
+        static Snapshot of(Map<Long, TeamSummary> teams) {
+            Map<Integer, TreeSet<Long>> inverted = new HashMap<>();
+            teams.values().forEach(team -> team.memberIds()
+                    .forEach(empId -> inverted.computeIfAbsent(empId, id -> new TreeSet<>()).add(team.id())));
+            Map<Integer, List<Long>> teamsByEmployee = new HashMap<>();
+            inverted.forEach((empId, ids) -> teamsByEmployee.put(empId, List.copyOf(ids)));
+            return new Snapshot(Map.copyOf(teams), Map.copyOf(teamsByEmployee));
+        }
+    }
+
+    public String stateTag() {
+        return instance + "." + generation;
+    }
+
+    public List<TeamDTO> teamsOf(Integer empId, boolean includeTasks) {
+        Snapshot current = current();
+        return current.teamsByEmployee().getOrDefault(empId, List.of()).stream()
+                .map(current.teams()::get)
+                .filter(Objects::nonNull)
+                .map(team -> team.toDTO(includeTasks))
+                .toList();
+    }
+
+    // Lead and members of the team, empty when there is no such team
+    public Optional<List<Integer>> peopleOf(Long teamId) {
+        return Optional.ofNullable(current().teams().get(teamId)).map(team -> {
+            Set<Integer> people = new LinkedHashSet<>();
+            if (team.leadId() != null) {
+                people.add(team.leadId());
+            }
+            people.addAll(team.memberIds());
+            return List.copyOf(people);
+        });
+    }
+
+    // Every team fresh from the database (three statements); refreshes the index on the way
+    public List<TeamDTO> overview() {
+        Map<Long, TeamSummary> teams = loadAll();
+        return teams.values().stream()
+                .sorted(Comparator.comparing(TeamSummary::id))
+                .map(team -> team.toDTO(true))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ems.teams.index-refresh-ms:300000}", fixedDelayString = "${ems.teams.index-refresh-ms:300000}")
+    public void rebuild() {
+        Map<Long, TeamSummary> teams = loadAll();
+        log.debug("Team index rebuilt with {} teams", teams.size());
+    }
+
+    // After a team is created or its members change
+    public void refreshTeam(Long teamId) {
+        Map<Long, TeamSummary> loaded = load(teamId);
+        edit(teams -> {
+            teams.remove(teamId);
+            teams.putAll(loaded);
+        });
+    }
+
+    // After an employee is renamed or removed: refresh the teams they appear in
+    public void refreshEmployee(Integer empId) {
+        List<Long> affected = current().teams().values().stream()
+                .filter(team -> empId.equals(team.leadId()) || team.memberIds().contains(empId))
+                .map(TeamSummary::id)
+                .toList();
+        affected.forEach(this::refreshTeam);
+    }
+
+    // After a task is handed to a team; previousTeamId is the team it was taken from, if any
+    public void moveTask(Long taskId, String taskName, Long previousTeamId, Long teamId) {
+        edit(teams -> {
+            if (previousTeamId != null) {
+                teams.computeIfPresent(previousTeamId, (id, team) -> {
+                    Map<Long, String> tasks = new LinkedHashMap<>(team.tasks());
+                    tasks.remove(taskId);
+                    return team.withTasks(tasks);
+                });
+            }
+            if (teamId != null) {
+                teams.computeIfPresent(teamId, (id, team) -> {
+                    Map<Long, String> tasks = new LinkedHashMap<>(team.tasks());
+                    tasks.put(taskId, taskName);
+                    return team.withTasks(tasks);
+                });
+            }
+        });
+    }
+
+    // Applied to the live snapshot now, and again to whatever a running full load installs
+    private synchronized void edit(Consumer<Map<Long, TeamSummary>> edit) {
+        if (replay != null) {
+            replay.add(edit);
+        }
+        Map<Long, TeamSummary> teams = new HashMap<>(current().teams());
+        edit.accept(teams);
+        install(Snapshot.of(teams));
+    }
+
+    // Every team from the database, installed with the edits made while it loaded
+    private Map<Long, TeamSummary> loadAll() {
+        int from;
+        synchronized (this) {
+            if (loadsRunning++ == 0) {
+                replay = new ArrayList<>();
+            }
+            from = replay.size();
+        }
+        try {
+            Map<Long, TeamSummary> teams = load(null);
+            synchronized (this) {
+                replay.subList(from, replay.size()).forEach(edit -> edit.accept(teams));
+                install(Snapshot.of(teams));
+            }
+            return teams;
+        } finally {
+            synchronized (this) {
+                if (--loadsRunning == 0) {
+                    replay = null;
+                }
+            }
+        }
+    }
+
+    private synchronized void install(Snapshot next) {
+        if (!next.equals(snapshot)) {
+            snapshot = next;
+            generation++;
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    // Three statements whatever the number of teams
+    private Map<Long, TeamSummary> load(Long teamId) {
+        Map<Long, List<Object[]>> members = group(teamRepository.findMemberRows(teamId));
+        Map<Long, List<Object[]>> tasks = group(taskRepository.findTeamTaskRows(teamId));
+
+        Map<Long, TeamSummary> teams = new HashMap<>();
+        for (Object[] row : teamRepository.findTeamRows(teamId)) {
+            Long id = (Long) row[0];
+            List<Object[]> memberRows = members.getOrDefault(id, List.of());
+            Map<Long, String> taskNames = new LinkedHashMap<>();
+            tasks.getOrDefault(id, List.of()).forEach(task -> taskNames.put((Long) task[1], (String) task[2]));
+
+            teams.put(id, new TeamSummary(
+                    id,
+                    (String) row[1],
+                    (Integer) row[2],
+                    row[2] != null ? row[3] + " " + row[4] : null,
+                    memberRows.stream().map(member -> (Integer) member[1]).toList(),
+                    memberRows.stream().map(member -> member[2] + " " + member[3]).toList(),
+                    Map.copyOf(taskNames)));
+        }
+        return teams;
+    }
+
+    private static Map<Long, List<Object[]>> group(Collection<Object[]> rows) {
+        Map<Long, List<Object[]>> grouped = new HashMap<>();
+        rows.forEach(row -> grouped.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row));
+        return grouped;
+    }
+}
@@ -1,6 +1,8 @@
 package com.ems.backend.service;
 
 import com.ems.backend.dto.TeamDTO;
+import com.ems.backend.dto.TeamViewDTO;
+import com.ems.backend.dto.ViewPageDTO;
 import com.ems.backend.entity.Team;
 
 import java.util.List;
@@ -8,6 +10,7 @@ import java.util.List;
 public interface TeamService {
     Team createTeam(Team team);
     List<Team> getAllTeams();
+    ViewPageDTO<TeamViewDTO> getTeamViews(boolean includeEmployees);
     Team getTeamById(Integer id);
     List<TeamDTO> getAllTeamsWithTasks();
     TeamDTO getTeamByEmployeeId(Long employeeId);
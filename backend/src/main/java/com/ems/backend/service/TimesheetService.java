@@ -1,14 +1,15 @@
 package com.ems.backend.service;
 
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
 import com.ems.backend.dto.TimesheetDTO;
 import com.ems.backend.entity.Timesheet;
 
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
 
 public interface TimesheetService {
-    List<TimesheetDTO> getAllTimesheet();
+    CursorPageDTO<TimesheetDTO> getTimesheetPage(ListFilterDTO filter);
     Timesheet saveTimesheet(Timesheet timesheet);
     Timesheet updateTimesheet(Long id, Timesheet timesheet);
     Optional<Integer> getTimesheetIdByEmpIdAndDate(Integer empId, LocalDate date);
@@ -1,51 +1,49 @@
 package com.ems.backend.service;
 
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
 import com.ems.backend.dto.TimesheetDTO;
 import com.ems.backend.entity.Timesheet;
 import com.ems.backend.exception.TimesheetNotFoundException;
+import com.ems.backend.repository.CursorPager;
+import com.ems.backend.repository.DtoProjections;
+import com.ems.backend.repository.Keyset;
+import com.ems.backend.repository.ListSpecifications;
 import com.ems.backend.repository.TimesheetRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TimesheetServiceImpl implements TimesheetService {
 
+    private static final Keyset<TimesheetDTO> KEYSET =
+            Keyset.byDateAndId("date", "timesheetId", TimesheetDTO::getDate, TimesheetDTO::getTimesheetId);
+
     private final TimesheetRepository timesheetRepository;
+    private final CursorPager cursorPager;
+    private final RollupService rollupService;
 
     @Override
-    public List<TimesheetDTO> getAllTimesheet() {
-        return timesheetRepository.findAll().stream()
-                .map(tmsheet -> new TimesheetDTO(
-                        tmsheet.getTimesheetId(),
-                        tmsheet.getEmployee().getEmpId(),
-                        tmsheet.getDate(),
-                        tmsheet.getStartTime(),
-                        tmsheet.getLunchInTime(),
-                        tmsheet.getLunchOutTime(),
-                        tmsheet.getOutTime(),
-                        tmsheet.getInTime(),
-                        tmsheet.getEndTime(),
-                        tmsheet.getWorkHours(),
-                        tmsheet.getEmployee().getFname(),
-                        tmsheet.getEmployee().getLname(),
-                        tmsheet.getWorkSummery()
-                ))
-                .collect(Collectors.toList());
+    public CursorPageDTO<TimesheetDTO> getTimesheetPage(ListFilterDTO filter) {
+        return cursorPager.project(Timesheet.class, TimesheetDTO.class, ListSpecifications.timesheet(filter),
+                KEYSET, filter, DtoProjections::timesheet);
     }
 
     @Override
     public Timesheet saveTimesheet(Timesheet timesheet) {
-        return timesheetRepository.save(timesheet);
+        Timesheet saved = timesheetRepository.save(timesheet);
+        rollupService.refreshTimesheet(saved.getEmployee().getEmpId(), saved.getDate());
+        return saved;
     }
 
     @Override
+    @Timed(value = "ems.timesheet.update", histogram = true)
     public Timesheet updateTimesheet(Long id, Timesheet updateTimesheet) {
 
         Timesheet existingTmsheet = timesheetRepository.findById(id)
@@ -122,7 +120,9 @@ public class TimesheetServiceImpl implements TimesheetService {
             existingTmsheet.setWorkSummery(updateTimesheet.getWorkSummery());
         }
 
-        return timesheetRepository.save(existingTmsheet);
+        Timesheet saved = timesheetRepository.save(existingTmsheet);
+        rollupService.refreshTimesheet(saved.getEmployee().getEmpId(), saved.getDate());
+        return saved;
     }
 
     @Override
@@ -0,0 +1,40 @@
+package com.ems.backend.service;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Timesheet.workHours is free text written by the frontend: "7 hr 30 min",
+// "7.50" (decimal hours) or "07:30". Converts any of those to minutes.
+public final class WorkHours {
+
+    private static final Pattern HR_MIN = Pattern.compile("(\\d+)\\s*hr\\s*(\\d+)\\s*min");
+    private static final Pattern CLOCK = Pattern.compile("(\\d+):(\\d{1,2})(?::\\d{1,2})?");
+    private static final Pattern DECIMAL = Pattern.compile("\\d+(\\.\\d+)?");
+
+    private WorkHours() {
+    }
+
+    public static long toMinutes(String workHours, LocalTime startTime, LocalTime endTime) {
+        if (workHours != null) {
+            String value = workHours.trim();
+            Matcher matcher = HR_MIN.matcher(value);
+            if (matcher.matches()) {
+                return Long.parseLong(matcher.group(1)) * 60 + Long.parseLong(matcher.group(2));
+            }
+            matcher = CLOCK.matcher(value);
+            if (matcher.matches()) {
+                return Long.parseLong(matcher.group(1)) * 60 + Long.parseLong(matcher.group(2));
+            }
+            if (DECIMAL.matcher(value).matches()) {
+                return Math.round(Double.parseDouble(value) * 60);
+            }
+        }
+        // Not filled in (or unreadable): fall back to the punch times
+        if (startTime != null && endTime != null && endTime.isAfter(startTime)) {
+            return Duration.between(startTime, endTime).toMinutes();
+        }
+        return 0;
+    }
+}
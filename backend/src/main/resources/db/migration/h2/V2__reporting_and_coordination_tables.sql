@@ -0,0 +1,36 @@
+-- Tables added alongside the rollups, reminders and job leases. The test
+-- database always starts empty, so unlike the MySQL twin nothing can exist yet.
+
+create table employee_monthly_rollup (
+    emp_id integer not null,
+    month_start date not null,
+    days_present integer not null,
+    days_absent integer not null,
+    worked_minutes bigint not null,
+    approved_leave_days integer not null,
+    tasks_completed integer not null,
+    tasks_overdue integer not null,
+    updated_at timestamp(6),
+    primary key (emp_id, month_start)
+);
+
+create table task_reminder_delivery (
+    task_id bigint not null,
+    reminder_date date not null,
+    delivered_at timestamp(6),
+    primary key (task_id, reminder_date)
+);
+
+create table job_lease (
+    job_name varchar(100) not null,
+    owner varchar(100) not null,
+    token bigint not null,
+    expires_at_ms bigint not null,
+    primary key (job_name)
+);
+
+create table cluster_node (
+    node_id varchar(100) not null,
+    heartbeat_at_ms bigint not null,
+    primary key (node_id)
+);
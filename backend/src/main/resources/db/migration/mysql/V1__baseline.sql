@@ -0,0 +1,122 @@
+-- Schema as previously created by ddl-auto=update. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+create table employee (
+    emp_id integer not null auto_increment,
+    username varchar(50) not null,
+    password varchar(255) not null,
+    role enum ('ADMIN','EMPLOYEE') not null,
+    fname varchar(50) not null,
+    lname varchar(50) not null,
+    email varchar(100) not null,
+    phone varchar(15),
+    dob date,
+    designation varchar(100),
+    created_at datetime(6),
+    primary key (emp_id),
+    constraint uk_employee_username unique (username),
+    constraint uk_employee_email unique (email)
+);
+
+create table attendance (
+    att_id integer not null auto_increment,
+    emp_id integer not null,
+    date date not null,
+    status enum ('PRESENT','ABSENT') not null,
+    logged_in_time time,
+    logged_out_time time,
+    primary key (att_id),
+    constraint fk_attendance_employee foreign key (emp_id) references employee (emp_id)
+);
+
+create table timesheet (
+    timesheet_id integer not null auto_increment,
+    emp_id integer not null,
+    date date not null,
+    start_time time,
+    end_time time,
+    lunch_out_time time,
+    lunch_in_time time,
+    out_time time,
+    in_time time,
+    work_hours varchar(255),
+    work_summery varchar(255),
+    primary key (timesheet_id),
+    constraint fk_timesheet_employee foreign key (emp_id) references employee (emp_id)
+);
+
+create table employee_leave (
+    leave_id integer not null auto_increment,
+    emp_id integer not null,
+    start_date date not null,
+    end_date date not null,
+    leave_type enum ('CASUAL','MEDICAL') not null,
+    status enum ('APPROVED','PENDING','REJECTED') not null,
+    days integer not null,
+    description varchar(255),
+    applied_at date,
+    primary key (leave_id),
+    constraint fk_leave_employee foreign key (emp_id) references employee (emp_id)
+);
+
+create table teams (
+    id bigint not null auto_increment,
+    name varchar(255),
+    team_lead_id integer,
+    primary key (id),
+    constraint fk_team_lead foreign key (team_lead_id) references employee (emp_id)
+);
+
+create table team_members (
+    team_id bigint not null,
+    emp_id integer not null,
+    primary key (team_id, emp_id),
+    constraint fk_team_members_team foreign key (team_id) references teams (id),
+    constraint fk_team_members_employee foreign key (emp_id) references employee (emp_id)
+);
+
+create table tasks (
+    id bigint not null auto_increment,
+    name varchar(255),
+    description varchar(255),
+    start_date date,
+    due_date date,
+    reminder_date date,
+    rejecting_reason varchar(255),
+    created_at datetime(6),
+    owner_id integer,
+    assigned_to_id integer,
+    team_id bigint,
+    status enum ('PENDING','IN_PROGRESS','COMPLETED') not null,
+    priority enum ('LOW','MEDIUM','HIGH') not null,
+    accepting_status enum ('PENDING','ACCEPTED','REJECTED') not null,
+    primary key (id),
+    constraint fk_owner foreign key (owner_id) references employee (emp_id),
+    constraint fk_assigned_to foreign key (assigned_to_id) references employee (emp_id),
+    constraint fk_assigned_team foreign key (team_id) references teams (id)
+);
+
+create table notifications (
+    id bigint not null auto_increment,
+    message varchar(255),
+    is_read bit,
+    created_at datetime(6),
+    type enum ('ASSIGNED','ACCEPTED','REJECTED','COMPLETED','IN_PROGRESS','REMINDER') not null,
+    recipient_id integer,
+    task_id bigint,
+    primary key (id),
+    constraint fk_recipient foreign key (recipient_id) references employee (emp_id),
+    constraint fk_task foreign key (task_id) references tasks (id)
+);
+
+create table candidate_document (
+    id bigint not null auto_increment,
+    name varchar(255),
+    email varchar(255),
+    joining_date datetime(6),
+    nda_file_path varchar(255),
+    uni_id_file_path varchar(255),
+    request_letter_file_path varchar(255),
+    uploaded_at datetime(6),
+    primary key (id)
+);
@@ -0,0 +1,36 @@
+-- Tables added alongside the rollups, reminders and job leases. "if not exists"
+-- because databases that ran those builds under ddl-auto=update already have them.
+
+create table if not exists employee_monthly_rollup (
+    emp_id integer not null,
+    month_start date not null,
+    days_present integer not null,
+    days_absent integer not null,
+    worked_minutes bigint not null,
+    approved_leave_days integer not null,
+    tasks_completed integer not null,
+    tasks_overdue integer not null,
+    updated_at datetime(6),
+    primary key (emp_id, month_start)
+);
+
+create table if not exists task_reminder_delivery (
+    task_id bigint not null,
+    reminder_date date not null,
+    delivered_at datetime(6),
+    primary key (task_id, reminder_date)
+);
+
+create table if not exists job_lease (
+    job_name varchar(100) not null,
+    owner varchar(100) not null,
+    token bigint not null,
+    expires_at_ms bigint not null,
+    primary key (job_name)
+);
+
+create table if not exists cluster_node (
+    node_id varchar(100) not null,
+    heartbeat_at_ms bigint not null,
+    primary key (node_id)
+);
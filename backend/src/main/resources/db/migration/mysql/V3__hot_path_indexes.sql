@@ -0,0 +1,36 @@
+-- Indexes for the hot access paths. Foreign key columns already get an index
+-- from InnoDB; these add the composite orders the queries filter and sort on.
+
+-- findByEmployeeEmpIdAndDate, per-employee listings ordered by date
+create index idx_attendance_emp_date on attendance (emp_id, date);
+-- date-ordered listings / keyset paging
+create index idx_attendance_date on attendance (date, att_id);
+-- dashboard present/absent counts for a day (covering)
+create index idx_attendance_date_status on attendance (date, status);
+
+create index idx_timesheet_emp_date on timesheet (emp_id, date);
+create index idx_timesheet_date on timesheet (date, timesheet_id);
+
+-- findByStatus, leaves covering a day, overlapping ranges per status
+create index idx_leave_status_dates on employee_leave (status, start_date, end_date);
+create index idx_leave_emp_start on employee_leave (emp_id, start_date);
+
+-- reminder queue reload
+create index idx_tasks_reminder_date on tasks (reminder_date);
+-- findByAssignedToId_EmpId and the per-employee rollup counts
+create index idx_tasks_assignee_due on tasks (assigned_to_id, due_date);
+-- rollup counts across employees for a month
+create index idx_tasks_due_date on tasks (due_date);
+
+-- unread counts (covering); the recipient foreign key index serves the feed.
+-- Databases that ran the builds with @Index on Notification under ddl-auto=update
+-- already have it, and MySQL has no "create index if not exists".
+set @has_index = (select count(*) from information_schema.statistics
+    where table_schema = database() and table_name = 'notifications'
+    and index_name = 'idx_notifications_recipient_read');
+set @ddl = if(@has_index = 0,
+    'create index idx_notifications_recipient_read on notifications (recipient_id, is_read)',
+    'do 0');
+prepare create_index from @ddl;
+execute create_index;
+deallocate prepare create_index;
@@ -0,0 +1,15 @@
+-- Change counter per aggregate, bumped after every committed write through the
+-- service layer; list endpoints derive their ETags from it.
+
+create table aggregate_version (
+    name varchar(32) not null,
+    version bigint not null,
+    primary key (name)
+);
+
+insert into aggregate_version (name, version) values
+    ('TASKS', 0),
+    ('ATTENDANCE', 0),
+    ('LEAVES', 0),
+    ('EMPLOYEES', 0),
+    ('TEAMS', 0);
@@ -0,0 +1,24 @@
+-- Row-level changes for the delta-sync endpoints; a logged row that no longer
+-- exists is reported as deleted. seq is the sync token; rows older than
+-- ems.changes.retention-days are purged.
+
+create table change_log (
+    seq bigint not null auto_increment,
+    aggregate_name varchar(32) not null,
+    row_id bigint not null,
+    changed_at datetime(6) not null,
+    primary key (seq)
+);
+
+create index idx_change_log_aggregate_seq on change_log (aggregate_name, seq);
+create index idx_change_log_changed_at on change_log (changed_at);
+
+-- Highest seq the purge has removed; a token below it may have missed changes
+
+create table change_log_purge (
+    id int not null,
+    purged_through bigint not null,
+    primary key (id)
+);
+
+insert into change_log_purge (id, purged_through) values (1, 0);
@@ -0,0 +1,22 @@
+package com.ems.backend;
+
+import com.ems.backend.entity.Employee;
+
+// An unsaved employee with every required column filled in. The prefix keeps
+// usernames and emails unique between test classes sharing the embedded database.
+public final class TestEmployees {
+
+	private TestEmployees() {
+	}
+
+	public static Employee employee(String prefix, int n) {
+		Employee employee = new Employee();
+		employee.setUsername(prefix + n);
+		employee.setPassword("secret");
+		employee.setRole(Employee.Role.EMPLOYEE);
+		employee.setFname("First" + n);
+		employee.setLname("Last" + n);
+		employee.setEmail(prefix + n + "@ems.test");
+		return employee;
+	}
+}
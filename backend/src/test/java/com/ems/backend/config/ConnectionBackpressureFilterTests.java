@@ -0,0 +1,51 @@
+package com.ems.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionBackpressureFilterTests {
+
+	// One permit, and no waiting for it
+	private final ConnectionBackpressureFilter filter = new ConnectionBackpressureFilter(1, 0, new SimpleMeterRegistry());
+
+	@Test
+	void permitIsReleasedWhenTheRequestReturns() throws Exception {
+		assertThat(run(new MockHttpServletRequest("GET", "/api/task")).getStatus()).isEqualTo(200);
+		assertThat(run(new MockHttpServletRequest("GET", "/api/task")).getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void asyncRequestHoldsItsPermitUntilItCompletes() throws Exception {
+		MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/export/attendance");
+		export.setAsyncSupported(true);
+		MockFilterChain startsAsync = new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest request, HttpServletResponse response) {
+				request.startAsync();
+			}
+		});
+		filter.doFilter(export, new MockHttpServletResponse(), startsAsync);
+
+		MockHttpServletResponse busy = run(new MockHttpServletRequest("GET", "/api/task"));
+		assertThat(busy.getStatus()).isEqualTo(503);
+		assertThat(busy.getHeader("Retry-After")).isEqualTo("1");
+
+		export.getAsyncContext().complete();
+
+		assertThat(run(new MockHttpServletRequest("GET", "/api/task")).getStatus()).isEqualTo(200);
+	}
+
+	private MockHttpServletResponse run(MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+}
@@ -0,0 +1,117 @@
+package com.ems.backend.config;
+
+import com.ems.backend.repository.AttendanceRepository;
+import com.ems.backend.service.TeamMembershipIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({RequestSqlDataSourceWrapper.class, TeamMembershipIndex.class})
+class SqlBudgetFilterTests {
+
+	private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+	@Autowired
+	private AttendanceRepository attendanceRepository;
+
+	@Autowired
+	private TeamMembershipIndex membershipIndex;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void teamOverviewStaysWithinItsBudget() {
+		RequestSqlStats stats = RequestSqlTracker.measure(() -> membershipIndex.overview()).stats();
+
+		assertThat(stats.statements()).isLessThanOrEqualTo(3);
+		assertThat(stats.repeated(2)).isEmpty();
+	}
+
+	@Test
+	void jdbcTemplateStatementsAreCountedToo() {
+		RequestSqlStats stats = RequestSqlTracker.measure(() -> {
+			jdbcTemplate.queryForObject("select count(*) from attendance", Long.class);
+			attendanceRepository.findByEmployeeEmpIdAndDate(1, DAY);
+		});
+
+		assertThat(stats.statements()).isEqualTo(2);
+		assertThat(stats.totalNanos()).isPositive();
+	}
+
+	@Test
+	void repeatedLookupsAreReportedAsNPlusOne() {
+		SqlBudgetProperties properties = enforcing();
+		properties.setRepeatThreshold(5);
+
+		assertThatThrownBy(() -> run(properties, 6))
+				.isInstanceOf(SqlBudgetExceededException.class)
+				.hasMessageContaining("Possible N+1")
+				.hasMessageContaining("5 x select");
+	}
+
+	@Test
+	void requestsOverBudgetFailWhenEnforced() throws Exception {
+		SqlBudgetProperties properties = enforcing();
+		properties.getBudgets().put("none", 2);
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		assertThatThrownBy(() -> run(properties, 3, response))
+				.isInstanceOf(SqlBudgetExceededException.class)
+				.hasMessageContaining("ran 3 SQL statements (budget 2)");
+		// Failed while the handler ran, before it wrote anything
+		assertThat(response.isCommitted()).isFalse();
+		assertThat(response.getContentAsString()).isEmpty();
+	}
+
+	@Test
+	void requestsWithinBudgetPass() throws Exception {
+		SqlBudgetProperties properties = enforcing();
+
+		MockHttpServletResponse response = run(properties, 3);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+
+	private static SqlBudgetProperties enforcing() {
+		SqlBudgetProperties properties = new SqlBudgetProperties();
+		properties.setEnforce(true);
+		return properties;
+	}
+
+	private MockHttpServletResponse run(SqlBudgetProperties properties, int lookups) throws Exception {
+		return run(properties, lookups, new MockHttpServletResponse());
+	}
+
+	// One request that looks up attendance once per employee, then writes its body
+	private MockHttpServletResponse run(SqlBudgetProperties properties, int lookups, MockHttpServletResponse response) throws Exception {
+		SqlBudgetFilter filter = new SqlBudgetFilter(properties, new SimpleMeterRegistry());
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/attendance/lookups"), response, new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+				for (int empId = 1; empId <= lookups; empId++) {
+					attendanceRepository.findByEmployeeEmpIdAndDate(empId, DAY);
+				}
+				response.getWriter().write("[]");
+				response.flushBuffer();
+			}
+		}));
+		return response;
+	}
+}
@@ -0,0 +1,101 @@
+package com.ems.backend.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint latency samples of one scenario: p50/p99/max and throughput,
+// printed as a table and written to target/loadtest/<scenario>.json
+class LatencyReport {
+
+	record EndpointStats(String endpoint, long requests, long errors, double throughputPerSecond,
+						 double p50Millis, double p99Millis, double maxMillis) {
+	}
+
+	private static final class Samples {
+		private long[] nanos = new long[1024];
+		private int count;
+		private final LongAdder errors = new LongAdder();
+
+		synchronized void add(long value) {
+			if (count == nanos.length) {
+				nanos = Arrays.copyOf(nanos, count * 2);
+			}
+			nanos[count++] = value;
+		}
+
+		synchronized long[] sorted() {
+			long[] copy = Arrays.copyOf(nanos, count);
+			Arrays.sort(copy);
+			return copy;
+		}
+	}
+
+	private final String scenario;
+	private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+	private final long startedAt = System.nanoTime();
+	private volatile long finishedAt;
+
+	LatencyReport(String scenario) {
+		this.scenario = scenario;
+	}
+
+	void record(String endpoint, long nanos, boolean ok) {
+		Samples endpointSamples = samples.computeIfAbsent(endpoint, e -> new Samples());
+		endpointSamples.add(nanos);
+		if (!ok) {
+			endpointSamples.errors.increment();
+		}
+	}
+
+	void finish() {
+		finishedAt = System.nanoTime();
+	}
+
+	List<EndpointStats> stats() {
+		double seconds = ((finishedAt != 0 ? finishedAt : System.nanoTime()) - startedAt) / 1e9;
+		return samples.entrySet().stream()
+				.sorted(Map.Entry.comparingByKey())
+				.map(entry -> {
+					long[] sorted = entry.getValue().sorted();
+					return new EndpointStats(entry.getKey(), sorted.length, entry.getValue().errors.sum(),
+							sorted.length / seconds,
+							percentile(sorted, 0.50), percentile(sorted, 0.99),
+							sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+				})
+				.toList();
+	}
+
+	void print() throws IOException {
+		List<EndpointStats> stats = stats();
+		System.out.printf("%n== %s ==%n%-55s %9s %7s %10s %9s %9s %9s%n", scenario,
+				"endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+		stats.forEach(s -> System.out.printf("%-55s %9d %7d %10.1f %9.2f %9.2f %9.2f%n",
+				s.endpoint(), s.requests(), s.errors(), s.throughputPerSecond(), s.p50Millis(), s.p99Millis(), s.maxMillis()));
+
+		Map<String, Object> json = new LinkedHashMap<>();
+		json.put("scenario", scenario);
+		json.put("endpoints", stats);
+		Path file = Path.of("target", "loadtest", scenario + ".json");
+		Files.createDirectories(file.getParent());
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+	}
+
+	// Nearest-rank percentile
+	private static double percentile(long[] sorted, double quantile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(quantile * sorted.length);
+		return sorted[Math.max(0, rank - 1)] / 1e6;
+	}
+}
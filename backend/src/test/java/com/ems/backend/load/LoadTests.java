@@ -0,0 +1,271 @@
+package com.ems.backend.load;
+
+import com.ems.backend.service.TeamMembershipIndex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// End-to-end load test: boots the app on a random port against H2 in MySQL mode
+// (or -Dloadtest.url / -Dloadtest.username / -Dloadtest.password for a local
+// MySQL), seeds a synthetic organisation once and replays four traffic mixes.
+// Reports land in target/loadtest/*.json.
+//
+//   mvn test -Dtest=LoadTests -Dloadtest=true -Dloadtest.scale=0.01
+//
+// Knobs: loadtest.employees/teams/attendance/timesheets/tasks/notifications (full-size
+// defaults 20k/500/10M/10M/1M/5M), loadtest.scale, loadtest.concurrency (50),
+// loadtest.burst-concurrency (200), loadtest.duration-seconds (60).
+//
+// -Dloadtest.virtual=true runs the server on virtual threads (with its connection
+// backpressure); reports are suffixed -virtual / -platform so the two modes can be
+// compared run against run.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class LoadTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TeamMembershipIndex membershipIndex;
+
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+	private SyntheticOrg org;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url",
+				() -> System.getProperty("loadtest.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1"));
+		registry.add("spring.datasource.username", () -> System.getProperty("loadtest.username", "sa"));
+		registry.add("spring.datasource.password", () -> System.getProperty("loadtest.password", ""));
+		registry.add("spring.datasource.driver-class-name", () -> System.getProperty("loadtest.url", "").startsWith("jdbc:mysql")
+				? "com.mysql.cj.jdbc.Driver" : "org.h2.Driver");
+		registry.add("spring.jpa.show-sql", () -> "false");
+		registry.add("spring.datasource.hikari.maximum-pool-size", () -> System.getProperty("loadtest.pool-size", "20"));
+		registry.add("spring.threads.virtual.enabled", () -> String.valueOf(virtual()));
+	}
+
+	@BeforeAll
+	void seed() {
+		org = new SyntheticOrg(jdbcTemplate);
+		org.seed(SyntheticOrg.Sizes.fromSystemProperties());
+		membershipIndex.rebuild();
+	}
+
+	// Everyone punches in within a few minutes of 9 AM: one POST per employee, as fast as the server takes them
+	@Test
+	void punchInBurst() throws Exception {
+		LatencyReport report = new LatencyReport(scenario("punch-in-burst"));
+		int[] employees = org.employeeIds();
+		String today = LocalDate.now().toString();
+		AtomicInteger next = new AtomicInteger();
+
+		drive(Integer.getInteger("loadtest.burst-concurrency", 200), () -> {
+			int i = next.getAndIncrement();
+			if (i >= employees.length) {
+				return false;
+			}
+			String body = "{\"employee\":{\"empId\":" + employees[i] + "},\"date\":\"" + today
+					+ "\",\"status\":\"PRESENT\",\"loggedInTime\":\"09:00:00\"}";
+			call(report, "POST /api/attendance/add", HttpRequest.newBuilder(uri("/api/attendance/add"))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(body)));
+			return true;
+		});
+		report.finish();
+
+		report.print();
+		assertNoErrors(report);
+	}
+
+	// Admin home page and employee dashboards: summary, own tasks, own teams, this month's attendance
+	@Test
+	void dashboardLoads() throws Exception {
+		LatencyReport report = new LatencyReport(scenario("dashboard"));
+		int[] employees = org.employeeIds();
+		String monthStart = LocalDate.now().withDayOfMonth(1).toString();
+		long deadline = deadline();
+
+		drive(Integer.getInteger("loadtest.concurrency", 50), () -> {
+			if (System.nanoTime() > deadline) {
+				return false;
+			}
+			int empId = employees[ThreadLocalRandom.current().nextInt(employees.length)];
+			int pick = ThreadLocalRandom.current().nextInt(100);
+			if (pick < 10) {
+				get(report, "GET /api/dashboard/summary", "/api/dashboard/summary");
+			} else if (pick < 50) {
+				get(report, "GET /api/task/employee/{empId}", "/api/task/employee/" + empId);
+			} else if (pick < 80) {
+				get(report, "GET /api/team/employee/{empId}/teams", "/api/team/employee/" + empId + "/teams");
+			} else {
+				get(report, "GET /api/attendance/page", "/api/attendance/page?empId=" + empId + "&from=" + monthStart + "&size=31");
+			}
+			return true;
+		});
+		report.finish();
+
+		report.print();
+		assertNoErrors(report);
+	}
+
+	// The header's unread badge and inbox, as polled by every open browser tab
+	@Test
+	void notificationPolling() throws Exception {
+		LatencyReport report = new LatencyReport(scenario("notification-polling"));
+		int[] employees = org.employeeIds();
+		long deadline = deadline();
+
+		drive(Integer.getInteger("loadtest.concurrency", 50), () -> {
+			if (System.nanoTime() > deadline) {
+				return false;
+			}
+			int empId = employees[ThreadLocalRandom.current().nextInt(employees.length)];
+			if (ThreadLocalRandom.current().nextInt(100) < 80) {
+				get(report, "GET /api/notifications/user/{empId}/unread-count", "/api/notifications/user/" + empId + "/unread-count");
+			} else {
+				get(report, "GET /api/notifications/user/{empId}", "/api/notifications/user/" + empId + "?size=20");
+			}
+			return true;
+		});
+		report.finish();
+
+		report.print();
+		assertNoErrors(report);
+	}
+
+	// Handing tasks to teams: the team page's old four calls (assign team, assign the
+	// lead, notify, refetch the list) against one dispatch call, each flow timed end to
+	// end next to its individual calls
+	@Test
+	void taskDispatch() throws Exception {
+		LatencyReport report = new LatencyReport(scenario("task-dispatch"));
+		long[] tasks = org.taskIds();
+		List<long[]> teams = jdbcTemplate.query("select id, team_lead_id from teams where team_lead_id is not null",
+				(rs, i) -> new long[]{rs.getLong(1), rs.getLong(2)});
+
+		for (boolean composite : new boolean[]{false, true}) {
+			long deadline = deadline();
+			drive(Integer.getInteger("loadtest.concurrency", 50), () -> {
+				if (System.nanoTime() > deadline) {
+					return false;
+				}
+				long taskId = tasks[ThreadLocalRandom.current().nextInt(tasks.length)];
+				long[] team = teams.get(ThreadLocalRandom.current().nextInt(teams.size()));
+				long start = System.nanoTime();
+				if (composite) {
+					boolean ok = call(report, "POST /api/task/{id}/dispatch",
+							json("POST", "/api/task/" + taskId + "/dispatch", "{\"teamId\":" + team[0] + "}"));
+					report.record("flow: dispatch", System.nanoTime() - start, ok);
+				} else {
+					boolean ok = call(report, "PUT /api/team/{taskId}/assign-team/{teamId}",
+							HttpRequest.newBuilder(uri("/api/team/" + taskId + "/assign-team/" + team[0]))
+									.PUT(HttpRequest.BodyPublishers.noBody()))
+							&& call(report, "PUT /api/task/update/{id}",
+							json("PUT", "/api/task/update/" + taskId, "{\"assignedToId\":" + team[1] + "}"))
+							&& call(report, "POST /api/notifications/send", json("POST", "/api/notifications/send",
+							"{\"recipientId\":" + team[1] + ",\"taskId\":" + taskId + ",\"type\":\"ASSIGNED\",\"message\":\"Task assigned\"}"))
+							&& call(report, "GET /api/task/tasks", HttpRequest.newBuilder(uri("/api/task/tasks")).GET());
+					report.record("flow: assign-team + update + notify + refetch", System.nanoTime() - start, ok);
+				}
+				return true;
+			});
+		}
+		report.finish();
+
+		report.print();
+		assertNoErrors(report);
+	}
+
+	private interface Step {
+		// false once the scenario is over
+		boolean run() throws Exception;
+	}
+
+	// Closed loop: each worker issues its next request as soon as the previous one returns
+	private void drive(int workers, Step step) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		try {
+			List<Future<?>> running = new ArrayList<>();
+			for (int w = 0; w < workers; w++) {
+				running.add(pool.submit(() -> {
+					while (step.run()) {
+						// keep going
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : running) {
+				future.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private void get(LatencyReport report, String endpoint, String path) throws Exception {
+		call(report, endpoint, HttpRequest.newBuilder(uri(path)).GET());
+	}
+
+	private boolean call(LatencyReport report, String endpoint, HttpRequest.Builder request) throws Exception {
+		long start = System.nanoTime();
+		HttpResponse<byte[]> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+				HttpResponse.BodyHandlers.ofByteArray());
+		boolean ok = response.statusCode() < 400;
+		report.record(endpoint, System.nanoTime() - start, ok);
+		return ok;
+	}
+
+	private HttpRequest.Builder json(String method, String path, String body) {
+		return HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/json")
+				.method(method, HttpRequest.BodyPublishers.ofString(body));
+	}
+
+	private static boolean virtual() {
+		return Boolean.getBoolean("loadtest.virtual");
+	}
+
+	private static String scenario(String name) {
+		return name + (virtual() ? "-virtual" : "-platform");
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private static long deadline() {
+		return System.nanoTime() + Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)).toNanos();
+	}
+
+	private static void assertNoErrors(LatencyReport report) {
+		assertThat(report.stats()).allSatisfy(stats -> assertThat(stats.errors()).as(stats.endpoint()).isZero());
+	}
+}
@@ -0,0 +1,178 @@
+package com.ems.backend.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Seeds a large organisation with plain JDBC batches (the entity manager would
+// dominate the run at these sizes). Sizes come from -Dloadtest.* properties,
+// scaled by -Dloadtest.scale for quick runs. Attendance and timesheets cover the
+// days up to yesterday, so today's punch-ins are all new rows.
+class SyntheticOrg {
+
+	private static final int BATCH = 5_000;
+
+	record Sizes(int employees, int teams, long attendance, long timesheets, long tasks, long notifications) {
+
+		static Sizes fromSystemProperties() {
+			double scale = Double.parseDouble(System.getProperty("loadtest.scale", "1"));
+			return new Sizes(
+					(int) scaled("loadtest.employees", 20_000, scale),
+					(int) Math.max(1, scaled("loadtest.teams", 500, scale)),
+					scaled("loadtest.attendance", 10_000_000, scale),
+					scaled("loadtest.timesheets", 10_000_000, scale),
+					scaled("loadtest.tasks", 1_000_000, scale),
+					scaled("loadtest.notifications", 5_000_000, scale));
+		}
+
+		private static long scaled(String property, long defaultValue, double scale) {
+			return Math.round(Long.getLong(property, defaultValue) * scale);
+		}
+	}
+
+	private final JdbcTemplate jdbcTemplate;
+	private final SplittableRandom random = new SplittableRandom(42);
+
+	private int[] employeeIds;
+	private long[] taskIds;
+
+	SyntheticOrg(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	int[] employeeIds() {
+		return employeeIds;
+	}
+
+	long[] taskIds() {
+		return taskIds;
+	}
+
+	// Reuses whatever is already there (a local MySQL seeded by an earlier run)
+	void seed(Sizes sizes) {
+		Long existing = jdbcTemplate.queryForObject("select count(*) from employee", Long.class);
+		if (existing == null || existing == 0) {
+			long start = System.nanoTime();
+			seedEmployees(sizes.employees());
+			seedTeams(sizes.teams());
+			seedDaily("attendance", sizes.attendance());
+			seedDaily("timesheet", sizes.timesheets());
+			seedTasks(sizes.tasks());
+			seedNotifications(sizes.notifications());
+			System.out.printf("Seeded %s in %.1f s%n", sizes, (System.nanoTime() - start) / 1e9);
+		}
+		employeeIds = jdbcTemplate.queryForList("select emp_id from employee order by emp_id", Integer.class)
+				.stream().mapToInt(Integer::intValue).toArray();
+		taskIds = jdbcTemplate.queryForList("select id from tasks order by id", Long.class)
+				.stream().mapToLong(Long::longValue).toArray();
+	}
+
+	private void seedEmployees(int count) {
+		String sql = "insert into employee (username, password, role, fname, lname, email, phone, dob, designation, created_at) " +
+				"values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusYears(1));
+		List<Object[]> rows = new ArrayList<>(BATCH);
+		for (int n = 0; n < count; n++) {
+			rows.add(new Object[]{"load" + n, "secret", n % 100 == 0 ? "ADMIN" : "EMPLOYEE", "First" + n, "Last" + n,
+					"load" + n + "@ems.test", "07" + (10_000_000 + n), Date.valueOf(LocalDate.of(1980, 1, 1).plusDays(n % 7000)),
+					"Engineer", createdAt});
+			flushIfFull(rows, sql);
+		}
+		flush(rows, sql);
+		employeeIds = jdbcTemplate.queryForList("select emp_id from employee order by emp_id", Integer.class)
+				.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	// Every employee sits on exactly one team; the first member leads it
+	private void seedTeams(int count) {
+		List<Object[]> teams = new ArrayList<>();
+		for (int t = 0; t < count; t++) {
+			teams.add(new Object[]{"Team " + t, employeeIds[t * employeeIds.length / count]});
+		}
+		jdbcTemplate.batchUpdate("insert into teams (name, team_lead_id) values (?, ?)", teams);
+		List<Long> teamIds = jdbcTemplate.queryForList("select id from teams order by id", Long.class);
+
+		List<Object[]> rows = new ArrayList<>(BATCH);
+		for (int i = 0; i < employeeIds.length; i++) {
+			rows.add(new Object[]{teamIds.get((int) ((long) i * count / employeeIds.length)), employeeIds[i]});
+			flushIfFull(rows, "insert into team_members (team_id, emp_id) values (?, ?)");
+		}
+		flush(rows, "insert into team_members (team_id, emp_id) values (?, ?)");
+	}
+
+	// One row per employee per day, walking back from yesterday
+	private void seedDaily(String table, long total) {
+		String sql = "attendance".equals(table)
+				? "insert into attendance (emp_id, date, status, logged_in_time, logged_out_time) values (?, ?, ?, ?, ?)"
+				: "insert into timesheet (emp_id, date, start_time, lunch_out_time, lunch_in_time, end_time, work_hours, work_summery) " +
+				"values (?, ?, ?, ?, ?, ?, ?, ?)";
+		LocalDate yesterday = LocalDate.now().minusDays(1);
+		List<Object[]> rows = new ArrayList<>(BATCH);
+		for (long n = 0; n < total; n++) {
+			int empId = employeeIds[(int) (n % employeeIds.length)];
+			Date date = Date.valueOf(yesterday.minusDays(n / employeeIds.length));
+			Time in = Time.valueOf(LocalTime.of(8, 30).plusMinutes(random.nextInt(90)));
+			Time out = Time.valueOf(LocalTime.of(17, 0).plusMinutes(random.nextInt(120)));
+			rows.add("attendance".equals(table)
+					? new Object[]{empId, date, random.nextInt(20) == 0 ? "ABSENT" : "PRESENT", in, out}
+					: new Object[]{empId, date, in, Time.valueOf("13:00:00"), Time.valueOf("13:30:00"), out, "8 hr 0 min", "Synthetic work"});
+			flushIfFull(rows, sql);
+		}
+		flush(rows, sql);
+	}
+
+	private void seedTasks(long total) {
+		String sql = "insert into tasks (name, description, start_date, due_date, reminder_date, created_at, owner_id, assigned_to_id, " +
+				"status, priority, accepting_status) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		String[] statuses = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+		String[] priorities = {"LOW", "MEDIUM", "HIGH"};
+		LocalDate today = LocalDate.now();
+		Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusMonths(1));
+		List<Object[]> rows = new ArrayList<>(BATCH);
+		for (long n = 0; n < total; n++) {
+			LocalDate due = today.plusDays(random.nextInt(-180, 60));
+			rows.add(new Object[]{"Task " + n, "Synthetic task " + n, Date.valueOf(due.minusDays(14)), Date.valueOf(due),
+					Date.valueOf(due.minusDays(1)), createdAt, randomEmployee(), randomEmployee(),
+					statuses[random.nextInt(3)], priorities[random.nextInt(3)], "ACCEPTED"});
+			flushIfFull(rows, sql);
+		}
+		flush(rows, sql);
+	}
+
+	private void seedNotifications(long total) {
+		String sql = "insert into notifications (message, is_read, created_at, type, recipient_id) values (?, ?, ?, ?, ?)";
+		LocalDateTime now = LocalDateTime.now();
+		List<Object[]> rows = new ArrayList<>(BATCH);
+		for (long n = 0; n < total; n++) {
+			rows.add(new Object[]{"Synthetic notification " + n, random.nextInt(10) != 0,
+					Timestamp.valueOf(now.minusMinutes(total - n)), "ASSIGNED", randomEmployee()});
+			flushIfFull(rows, sql);
+		}
+		flush(rows, sql);
+	}
+
+	private int randomEmployee() {
+		return employeeIds[random.nextInt(employeeIds.length)];
+	}
+
+	private void flushIfFull(List<Object[]> rows, String sql) {
+		if (rows.size() >= BATCH) {
+			flush(rows, sql);
+		}
+	}
+
+	private void flush(List<Object[]> rows, String sql) {
+		if (!rows.isEmpty()) {
+			jdbcTemplate.batchUpdate(sql, rows);
+			rows.clear();
+		}
+	}
+}
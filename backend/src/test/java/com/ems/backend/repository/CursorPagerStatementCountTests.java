@@ -0,0 +1,172 @@
+package com.ems.backend.repository;
+
+import com.ems.backend.TestEmployees;
+import com.ems.backend.dto.AttendanceDTO;
+import com.ems.backend.dto.CursorPageDTO;
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.dto.TaskViewDTO;
+import com.ems.backend.dto.TimesheetDTO;
+import com.ems.backend.entity.Attendance;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.Task;
+import com.ems.backend.entity.Timesheet;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(CursorPager.class)
+class CursorPagerStatementCountTests {
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CursorPager cursorPager;
+
+	private Statistics statistics;
+	private int seeded;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void attendanceListingIsOneStatementRegardlessOfRowCount() {
+		seed(3);
+		long small = statementsFor(this::listAttendance);
+
+		seed(40);
+		long large = statementsFor(this::listAttendance);
+
+		assertThat(small).isEqualTo(1);
+		assertThat(large).isEqualTo(small);
+	}
+
+	@Test
+	void timesheetListingIsOneStatementRegardlessOfRowCount() {
+		seed(3);
+		long small = statementsFor(this::listTimesheets);
+
+		seed(40);
+		long large = statementsFor(this::listTimesheets);
+
+		assertThat(small).isEqualTo(1);
+		assertThat(large).isEqualTo(small);
+	}
+
+	// Outer joins: a task nobody owns or works on still lists, with null ids
+	@Test
+	void taskViewsReferenceEmployeesByIdInOneStatement() {
+		seed(1);
+		Employee assignee = em.getEntityManager().createQuery("select e from Employee e", Employee.class)
+				.setMaxResults(1).getSingleResult();
+		em.persist(task("Assigned", assignee));
+		em.persist(task("Unassigned", null));
+
+		AtomicReference<CursorPageDTO<TaskViewDTO>> page = new AtomicReference<>();
+		long statements = statementsFor(() -> {
+			ListFilterDTO filter = new ListFilterDTO();
+			page.set(cursorPager.project(Task.class, TaskViewDTO.class, ListSpecifications.task(filter),
+					Keyset.byId("id", TaskViewDTO::getId), filter, DtoProjections::taskView));
+		});
+
+		assertThat(statements).isEqualTo(1);
+		assertThat(page.get().getItems()).extracting(TaskViewDTO::getName).containsExactly("Assigned", "Unassigned");
+		assertThat(page.get().getItems()).extracting(TaskViewDTO::getAssignedToId)
+				.containsExactly(assignee.getEmpId(), null);
+	}
+
+	@Test
+	void cursorContinuesWhereThePreviousPageStopped() {
+		seed(5);
+		ListFilterDTO filter = new ListFilterDTO();
+		filter.setSize(4);
+
+		CursorPageDTO<AttendanceDTO> first = listAttendance(filter);
+		filter.setCursor(first.getNextCursor());
+		CursorPageDTO<AttendanceDTO> second = listAttendance(filter);
+
+		assertThat(first.getItems()).hasSize(4);
+		assertThat(second.getItems()).hasSize(1);
+		assertThat(second.getNextCursor()).isNull();
+		assertThat(second.getItems().get(0).getAttId())
+				.isNotIn(first.getItems().stream().map(AttendanceDTO::getAttId).toList());
+	}
+
+	private long statementsFor(Runnable listing) {
+		em.flush();
+		em.clear();
+		statistics.clear();
+		listing.run();
+		return statistics.getPrepareStatementCount();
+	}
+
+	private void listAttendance() {
+		assertThat(listAttendance(new ListFilterDTO()).getItems()).hasSize(seeded);
+	}
+
+	private CursorPageDTO<AttendanceDTO> listAttendance(ListFilterDTO filter) {
+		return cursorPager.project(Attendance.class, AttendanceDTO.class, ListSpecifications.attendance(filter),
+				Keyset.byDateAndId("date", "attId", AttendanceDTO::getDate, AttendanceDTO::getAttId),
+				filter, DtoProjections::attendance);
+	}
+
+	private void listTimesheets() {
+		ListFilterDTO filter = new ListFilterDTO();
+		CursorPageDTO<TimesheetDTO> page = cursorPager.project(Timesheet.class, TimesheetDTO.class,
+				ListSpecifications.timesheet(filter),
+				Keyset.byDateAndId("date", "timesheetId", TimesheetDTO::getDate, TimesheetDTO::getTimesheetId),
+				filter, DtoProjections::timesheet);
+		assertThat(page.getItems()).hasSize(seeded);
+	}
+
+	private static Task task(String name, Employee employee) {
+		Task task = new Task();
+		task.setName(name);
+		task.setOwnerId(employee);
+		task.setAssignedToId(employee);
+		task.setStatus(Task.Status.PENDING);
+		task.setPriority(Task.Priority.LOW);
+		task.setAcceptingStatus(Task.AcceptingStatus.PENDING);
+		return task;
+	}
+
+	// One employee per row, so a lazy load per row would show up as extra statements
+	private void seed(int employees) {
+		for (int i = 0; i < employees; i++) {
+			int n = seeded++;
+			Employee employee = TestEmployees.employee("user", n);
+			em.persist(employee);
+
+			Attendance attendance = new Attendance();
+			attendance.setEmployee(employee);
+			attendance.setDate(LocalDate.of(2025, 1, 1).plusDays(n));
+			attendance.setStatus(Attendance.Status.PRESENT);
+			attendance.setLoggedInTime(LocalTime.of(9, 0));
+			em.persist(attendance);
+
+			Timesheet timesheet = new Timesheet();
+			timesheet.setEmployee(employee);
+			timesheet.setDate(attendance.getDate());
+			timesheet.setStartTime(LocalTime.of(9, 0));
+			em.persist(timesheet);
+		}
+	}
+}
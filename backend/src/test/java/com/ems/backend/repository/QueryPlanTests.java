@@ -0,0 +1,189 @@
+package com.ems.backend.repository;
+
+import com.ems.backend.TestEmployees;
+import com.ems.backend.entity.Attendance;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.EmployeeLeave;
+import com.ems.backend.entity.Notification;
+import com.ems.backend.entity.Task;
+import com.ems.backend.entity.Timesheet;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs EXPLAIN on the SQL behind each hot repository query, against a seeded
+// database built by the Flyway scripts, and fails when a plan scans a table.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ems.backend.repository.QueryPlanTests$Capture")
+class QueryPlanTests {
+
+	private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AttendanceRepository attendanceRepository;
+
+	@Autowired
+	private TimesheetRepository timesheetRepository;
+
+	@Autowired
+	private LeaveRepository leaveRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	private Integer empId;
+
+	public static class Capture implements StatementInspector {
+		static final List<String> statements = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			statements.add(sql);
+			return sql;
+		}
+	}
+
+	@BeforeEach
+	void seed() {
+		List<Employee> employees = new ArrayList<>();
+		for (int n = 0; n < 40; n++) {
+			Employee employee = TestEmployees.employee("user", n);
+			em.persist(employee);
+			employees.add(employee);
+		}
+		empId = employees.get(0).getEmpId();
+
+		for (Employee employee : employees) {
+			for (int d = 0; d < 10; d++) {
+				LocalDate date = DAY.plusDays(d);
+
+				Attendance attendance = new Attendance();
+				attendance.setEmployee(employee);
+				attendance.setDate(date);
+				attendance.setStatus(d % 4 == 0 ? Attendance.Status.ABSENT : Attendance.Status.PRESENT);
+				attendance.setLoggedInTime(LocalTime.of(9, 0));
+				em.persist(attendance);
+
+				Timesheet timesheet = new Timesheet();
+				timesheet.setEmployee(employee);
+				timesheet.setDate(date);
+				timesheet.setStartTime(LocalTime.of(9, 0));
+				em.persist(timesheet);
+			}
+
+			EmployeeLeave leave = new EmployeeLeave();
+			leave.setEmployee(employee);
+			leave.setStartDate(DAY);
+			leave.setEndDate(DAY.plusDays(2));
+			leave.setLeaveType(EmployeeLeave.LeaveType.CASUAL);
+			leave.setStatus(EmployeeLeave.LeaveStatus.values()[employee.getEmpId() % 3]);
+			leave.setDays(3);
+			em.persist(leave);
+
+			for (int t = 0; t < 5; t++) {
+				Task task = new Task();
+				task.setName("Task " + t);
+				task.setAssignedToId(employee);
+				task.setOwnerId(employees.get(0));
+				task.setDueDate(DAY.plusDays(t));
+				task.setReminderDate(DAY.plusDays(t));
+				task.setStatus(Task.Status.PENDING);
+				task.setPriority(Task.Priority.MEDIUM);
+				task.setAcceptingStatus(Task.AcceptingStatus.PENDING);
+				em.persist(task);
+
+				Notification notification = new Notification();
+				notification.setMessage("Assigned");
+				notification.setType(Notification.Type.ASSIGNED);
+				notification.setRecipientId(employee);
+				notification.setTaskId(task);
+				em.persist(notification);
+			}
+		}
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	void attendanceByEmployeeAndDate() {
+		assertIndexed(() -> attendanceRepository.findByEmployeeEmpIdAndDate(empId, DAY), empId, DAY);
+	}
+
+	@Test
+	void attendanceCountsForADay() {
+		assertIndexed(() -> attendanceRepository.countByStatusOnDate(DAY), DAY);
+	}
+
+	@Test
+	void timesheetByEmployeeAndDate() {
+		assertIndexed(() -> timesheetRepository.findByEmployeeEmpIdAndDate(empId, DAY), empId, DAY);
+		assertIndexed(() -> timesheetRepository.existsByEmployeeEmpIdAndDate(empId, DAY), empId, DAY);
+	}
+
+	@Test
+	void leavesByStatus() {
+		assertIndexed(() -> leaveRepository.findByStatus(EmployeeLeave.LeaveStatus.PENDING), "PENDING");
+		assertIndexed(() -> leaveRepository.countCovering(EmployeeLeave.LeaveStatus.APPROVED, DAY), "APPROVED", DAY);
+	}
+
+	@Test
+	void leaveOverlapForOneEmployee() {
+		assertIndexed(() -> leaveRepository.findOverlapping(empId, EmployeeLeave.LeaveStatus.REJECTED, DAY, DAY, null,
+				PageRequest.of(0, 1)), empId, "REJECTED", DAY, DAY, null, null);
+	}
+
+	@Test
+	void tasksByAssignee() {
+		assertIndexed(() -> taskRepository.findByAssignedToId_EmpId(empId), empId);
+	}
+
+	@Test
+	void remindersDueInTheWindow() {
+		assertIndexed(() -> taskRepository.findUndeliveredReminders(DAY, DAY.plusDays(1), 1, 0), DAY, DAY.plusDays(1), 1, 0);
+	}
+
+	@Test
+	void notificationsByRecipient() {
+		assertIndexed(() -> notificationRepository.findByRecipientId_EmpId(empId), empId);
+		assertIndexed(() -> notificationRepository.countByRecipientId_EmpIdAndIsReadFalse(empId), empId);
+	}
+
+	// Explains the first statement the call issues; later ones are association loads by id
+	private void assertIndexed(Runnable query, Object... params) {
+		Capture.statements.clear();
+		query.run();
+		assertThat(Capture.statements).isNotEmpty();
+		String sql = Capture.statements.get(0);
+
+		long placeholders = sql.chars().filter(c -> c == '?').count();
+		assertThat(placeholders).as(sql).isGreaterThanOrEqualTo(params.length);
+		// Any placeholders beyond the query's own parameters are row limits
+		Object[] args = Arrays.copyOf(params, (int) placeholders);
+		Arrays.fill(args, params.length, args.length, 1);
+
+		String plan = String.join("\n", jdbcTemplate.query("explain " + sql, (rs, row) -> rs.getString(1), args));
+		assertThat(plan).as("%s%n%s", sql, plan).doesNotContainIgnoringCase("tableScan");
+	}
+}
@@ -0,0 +1,129 @@
+package com.ems.backend.service;
+
+import com.ems.backend.service.AggregateVersions.Aggregate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(AggregateVersions.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AggregateVersionsTests {
+
+	@Autowired
+	private AggregateVersions aggregateVersions;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void bumpLandsOnlyWhenTheWriteCommits() {
+		long before = aggregateVersions.current().get(Aggregate.LEAVES);
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+		tx.executeWithoutResult(status -> {
+			aggregateVersions.bump(Aggregate.LEAVES);
+			aggregateVersions.bump(Aggregate.LEAVES);
+			assertThat(aggregateVersions.current().get(Aggregate.LEAVES)).isEqualTo(before);
+		});
+		assertThat(aggregateVersions.current().get(Aggregate.LEAVES)).isEqualTo(before + 1);
+
+		tx.executeWithoutResult(status -> {
+			aggregateVersions.bump(Aggregate.LEAVES);
+			status.setRollbackOnly();
+		});
+		assertThat(aggregateVersions.current().get(Aggregate.LEAVES)).isEqualTo(before + 1);
+	}
+
+	@Test
+	void changeLogRowCommitsOrRollsBackWithTheWrite() {
+		long before = aggregateVersions.current().get(Aggregate.TASKS);
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+		tx.executeWithoutResult(status -> {
+			aggregateVersions.changed(Aggregate.TASKS, 9001L);
+			// Logged in the writing transaction; the version waits for the commit
+			assertThat(logged(9001L)).isEqualTo(1);
+			assertThat(aggregateVersions.current().get(Aggregate.TASKS)).isEqualTo(before);
+		});
+		assertThat(logged(9001L)).isEqualTo(1);
+		assertThat(aggregateVersions.current().get(Aggregate.TASKS)).isEqualTo(before + 1);
+
+		tx.executeWithoutResult(status -> {
+			aggregateVersions.changed(Aggregate.TASKS, 9002L);
+			status.setRollbackOnly();
+		});
+		assertThat(logged(9002L)).isZero();
+		assertThat(aggregateVersions.current().get(Aggregate.TASKS)).isEqualTo(before + 1);
+	}
+
+	@Test
+	void matchingETagIsNotModifiedUntilTheAggregateChanges() {
+		MockHttpServletResponse first = new MockHttpServletResponse();
+		assertThat(aggregateVersions.notModified(get(null, first), Aggregate.TASKS, Aggregate.EMPLOYEES)).isFalse();
+		String etag = first.getHeader("ETag");
+		assertThat(etag).isNotBlank();
+
+		MockHttpServletResponse second = new MockHttpServletResponse();
+		assertThat(aggregateVersions.notModified(get(etag, second), Aggregate.TASKS, Aggregate.EMPLOYEES)).isTrue();
+		assertThat(second.getStatus()).isEqualTo(304);
+
+		// Other aggregates do not matter
+		aggregateVersions.bump(Aggregate.ATTENDANCE);
+		assertThat(aggregateVersions.notModified(get(etag, new MockHttpServletResponse()), Aggregate.TASKS, Aggregate.EMPLOYEES)).isTrue();
+
+		aggregateVersions.bump(Aggregate.EMPLOYEES);
+		assertThat(aggregateVersions.notModified(get(etag, new MockHttpServletResponse()), Aggregate.TASKS, Aggregate.EMPLOYEES)).isFalse();
+	}
+
+	@Test
+	void nodeLocalStateIsPartOfTheETag() {
+		MockHttpServletResponse first = new MockHttpServletResponse();
+		aggregateVersions.notModified(get(null, first), "node-a.1", Aggregate.TEAMS);
+		String etag = first.getHeader("ETag");
+
+		assertThat(aggregateVersions.notModified(get(etag, new MockHttpServletResponse()), "node-a.1", Aggregate.TEAMS)).isTrue();
+		// Same versions, but this node's index moved on or another node answers
+		assertThat(aggregateVersions.notModified(get(etag, new MockHttpServletResponse()), "node-a.2", Aggregate.TEAMS)).isFalse();
+		assertThat(aggregateVersions.notModified(get(etag, new MockHttpServletResponse()), "node-b.1", Aggregate.TEAMS)).isFalse();
+	}
+
+	@Test
+	void queryParametersArePartOfTheETag() {
+		MockHttpServletResponse firstPage = new MockHttpServletResponse();
+		aggregateVersions.notModified(get(null, firstPage), Aggregate.TASKS);
+
+		MockHttpServletRequest nextPage = new MockHttpServletRequest("GET", "/api/task/tasks");
+		nextPage.setQueryString("cursor=abc");
+		nextPage.addHeader("If-None-Match", firstPage.getHeader("ETag"));
+
+		assertThat(aggregateVersions.notModified(new ServletWebRequest(nextPage, new MockHttpServletResponse()), Aggregate.TASKS)).isFalse();
+	}
+
+	private int logged(long rowId) {
+		return jdbcTemplate.queryForObject("select count(*) from change_log where aggregate_name = 'TASKS' and row_id = ?",
+				Integer.class, rowId);
+	}
+
+	private static ServletWebRequest get(String ifNoneMatch, MockHttpServletResponse response) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/task/tasks");
+		if (ifNoneMatch != null) {
+			request.addHeader("If-None-Match", ifNoneMatch);
+		}
+		return new ServletWebRequest(request, response);
+	}
+}
@@ -0,0 +1,110 @@
+package com.ems.backend.service;
+
+import com.ems.backend.dto.ChangesDTO;
+import com.ems.backend.service.AggregateVersions.Aggregate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "ems.changes.settle-ms=0")
+@Import({AggregateVersions.class, ChangeFeed.class, JobLeaseManager.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChangeFeedTests {
+
+	@Autowired
+	private AggregateVersions aggregateVersions;
+
+	@Autowired
+	private ChangeFeed changeFeed;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// The purge watermark is shared with the other classes on the embedded database
+	@AfterEach
+	void resetWatermark() {
+		jdbcTemplate.update("update change_log_purge set purged_through = 0");
+	}
+
+	// Rows 100..199 "exist"; anything else has been deleted since it changed
+	private static List<Long> existing(Collection<Long> ids) {
+		return ids.stream().filter(id -> id >= 100 && id < 200).toList();
+	}
+
+	@Test
+	void returnsOnlyWhatChangedSinceTheToken() {
+		String start = changeFeed.since(Aggregate.TASKS, null, ChangeFeedTests::existing, id -> id).getToken();
+
+		aggregateVersions.changed(Aggregate.TASKS, 101L);
+		aggregateVersions.changed(Aggregate.TASKS, 102L);
+		aggregateVersions.changed(Aggregate.LEAVES, 103L);
+		aggregateVersions.changed(Aggregate.TASKS, 101L);
+
+		ChangesDTO<Long> changes = changeFeed.since(Aggregate.TASKS, start, ChangeFeedTests::existing, id -> id);
+		assertThat(changes.getItems()).containsExactlyInAnyOrder(101L, 102L);
+		assertThat(changes.getDeleted()).isEmpty();
+
+		ChangesDTO<Long> none = changeFeed.since(Aggregate.TASKS, changes.getToken(), ChangeFeedTests::existing, id -> id);
+		assertThat(none.getItems()).isEmpty();
+		assertThat(none.getToken()).isEqualTo(changes.getToken());
+	}
+
+	@Test
+	void vanishedRowsComeBackAsDeleted() {
+		String start = changeFeed.since(Aggregate.ATTENDANCE, null, ChangeFeedTests::existing, id -> id).getToken();
+
+		aggregateVersions.changed(Aggregate.ATTENDANCE, 150L);
+		aggregateVersions.changed(Aggregate.ATTENDANCE, 250L);
+		aggregateVersions.changed(Aggregate.ATTENDANCE, 260L);
+
+		ChangesDTO<Long> changes = changeFeed.since(Aggregate.ATTENDANCE, start, ChangeFeedTests::existing, id -> id);
+		assertThat(changes.getItems()).containsExactly(150L);
+		assertThat(Set.copyOf(changes.getDeleted())).containsExactlyInAnyOrder(250L, 260L);
+	}
+
+	@Test
+	void unsettledChangesAreResentWithoutMovingTheToken() {
+		String start = changeFeed.since(Aggregate.LEAVES, null, ChangeFeedTests::existing, id -> id).getToken();
+		aggregateVersions.changed(Aggregate.LEAVES, 120L);
+		// Pretend the change was committed just now, well inside a 5 second settle window
+		jdbcTemplate.update("update change_log set changed_at = dateadd('SECOND', 60, current_timestamp) where row_id = 120");
+
+		ChangesDTO<Long> changes = changeFeed.since(Aggregate.LEAVES, start, ChangeFeedTests::existing, id -> id);
+
+		assertThat(changes.getItems()).containsExactly(120L);
+		assertThat(changes.getToken()).isEqualTo(start);
+	}
+
+	@Test
+	void tokensFromBeforeThePurgeAreGone() {
+		String start = changeFeed.since(Aggregate.TASKS, null, ChangeFeedTests::existing, id -> id).getToken();
+		aggregateVersions.changed(Aggregate.TASKS, 110L);
+		aggregateVersions.changed(Aggregate.TASKS, 111L);
+		jdbcTemplate.update("update change_log set changed_at = dateadd('DAY', -30, current_timestamp) where seq > ?",
+				Long.parseLong(start));
+
+		changeFeed.purge();
+
+		assertThatThrownBy(() -> changeFeed.since(Aggregate.TASKS, start, ChangeFeedTests::existing, id -> id))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.GONE));
+
+		// Even with nothing left in change_log, a fresh token still works
+		String fresh = changeFeed.since(Aggregate.TASKS, null, ChangeFeedTests::existing, id -> id).getToken();
+		assertThat(changeFeed.since(Aggregate.TASKS, fresh, ChangeFeedTests::existing, id -> id).getItems()).isEmpty();
+	}
+}
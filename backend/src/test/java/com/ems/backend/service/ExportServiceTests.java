@@ -0,0 +1,62 @@
+package com.ems.backend.service;
+
+import com.ems.backend.TestEmployees;
+import com.ems.backend.dto.ListFilterDTO;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.EmployeeLeave;
+import com.ems.backend.repository.ProjectionStreamer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs with the default (MySQL streaming, Integer.MIN_VALUE) fetch size, which H2 rejects
+@DataJpaTest
+@Import({ExportServiceImpl.class, ProjectionStreamer.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ExportServiceTests {
+
+	private static final LocalDate DAY = LocalDate.of(2025, 4, 7);
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private ExportService exportService;
+
+	@Test
+	void leavesStreamAsCsvInDateOrder() throws Exception {
+		Employee employee = TestEmployees.employee("export", 0);
+		em.persistAndFlush(employee);
+		leave(employee, DAY.plusDays(7));
+		leave(employee, DAY);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.export(ExportService.Type.LEAVE, ExportService.Format.CSV, new ListFilterDTO(), out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(lines).hasSize(3);
+		assertThat(lines[0]).startsWith("leaveId,empId,fname");
+		assertThat(lines[1]).contains("First0", DAY.toString());
+		assertThat(lines[2]).contains(DAY.plusDays(7).toString());
+	}
+
+	private void leave(Employee employee, LocalDate start) {
+		EmployeeLeave leave = new EmployeeLeave();
+		leave.setEmployee(employee);
+		leave.setStartDate(start);
+		leave.setEndDate(start.plusDays(1));
+		leave.setLeaveType(EmployeeLeave.LeaveType.CASUAL);
+		leave.setDays(2);
+		em.persistAndFlush(leave);
+	}
+}
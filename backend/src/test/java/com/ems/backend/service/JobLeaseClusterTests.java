@@ -0,0 +1,116 @@
+package com.ems.backend.service;
+
+import com.ems.backend.BackendApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Two application contexts on one database, as two replicas of the backend would run
+class JobLeaseClusterTests {
+
+	private static final String URL = "jdbc:h2:mem:lease-cluster;MODE=MySQL;DB_CLOSE_DELAY=-1";
+	private static final String JOB = "cluster-test";
+
+	private static ConfigurableApplicationContext replicaA;
+	private static ConfigurableApplicationContext replicaB;
+
+	@BeforeAll
+	static void start() {
+		replicaA = replica("replica-a");
+		replicaB = replica("replica-b");
+	}
+
+	@AfterAll
+	static void stop() {
+		replicaB.close();
+		replicaA.close();
+	}
+
+	@BeforeEach
+	void clearLeases() {
+		jdbc(replicaA).update("delete from job_lease where job_name = ?", JOB);
+	}
+
+	@Test
+	void onlyOneReplicaRunsAClusterJob() {
+		AtomicInteger runs = new AtomicInteger();
+
+		boolean a = leases(replicaA).runIfLeader(JOB, token -> runs.incrementAndGet());
+		boolean b = leases(replicaB).runIfLeader(JOB, token -> runs.incrementAndGet());
+
+		assertThat(a).isNotEqualTo(b);
+		assertThat(runs).hasValue(1);
+	}
+
+	@Test
+	void pausedLeaderCannotWriteAfterTheOtherReplicaTakesOver() {
+		jdbc(replicaA).update("insert into notifications (message, is_read, created_at, type) values ('stale', true, ?, 'REMINDER')",
+				Timestamp.valueOf(LocalDateTime.now().minusDays(30)));
+		long before = count();
+
+		boolean ran = leases(replicaA).runIfLeader(JOB, token -> {
+			// replica-a stalls past its lease and replica-b takes the job over
+			jdbc(replicaA).update("update job_lease set expires_at_ms = 0 where job_name = ?", JOB);
+			assertThat(leases(replicaB).acquire(JOB)).isPresent();
+
+			assertThatThrownBy(() -> new TransactionTemplate(replicaA.getBean(PlatformTransactionManager.class))
+					.executeWithoutResult(status -> {
+						leases(replicaA).checkFence(JOB, token);
+						jdbc(replicaA).update("delete from notifications");
+					}))
+					.isInstanceOf(IllegalStateException.class);
+		});
+
+		assertThat(ran).isTrue();
+		assertThat(count()).isEqualTo(before);
+	}
+
+	@Test
+	void replicasSplitTheIdSpace() {
+		leases(replicaA).heartbeat();
+		leases(replicaB).heartbeat();
+
+		JobLeaseManager.Shard a = leases(replicaA).shard();
+		JobLeaseManager.Shard b = leases(replicaB).shard();
+		assertThat(a.count()).isEqualTo(2);
+		for (long id = 1; id <= 10; id++) {
+			assertThat(a.owns(id)).isNotEqualTo(b.owns(id));
+		}
+	}
+
+	private static ConfigurableApplicationContext replica(String nodeId) {
+		return new SpringApplicationBuilder(BackendApplication.class)
+				.web(WebApplicationType.NONE)
+				.run("--spring.datasource.url=" + URL,
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						"--spring.datasource.driver-class-name=org.h2.Driver",
+						"--ems.cluster.node-id=" + nodeId);
+	}
+
+	private static JobLeaseManager leases(ConfigurableApplicationContext replica) {
+		return replica.getBean(JobLeaseManager.class);
+	}
+
+	private static JdbcTemplate jdbc(ConfigurableApplicationContext replica) {
+		return replica.getBean(JdbcTemplate.class);
+	}
+
+	private static long count() {
+		return jdbc(replicaA).queryForObject("select count(*) from notifications", Long.class);
+	}
+}
@@ -0,0 +1,139 @@
+package com.ems.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Several nodes sharing one database, each with its own JobLeaseManager
+@DataJpaTest
+class JobLeaseManagerTests {
+
+	private static final Duration LEASE = Duration.ofSeconds(30);
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private MutableClock clock;
+	private JobLeaseManager nodeA;
+	private JobLeaseManager nodeB;
+
+	@BeforeEach
+	void setUp() {
+		clock = new MutableClock();
+		nodeA = new JobLeaseManager(jdbcTemplate, "node-a", LEASE, clock);
+		nodeB = new JobLeaseManager(jdbcTemplate, "node-b", LEASE, clock);
+	}
+
+	@Test
+	void onlyOneNodeHoldsTheLease() {
+		OptionalLong a = nodeA.acquire("reminders");
+		OptionalLong b = nodeB.acquire("reminders");
+
+		assertThat(a).isPresent();
+		assertThat(b).isEmpty();
+		assertThat(nodeA.runIfLeader("reminders", token -> { })).isTrue();
+		assertThat(nodeB.runIfLeader("reminders", token -> { })).isFalse();
+	}
+
+	@Test
+	void heartbeatsKeepTheLeaseAlive() {
+		nodeA.acquire("reminders");
+
+		for (int i = 0; i < 5; i++) {
+			clock.advance(Duration.ofSeconds(10));
+			nodeA.heartbeat();
+		}
+
+		assertThat(nodeB.acquire("reminders")).isEmpty();
+	}
+
+	@Test
+	void expiredLeaseMovesOnWithAHigherFencingToken() {
+		long first = nodeA.acquire("reminders").getAsLong();
+
+		clock.advance(LEASE.plusSeconds(1));
+		long second = nodeB.acquire("reminders").getAsLong();
+
+		assertThat(second).isGreaterThan(first);
+		assertThat(nodeA.holds("reminders", first)).isFalse();
+		assertThat(nodeB.holds("reminders", second)).isTrue();
+
+		// The old leader finds out on its next heartbeat and cannot take it back
+		nodeA.heartbeat();
+		assertThat(nodeA.acquire("reminders")).isEmpty();
+	}
+
+	@Test
+	void staleTokenFailsTheFence() {
+		long first = nodeA.acquire("reminders").getAsLong();
+		nodeA.checkFence("reminders", first);
+
+		clock.advance(LEASE.plusSeconds(1));
+		long second = nodeB.acquire("reminders").getAsLong();
+
+		assertThatThrownBy(() -> nodeA.checkFence("reminders", first)).isInstanceOf(IllegalStateException.class);
+		nodeB.checkFence("reminders", second);
+	}
+
+	@Test
+	void releasedLeaseIsFreeImmediately() {
+		nodeA.acquire("reminders");
+		nodeA.release("reminders");
+
+		assertThat(nodeB.acquire("reminders")).isPresent();
+	}
+
+	@Test
+	void liveNodesSplitTheIdSpace() {
+		nodeA.heartbeat();
+		nodeB.heartbeat();
+
+		JobLeaseManager.Shard a = nodeA.shard();
+		JobLeaseManager.Shard b = nodeB.shard();
+		assertThat(a.count()).isEqualTo(2);
+		assertThat(b.count()).isEqualTo(2);
+		for (long id = 1; id <= 10; id++) {
+			assertThat(a.owns(id)).isNotEqualTo(b.owns(id));
+		}
+
+		// node-b stops heartbeating and node-a takes over everything
+		clock.advance(LEASE.plusSeconds(1));
+		nodeA.heartbeat();
+		assertThat(nodeA.shard()).isEqualTo(new JobLeaseManager.Shard(0, 1));
+	}
+
+	private static class MutableClock extends Clock {
+		private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
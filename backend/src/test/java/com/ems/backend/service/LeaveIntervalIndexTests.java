@@ -0,0 +1,183 @@
+package com.ems.backend.service;
+
+import com.ems.backend.TestEmployees;
+import com.ems.backend.dto.LeaveViewDTO;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.EmployeeLeave;
+import com.ems.backend.repository.LeaveRepository;
+import com.ems.backend.repository.ProjectionStreamer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({LeaveIntervalIndex.class, ProjectionStreamer.class, ChangeFeed.class, JobLeaseManager.class, AggregateVersions.class})
+class LeaveIntervalIndexTests {
+
+	private static final LocalDate MARCH = LocalDate.of(2025, 3, 1);
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private LeaveIntervalIndex leaveIntervalIndex;
+
+	@Autowired
+	private AggregateVersions aggregateVersions;
+
+	@Autowired
+	private ProjectionStreamer projectionStreamer;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ChangeFeed changeFeed;
+
+	@Autowired
+	private LeaveRepository leaveRepository;
+
+	private int seeded;
+
+	@Test
+	void treeFindsTheSameLeavesAsAScan() {
+		Random random = new Random(42);
+		List<LeaveViewDTO> leaves = new ArrayList<>();
+		for (int id = 1; id <= 2000; id++) {
+			LocalDate start = MARCH.plusDays(random.nextInt(365));
+			leaves.add(view(id, 1, start, start.plusDays(random.nextInt(random.nextInt(10) == 0 ? 60 : 5)),
+					EmployeeLeave.LeaveStatus.APPROVED));
+		}
+		leaves.sort(Comparator.comparing(LeaveViewDTO::getStartDate).thenComparing(LeaveViewDTO::getLeaveId));
+		LeaveIntervalIndex.IntervalTree tree = new LeaveIntervalIndex.IntervalTree(leaves.toArray(LeaveViewDTO[]::new));
+
+		for (int i = 0; i < 200; i++) {
+			LocalDate from = MARCH.plusDays(random.nextInt(400) - 20);
+			LocalDate to = from.plusDays(random.nextInt(14));
+			List<LeaveViewDTO> scanned = leaves.stream()
+					.filter(leave -> !leave.getStartDate().isAfter(to) && !leave.getEndDate().isBefore(from))
+					.toList();
+			assertThat(tree.overlapping(from, to)).containsExactlyElementsOf(scanned);
+		}
+
+		LeaveViewDTO removed = leaves.get(700);
+		assertThat(tree.without(removed).with(removed).overlapping(removed.getStartDate(), removed.getEndDate()))
+				.containsExactlyElementsOf(tree.overlapping(removed.getStartDate(), removed.getEndDate()));
+	}
+
+	@Test
+	void overlayAnswersLikeOneTreeAcrossFolds() {
+		Random random = new Random(7);
+		List<LeaveViewDTO> live = new ArrayList<>();
+		LeaveIntervalIndex.ApprovedLeaves approved = LeaveIntervalIndex.ApprovedLeaves.EMPTY;
+		// Enough writes to fold the overlay into the base tree a few times over
+		for (int id = 1; id <= 5000; id++) {
+			if (!live.isEmpty() && random.nextInt(3) == 0) {
+				approved = approved.without(live.remove(random.nextInt(live.size())));
+			}
+			LocalDate start = MARCH.plusDays(random.nextInt(365));
+			LeaveViewDTO leave = view(id, 1, start, start.plusDays(random.nextInt(5)), EmployeeLeave.LeaveStatus.APPROVED);
+			live.add(leave);
+			approved = approved.with(leave);
+		}
+		live.sort(Comparator.comparing(LeaveViewDTO::getStartDate).thenComparing(LeaveViewDTO::getLeaveId));
+
+		for (int i = 0; i < 200; i++) {
+			LocalDate from = MARCH.plusDays(random.nextInt(400) - 20);
+			LocalDate to = from.plusDays(random.nextInt(14));
+			List<LeaveViewDTO> scanned = live.stream()
+					.filter(leave -> !leave.getStartDate().isAfter(to) && !leave.getEndDate().isBefore(from))
+					.toList();
+			assertThat(approved.overlapping(from, to)).containsExactlyElementsOf(scanned);
+		}
+	}
+
+	@Test
+	void answersServiceUnavailableUntilLoaded() {
+		LeaveIntervalIndex unloaded = new LeaveIntervalIndex(projectionStreamer, transactionManager, changeFeed, leaveRepository);
+
+		assertThatThrownBy(() -> unloaded.outOn(MARCH))
+				.isInstanceOf(ResponseStatusException.class)
+				.satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+		unloaded.reconcile();
+
+		assertThat(unloaded.outOn(MARCH)).isNotNull();
+	}
+
+	@Test
+	void reconcilePicksUpLeavesDecidedElsewhere() {
+		Employee employee = employee();
+		EmployeeLeave leave = leave(employee, MARCH, MARCH.plusDays(2), EmployeeLeave.LeaveStatus.PENDING);
+		leaveIntervalIndex.rebuild();
+
+		// Another replica approves the leave and logs it; this node never puts it
+		leave.setStatus(EmployeeLeave.LeaveStatus.APPROVED);
+		em.persistAndFlush(leave);
+		aggregateVersions.changed(AggregateVersions.Aggregate.LEAVES, leave.getLeaveId());
+		assertThat(leaveIntervalIndex.outOn(MARCH.plusDays(1))).isEmpty();
+
+		leaveIntervalIndex.reconcile();
+
+		assertThat(leaveIntervalIndex.outOn(MARCH.plusDays(1))).extracting(LeaveViewDTO::getLeaveId)
+				.containsExactly(leave.getLeaveId());
+		assertThat(leaveIntervalIndex.approvedOverlapping(List.of(employee.getEmpId()), MARCH, MARCH)).hasSize(1);
+	}
+
+	@Test
+	void statusChangesMoveLeavesInAndOutOfTheTrees() {
+		Employee employee = employee();
+		EmployeeLeave pending = leave(employee, MARCH, MARCH.plusDays(4), EmployeeLeave.LeaveStatus.PENDING);
+		leave(employee, MARCH.plusDays(10), MARCH.plusDays(12), EmployeeLeave.LeaveStatus.REJECTED);
+		leaveIntervalIndex.rebuild();
+
+		Integer empId = employee.getEmpId();
+		assertThat(leaveIntervalIndex.approvedOverlapping(List.of(empId), MARCH, MARCH.plusDays(30))).isEmpty();
+		assertThat(leaveIntervalIndex.outOn(MARCH.plusDays(2))).isEmpty();
+
+		leaveIntervalIndex.put(view(pending.getLeaveId(), empId, MARCH, MARCH.plusDays(4), EmployeeLeave.LeaveStatus.APPROVED));
+		assertThat(leaveIntervalIndex.outOn(MARCH.plusDays(2))).extracting(LeaveViewDTO::getLeaveId)
+				.containsExactly(pending.getLeaveId());
+		assertThat(leaveIntervalIndex.approvedOverlapping(List.of(empId), MARCH.minusDays(7), MARCH)).hasSize(1);
+
+		leaveIntervalIndex.put(view(pending.getLeaveId(), empId, MARCH, MARCH.plusDays(4), EmployeeLeave.LeaveStatus.REJECTED));
+		assertThat(leaveIntervalIndex.outOn(MARCH.plusDays(2))).isEmpty();
+		assertThat(leaveIntervalIndex.approvedOverlapping(List.of(empId), MARCH, MARCH.plusDays(30))).isEmpty();
+	}
+
+	private static LeaveViewDTO view(Integer leaveId, Integer empId, LocalDate start, LocalDate end, EmployeeLeave.LeaveStatus status) {
+		return new LeaveViewDTO(leaveId, empId, start, end, EmployeeLeave.LeaveType.CASUAL, status,
+				LeaveDays.inclusive(start, end), null, start);
+	}
+
+	private Employee employee() {
+		int n = seeded++;
+		return em.persistFlushFind(TestEmployees.employee("leave", n));
+	}
+
+	private EmployeeLeave leave(Employee employee, LocalDate start, LocalDate end, EmployeeLeave.LeaveStatus status) {
+		EmployeeLeave leave = new EmployeeLeave();
+		leave.setEmployee(employee);
+		leave.setStartDate(start);
+		leave.setEndDate(end);
+		leave.setLeaveType(EmployeeLeave.LeaveType.CASUAL);
+		leave.setStatus(status);
+		leave.setDays(LeaveDays.inclusive(start, end));
+		leave.setAppliedAt(start);
+		return em.persistAndFlush(leave);
+	}
+}
@@ -0,0 +1,99 @@
+package com.ems.backend.service;
+
+import com.ems.backend.TestEmployees;
+import com.ems.backend.dto.NotificationViewDTO;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.Notification;
+import com.ems.backend.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run the throughput comparison with: mvn test -Dtest=NotificationFanoutBenchmarkTests -Dbenchmarks=true
+@DataJpaTest
+@Import(NotificationFanout.class)
+class NotificationFanoutBenchmarkTests {
+
+	private static final int ROUNDS = 5;
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private NotificationFanout fanout;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	private int seeded;
+
+	@Test
+	void everyRecipientGetsOneRowWithItsOwnId() {
+		List<Integer> recipients = seed(1200);
+
+		List<NotificationViewDTO> created = fanout.send(recipients, null, Notification.Type.ASSIGNED, "Team assigned");
+
+		assertThat(created).extracting(NotificationViewDTO::getRecipientId).containsExactlyElementsOf(recipients);
+		assertThat(created).extracting(NotificationViewDTO::getId).doesNotContainNull().doesNotHaveDuplicates();
+		assertThat(notificationRepository.count()).isEqualTo(recipients.size());
+		assertThat(notificationRepository.countByRecipientId_EmpIdAndIsReadFalse(recipients.get(0))).isEqualTo(1);
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void fanOutThroughput() {
+		for (int teamSize : new int[]{50, 200, 2000}) {
+			List<Integer> recipients = seed(teamSize);
+
+			double perRow = recipientsPerSecond(recipients, () -> saveOneByOne(recipients));
+			double batched = recipientsPerSecond(recipients,
+					() -> fanout.send(recipients, null, Notification.Type.ASSIGNED, "Team assigned"));
+
+			System.out.printf("team=%d  save-per-member=%.0f recipients/s  fan-out=%.0f recipients/s  (x%.1f)%n",
+					teamSize, perRow, batched, batched / perRow);
+		}
+	}
+
+	private double recipientsPerSecond(List<Integer> recipients, Runnable write) {
+		write.run(); // warm-up
+		em.flush();
+		long start = System.nanoTime();
+		for (int i = 0; i < ROUNDS; i++) {
+			write.run();
+			em.flush();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		em.clear();
+		return recipients.size() * ROUNDS / seconds;
+	}
+
+	// What createTeam and assignTeamToTask used to do
+	private void saveOneByOne(List<Integer> recipients) {
+		for (Integer recipientId : recipients) {
+			Notification notification = new Notification();
+			notification.setMessage("Team assigned");
+			notification.setRecipientId(em.getEntityManager().getReference(Employee.class, recipientId));
+			notification.setType(Notification.Type.ASSIGNED);
+			notificationRepository.save(notification);
+		}
+	}
+
+	private List<Integer> seed(int employees) {
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < employees; i++) {
+			int n = seeded++;
+			Employee employee = TestEmployees.employee("user", n);
+			ids.add(em.persistAndGetId(employee, Integer.class));
+		}
+		em.flush();
+		return ids;
+	}
+}
@@ -0,0 +1,202 @@
+package com.ems.backend.service;
+
+import com.ems.backend.TestEmployees;
+import com.ems.backend.dto.NotificationViewDTO;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.Notification;
+import com.ems.backend.repository.EmployeeRepository;
+import com.ems.backend.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Streams get emitters whose sends can be held up, standing in for a slow client
+@DataJpaTest(properties = {
+		"ems.notifications.send-queue=2",
+		"ems.notifications.send-timeout-ms=1000",
+		"ems.notifications.catch-up-settle-ms=0"
+})
+@Import(NotificationStreamRegistryTests.Config.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationStreamRegistryTests {
+
+	@TestConfiguration
+	static class Config {
+		@Bean
+		NotificationStreamRegistry notificationStreamRegistry(NotificationRepository notificationRepository) {
+			return new NotificationStreamRegistry(notificationRepository) {
+				@Override
+				SseEmitter newEmitter() {
+					return new TestEmitter();
+				}
+			};
+		}
+	}
+
+	// Records what was sent; sends block while the gate is closed
+	static class TestEmitter extends SseEmitter {
+		final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+		final CountDownLatch sending = new CountDownLatch(1);
+		volatile CountDownLatch gate = new CountDownLatch(0);
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			sending.countDown();
+			try {
+				gate.await();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			sent.add(builder.build().stream()
+					.map(part -> String.valueOf(part.getData()))
+					.collect(Collectors.joining()));
+		}
+
+		String next() throws InterruptedException {
+			return sent.poll(5, TimeUnit.SECONDS);
+		}
+	}
+
+	@Autowired
+	private NotificationStreamRegistry registry;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	private int seeded;
+
+	@AfterEach
+	void cleanUp() {
+		notificationRepository.deleteAll();
+		employeeRepository.deleteAll();
+	}
+
+	@Test
+	void lastEventIdReplaysWhatWasMissed() throws InterruptedException {
+		Employee ann = employee();
+		Notification first = notification(ann);
+		Notification second = notification(ann);
+		Notification third = notification(ann);
+
+		TestEmitter emitter = (TestEmitter) registry.register(ann.getEmpId(), first.getId());
+
+		assertThat(emitter.next()).contains("id:" + second.getId() + "\n");
+		assertThat(emitter.next()).contains("id:" + third.getId() + "\n");
+		assertThat(emitter.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	@Test
+	void clientAWholeQueueBehindIsDisconnected() throws InterruptedException {
+		Employee ann = employee();
+		int others = registry.connectedRecipients();
+		TestEmitter emitter = (TestEmitter) registry.register(ann.getEmpId(), null);
+		emitter.gate = new CountDownLatch(1);
+		try {
+			// The first is taken off the queue and hangs in send; two more fill the queue
+			registry.onNotificationsCreated(event(ann, 1L));
+			assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+			registry.onNotificationsCreated(event(ann, 2L, 3L));
+			assertThat(registry.connectedRecipients()).isEqualTo(others + 1);
+
+			registry.onNotificationsCreated(event(ann, 4L));
+
+			assertThat(registry.connectedRecipients()).isEqualTo(others);
+		} finally {
+			emitter.gate.countDown();
+		}
+	}
+
+	@Test
+	void sendStuckPastTheTimeoutIsDropped() throws InterruptedException {
+		Employee ann = employee();
+		int others = registry.connectedRecipients();
+		TestEmitter emitter = (TestEmitter) registry.register(ann.getEmpId(), null);
+		emitter.gate = new CountDownLatch(1);
+		try {
+			registry.onNotificationsCreated(event(ann, 1L));
+			assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+			registry.heartbeat();
+			assertThat(registry.connectedRecipients()).isEqualTo(others + 1);
+
+			Thread.sleep(1500);
+			registry.heartbeat();
+
+			assertThat(registry.connectedRecipients()).isEqualTo(others);
+		} finally {
+			emitter.gate.countDown();
+		}
+	}
+
+	@Test
+	void catchUpPushesWhatAnotherReplicaSaved() throws InterruptedException {
+		Employee ann = employee();
+		Employee bob = employee();
+		TestEmitter emitter = (TestEmitter) registry.register(ann.getEmpId(), null);
+		registry.catchUp();
+
+		// Saved without an event, as on a replica that has no stream for ann
+		Notification missed = notification(ann);
+		notification(bob);
+		registry.catchUp();
+		registry.catchUp();
+
+		assertThat(emitter.next()).contains("id:" + missed.getId() + "\n");
+		assertThat(emitter.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	@Test
+	void catchUpSkipsWhatWasAlreadyPushed() throws InterruptedException {
+		Employee ann = employee();
+		TestEmitter emitter = (TestEmitter) registry.register(ann.getEmpId(), null);
+		registry.catchUp();
+
+		Notification pushed = notification(ann);
+		registry.onNotificationsCreated(new NotificationsCreatedEvent(List.of(NotificationViewDTO.of(pushed))));
+		registry.catchUp();
+
+		assertThat(emitter.next()).contains("id:" + pushed.getId() + "\n");
+		assertThat(emitter.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	private Employee employee() {
+		return employeeRepository.save(TestEmployees.employee("stream", seeded++));
+	}
+
+	private Notification notification(Employee recipient) {
+		Notification notification = new Notification();
+		notification.setRecipientId(recipient);
+		notification.setType(Notification.Type.ASSIGNED);
+		notification.setMessage("Task assigned");
+		notification.setCreatedAt(LocalDateTime.now().minusMinutes(1));
+		return notificationRepository.save(notification);
+	}
+
+	private static NotificationsCreatedEvent event(Employee recipient, Long... ids) {
+		return new NotificationsCreatedEvent(List.of(ids).stream()
+				.map(id -> new NotificationViewDTO(id, recipient.getEmpId(), null, Notification.Type.ASSIGNED, "Task assigned",
+						false, LocalDateTime.now()))
+				.toList());
+	}
+}
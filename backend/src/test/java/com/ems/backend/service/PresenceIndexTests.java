@@ -0,0 +1,107 @@
+package com.ems.backend.service;
+
+import com.ems.backend.TestEmployees;
+import com.ems.backend.dto.AttendanceStatsDTO;
+import com.ems.backend.dto.PresenceDTO;
+import com.ems.backend.entity.Attendance;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.repository.ProjectionStreamer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({PresenceIndex.class, ProjectionStreamer.class, ChangeFeed.class, JobLeaseManager.class, AggregateVersions.class})
+class PresenceIndexTests {
+
+	private static final LocalDate NEW_YEAR = LocalDate.of(2025, 1, 1);
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private PresenceIndex presenceIndex;
+
+	@Autowired
+	private AggregateVersions aggregateVersions;
+
+	private int seeded;
+
+	@Test
+	void ratesAndStreaksSkipUnmarkedDaysAndRunAcrossTheYearEnd() {
+		Employee employee = employee();
+		// Dec 29 - Jan 2 present, Jan 3 absent, Jan 4 - 8 present except the unmarked 7th, Jan 9 absent, Jan 10 present
+		for (int day = -3; day <= 9; day++) {
+			if (day != 6) {
+				attendance(employee, NEW_YEAR.plusDays(day), day == 2 || day == 8 ? Attendance.Status.ABSENT : Attendance.Status.PRESENT);
+			}
+		}
+		presenceIndex.rebuild();
+
+		AttendanceStatsDTO stats = presenceIndex.stats(employee.getEmpId(), NEW_YEAR.minusDays(3), NEW_YEAR.plusDays(9));
+
+		assertThat(stats.getPresent()).isEqualTo(10);
+		assertThat(stats.getAbsent()).isEqualTo(2);
+		assertThat(stats.getRate()).isEqualTo(10 / 12.0);
+		assertThat(stats.getLongestStreak()).isEqualTo(5);
+		assertThat(stats.getCurrentStreak()).isEqualTo(1);
+
+		AttendanceStatsDTO january = presenceIndex.stats(employee.getEmpId(), NEW_YEAR, NEW_YEAR.plusDays(9));
+		assertThat(january.getPresent()).isEqualTo(7);
+		assertThat(january.getLongestStreak()).isEqualTo(4);
+	}
+
+	@Test
+	void marksAfterTheLoadReplaceTheDayStatus() {
+		Employee first = employee();
+		Employee second = employee();
+		LocalDate day = LocalDate.of(2025, 3, 6);
+		attendance(first, day, Attendance.Status.PRESENT);
+		presenceIndex.rebuild();
+
+		presenceIndex.mark(second.getEmpId(), day, Attendance.Status.PRESENT);
+		presenceIndex.mark(first.getEmpId(), day, Attendance.Status.ABSENT);
+
+		PresenceDTO presence = presenceIndex.presenceOn(day);
+		assertThat(presence.getPresent()).isEqualTo(1);
+		assertThat(presence.getAbsent()).isEqualTo(1);
+		assertThat(presenceIndex.stats(first.getEmpId(), day, day).getPresent()).isZero();
+		assertThat(presenceIndex.presenceOn(day.plusDays(1)).getPresent()).isZero();
+	}
+
+	@Test
+	void reconcilePicksUpAttendanceWrittenElsewhere() {
+		Employee employee = employee();
+		LocalDate day = LocalDate.of(2025, 4, 2);
+		presenceIndex.rebuild();
+
+		// Another replica saves the row and logs it; this node never marks it
+		Attendance saved = attendance(employee, day, Attendance.Status.PRESENT);
+		aggregateVersions.changed(AggregateVersions.Aggregate.ATTENDANCE, saved.getAttId());
+		assertThat(presenceIndex.stats(employee.getEmpId(), day, day).getPresent()).isZero();
+
+		presenceIndex.reconcile();
+
+		assertThat(presenceIndex.stats(employee.getEmpId(), day, day).getPresent()).isEqualTo(1);
+		assertThat(presenceIndex.presenceOn(day).getPresent()).isEqualTo(1);
+	}
+
+	private Employee employee() {
+		int n = seeded++;
+		return em.persistFlushFind(TestEmployees.employee("presence", n));
+	}
+
+	private Attendance attendance(Employee employee, LocalDate date, Attendance.Status status) {
+		Attendance attendance = new Attendance();
+		attendance.setEmployee(employee);
+		attendance.setDate(date);
+		attendance.setStatus(status);
+		return em.persistAndFlush(attendance);
+	}
+}
@@ -0,0 +1,142 @@
+package com.ems.backend.service;
+
+import com.ems.backend.TestEmployees;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.Task;
+import com.ems.backend.repository.EmployeeRepository;
+import com.ems.backend.repository.NotificationRepository;
+import com.ems.backend.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each ReminderService stands for a replica; they share the database and nothing else
+@DataJpaTest
+@Import(NotificationFanout.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReminderServiceTests {
+
+	private static final String ZONE = "Asia/Colombo";
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private NotificationFanout notificationFanout;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private int seeded;
+
+	// Rows are committed, and the database is shared with the other @DataJpaTest classes
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from task_reminder_delivery");
+		jdbcTemplate.update("delete from job_lease");
+		notificationRepository.deleteAll();
+		taskRepository.deleteAll();
+		employeeRepository.deleteAll();
+	}
+
+	@Test
+	void firingTwiceDeliversOnce() {
+		Task task = task();
+		ReminderService node = node("node-a");
+
+		node.fire(task.getId(), task.getReminderDate());
+		node.fire(task.getId(), task.getReminderDate());
+
+		assertDeliveredOnce(task);
+	}
+
+	@Test
+	void twoNodesFiringTogetherDeliverOnce() {
+		Task task = task();
+		ReminderService nodeA = node("node-a");
+		ReminderService nodeB = node("node-b");
+
+		CountDownLatch start = new CountDownLatch(1);
+		CompletableFuture<Void> a = CompletableFuture.runAsync(() -> {
+			await(start);
+			nodeA.fire(task.getId(), task.getReminderDate());
+		});
+		CompletableFuture<Void> b = CompletableFuture.runAsync(() -> {
+			await(start);
+			nodeB.fire(task.getId(), task.getReminderDate());
+		});
+		start.countDown();
+		CompletableFuture.allOf(a, b).join();
+
+		// A later reload on either node finds nothing left to queue
+		nodeB.fire(task.getId(), task.getReminderDate());
+		assertDeliveredOnce(task);
+	}
+
+	private void assertDeliveredOnce(Task task) {
+		assertThat(jdbcTemplate.queryForObject("select count(*) from task_reminder_delivery where task_id = ? and reminder_date = ?",
+				Integer.class, task.getId(), task.getReminderDate())).isEqualTo(1);
+		assertThat(notificationRepository.findByRecipientId_EmpId(task.getAssignedToId().getEmpId())).hasSize(1);
+	}
+
+	private ReminderService node(String nodeId) {
+		JobLeaseManager leases = new JobLeaseManager(jdbcTemplate, nodeId, Duration.ofSeconds(30), Clock.systemUTC());
+		ReminderService node = new ReminderService(taskRepository, notificationFanout, new ConcurrentTaskScheduler(),
+				jdbcTemplate, transactionManager, leases, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(node, "reminderTimeOfDay", "09:00");
+		ReflectionTestUtils.setField(node, "zoneId", ZONE);
+		ReflectionTestUtils.setField(node, "horizonDays", 1);
+		node.init();
+		return node;
+	}
+
+	private Task task() {
+		int n = seeded++;
+		Employee employee = TestEmployees.employee("reminder", n);
+		employee = employeeRepository.save(employee);
+
+		Task task = new Task();
+		task.setName("Task " + n);
+		task.setAssignedToId(employee);
+		task.setReminderDate(LocalDate.now(ZoneId.of(ZONE)));
+		task.setStatus(Task.Status.PENDING);
+		task.setPriority(Task.Priority.MEDIUM);
+		task.setAcceptingStatus(Task.AcceptingStatus.PENDING);
+		return taskRepository.save(task);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package com.ems.backend.service;
+
+import com.ems.backend.TestEmployees;
+import com.ems.backend.entity.Attendance;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.EmployeeLeave;
+import com.ems.backend.entity.EmployeeMonthlyRollup;
+import com.ems.backend.entity.Timesheet;
+import com.ems.backend.repository.AttendanceRepository;
+import com.ems.backend.repository.EmployeeMonthlyRollupRepository;
+import com.ems.backend.repository.EmployeeRepository;
+import com.ems.backend.repository.LeaveRepository;
+import com.ems.backend.repository.TimesheetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Outside a test transaction, so refreshes run straight away in their own transaction
+@DataJpaTest
+@Import({RollupServiceImpl.class, JobLeaseManager.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RollupServiceImplTests {
+
+	private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+	private static final YearMonth FEBRUARY = YearMonth.of(2025, 2);
+
+	@Autowired
+	private RollupService rollupService;
+
+	@Autowired
+	private EmployeeMonthlyRollupRepository rollupRepository;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private AttendanceRepository attendanceRepository;
+
+	@Autowired
+	private TimesheetRepository timesheetRepository;
+
+	@Autowired
+	private LeaveRepository leaveRepository;
+
+	private int seeded;
+
+	// Rows are committed, and the database is shared with the other @DataJpaTest classes
+	@AfterEach
+	void cleanUp() {
+		rollupRepository.deleteAll();
+		attendanceRepository.deleteAll();
+		timesheetRepository.deleteAll();
+		leaveRepository.deleteAll();
+		employeeRepository.deleteAll();
+	}
+
+	@Test
+	void refreshRecomputesOnlyThatEmployeeAndMonth() {
+		Employee ann = employee();
+		Employee bob = employee();
+		attendance(ann, JANUARY.atDay(2), Attendance.Status.PRESENT);
+		attendance(ann, JANUARY.atDay(3), Attendance.Status.PRESENT);
+		attendance(ann, JANUARY.atDay(6), Attendance.Status.ABSENT);
+		attendance(ann, FEBRUARY.atDay(3), Attendance.Status.PRESENT);
+		attendance(bob, JANUARY.atDay(2), Attendance.Status.PRESENT);
+
+		rollupService.refreshAttendance(ann.getEmpId(), JANUARY.atDay(20));
+
+		EmployeeMonthlyRollup january = rollup(ann, JANUARY).orElseThrow();
+		assertThat(january.getDaysPresent()).isEqualTo(2);
+		assertThat(january.getDaysAbsent()).isEqualTo(1);
+		assertThat(rollup(ann, FEBRUARY)).isEmpty();
+		assertThat(rollup(bob, JANUARY)).isEmpty();
+	}
+
+	@Test
+	void refreshResetsCountersWhoseRowsAreGone() {
+		Employee ann = employee();
+		Attendance present = attendance(ann, JANUARY.atDay(2), Attendance.Status.PRESENT);
+		timesheet(ann, JANUARY.atDay(2), "7 hr 30 min");
+		rollupService.refreshAttendance(ann.getEmpId(), JANUARY.atDay(2));
+		rollupService.refreshTimesheet(ann.getEmpId(), JANUARY.atDay(2));
+
+		attendanceRepository.delete(present);
+		rollupService.refreshAttendance(ann.getEmpId(), JANUARY.atDay(2));
+
+		EmployeeMonthlyRollup january = rollup(ann, JANUARY).orElseThrow();
+		assertThat(january.getDaysPresent()).isZero();
+		assertThat(january.getDaysAbsent()).isZero();
+		// Other counters are left as they were
+		assertThat(january.getWorkedMinutes()).isEqualTo(450);
+	}
+
+	@Test
+	void workedMinutesAddUpEveryTimesheetFormat() {
+		Employee ann = employee();
+		timesheet(ann, JANUARY.atDay(2), "7 hr 30 min");
+		timesheet(ann, JANUARY.atDay(3), "08:15");
+		timesheet(ann, JANUARY.atDay(6), "6.5");
+
+		rollupService.refreshTimesheet(ann.getEmpId(), JANUARY.atDay(2));
+
+		assertThat(rollup(ann, JANUARY).orElseThrow().getWorkedMinutes()).isEqualTo(450 + 495 + 390);
+	}
+
+	@Test
+	void leaveSpanningMonthsCountsItsDaysInEach() {
+		Employee ann = employee();
+		leave(ann, JANUARY.atDay(30), FEBRUARY.atDay(2), EmployeeLeave.LeaveStatus.APPROVED);
+		leave(ann, FEBRUARY.atDay(10), FEBRUARY.atDay(11), EmployeeLeave.LeaveStatus.PENDING);
+
+		rollupService.refreshLeave(ann.getEmpId(), JANUARY.atDay(30), FEBRUARY.atDay(2));
+
+		assertThat(rollup(ann, JANUARY).orElseThrow().getApprovedLeaveDays()).isEqualTo(2);
+		assertThat(rollup(ann, FEBRUARY).orElseThrow().getApprovedLeaveDays()).isEqualTo(2);
+	}
+
+	@Test
+	void rebuildCoversEveryEmployeeInEachMonth() {
+		Employee ann = employee();
+		Employee bob = employee();
+		attendance(ann, JANUARY.atDay(2), Attendance.Status.PRESENT);
+		attendance(bob, FEBRUARY.atDay(3), Attendance.Status.ABSENT);
+
+		assertThat(rollupService.rebuild(JANUARY, FEBRUARY)).isEqualTo(2);
+
+		assertThat(rollup(ann, JANUARY).orElseThrow().getDaysPresent()).isEqualTo(1);
+		assertThat(rollup(bob, FEBRUARY).orElseThrow().getDaysAbsent()).isEqualTo(1);
+	}
+
+	private Optional<EmployeeMonthlyRollup> rollup(Employee employee, YearMonth month) {
+		return rollupRepository.findById(new EmployeeMonthlyRollup.Key(employee.getEmpId(), month.atDay(1)));
+	}
+
+	private Employee employee() {
+		return employeeRepository.save(TestEmployees.employee("rollup", seeded++));
+	}
+
+	private Attendance attendance(Employee employee, LocalDate date, Attendance.Status status) {
+		Attendance attendance = new Attendance();
+		attendance.setEmployee(employee);
+		attendance.setDate(date);
+		attendance.setStatus(status);
+		attendance.setLoggedInTime(LocalTime.of(9, 0));
+		return attendanceRepository.save(attendance);
+	}
+
+	private void timesheet(Employee employee, LocalDate date, String workHours) {
+		Timesheet timesheet = new Timesheet();
+		timesheet.setEmployee(employee);
+		timesheet.setDate(date);
+		timesheet.setStartTime(LocalTime.of(9, 0));
+		timesheet.setWorkHours(workHours);
+		timesheetRepository.save(timesheet);
+	}
+
+	private void leave(Employee employee, LocalDate start, LocalDate end, EmployeeLeave.LeaveStatus status) {
+		EmployeeLeave leave = new EmployeeLeave();
+		leave.setEmployee(employee);
+		leave.setStartDate(start);
+		leave.setEndDate(end);
+		leave.setLeaveType(EmployeeLeave.LeaveType.CASUAL);
+		leave.setDays(LeaveDays.inclusive(start, end));
+		leave.setStatus(status);
+		leaveRepository.save(leave);
+	}
+}
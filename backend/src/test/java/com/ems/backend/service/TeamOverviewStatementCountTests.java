@@ -0,0 +1,166 @@
+package com.ems.backend.service;
+
+import com.ems.backend.TestEmployees;
+import com.ems.backend.dto.TeamDTO;
+import com.ems.backend.entity.Employee;
+import com.ems.backend.entity.Task;
+import com.ems.backend.entity.Team;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Benchmark at 1k teams / 100k tasks: mvn test -Dtest=TeamOverviewStatementCountTests -Dbenchmarks=true
+@DataJpaTest
+@Import(TeamMembershipIndex.class)
+class TeamOverviewStatementCountTests {
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TeamMembershipIndex membershipIndex;
+
+	private Statistics statistics;
+	private int seeded;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void overviewIsThreeStatementsRegardlessOfTeamCount() {
+		seed(3, 4, 5);
+		long small = statementsFor(() -> assertThat(membershipIndex.overview()).hasSize(3));
+
+		seed(30, 4, 5);
+		long large = statementsFor(() -> assertThat(membershipIndex.overview()).hasSize(33));
+
+		assertThat(small).isEqualTo(3);
+		assertThat(large).isEqualTo(small);
+	}
+
+	@Test
+	void overviewCarriesLeadMembersAndTasks() {
+		seed(1, 2, 3);
+		em.flush();
+
+		TeamDTO team = membershipIndex.overview().get(0);
+
+		assertThat(team.getTeamLead()).isEqualTo("First0 Last0");
+		assertThat(team.getMembers()).containsExactly("First0 Last0", "First1 Last1");
+		assertThat(team.getAssignedTasks()).hasSize(3);
+		assertThat(membershipIndex.teamsOf(firstEmployeeId(), true))
+				.extracting(TeamDTO::getId).containsExactly(team.getId());
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void overviewLatencyIsFlatInTeamCount() {
+		int done = 0;
+		for (int teams : new int[]{10, 100, 1000}) {
+			bulkSeed(teams - done, 100);
+			done = teams;
+			double millis = averageMillis(() -> membershipIndex.overview());
+			System.out.printf("teams=%d tasks=%d  overview=%.1f ms%n", teams, teams * 100, millis);
+		}
+	}
+
+	private double averageMillis(Supplier<List<TeamDTO>> overview) {
+		overview.get(); // warm-up
+		int rounds = 5;
+		long start = System.nanoTime();
+		for (int i = 0; i < rounds; i++) {
+			overview.get();
+		}
+		return (System.nanoTime() - start) / 1e6 / rounds;
+	}
+
+	private long statementsFor(Runnable overview) {
+		em.flush();
+		em.clear();
+		statistics.clear();
+		overview.run();
+		return statistics.getPrepareStatementCount();
+	}
+
+	private Integer firstEmployeeId() {
+		return jdbcTemplate.queryForObject("select min(emp_id) from employee", Integer.class);
+	}
+
+	private void seed(int teams, int membersPerTeam, int tasksPerTeam) {
+		for (int t = 0; t < teams; t++) {
+			List<Employee> members = new ArrayList<>();
+			for (int m = 0; m < membersPerTeam; m++) {
+				members.add(employee());
+			}
+			Team team = new Team();
+			team.setName("Team" + t);
+			team.setTeamLead(members.get(0));
+			team.getMembers().addAll(members);
+			em.persist(team);
+
+			for (int k = 0; k < tasksPerTeam; k++) {
+				em.persist(task(team, "Task" + t + "-" + k));
+			}
+		}
+	}
+
+	// Plain JDBC batches; 100k tasks through the entity manager would dominate the run
+	private void bulkSeed(int teams, int tasksPerTeam) {
+		for (int t = 0; t < teams; t++) {
+			Employee lead = employee();
+			Team team = new Team();
+			team.setName("Bulk" + t);
+			team.setTeamLead(lead);
+			team.getMembers().add(lead);
+			em.persist(team);
+			em.flush();
+
+			List<Object[]> rows = new ArrayList<>();
+			for (int k = 0; k < tasksPerTeam; k++) {
+				rows.add(new Object[]{"Task" + t + "-" + k, "PENDING", "MEDIUM", "PENDING", team.getId()});
+			}
+			jdbcTemplate.batchUpdate(
+					"insert into tasks (name, status, priority, accepting_status, team_id) values (?, ?, ?, ?, ?)", rows);
+		}
+		em.clear();
+	}
+
+	private Employee employee() {
+		int n = seeded++;
+		Employee employee = TestEmployees.employee("user", n);
+		em.persist(employee);
+		return employee;
+	}
+
+	private static Task task(Team team, String name) {
+		Task task = new Task();
+		task.setName(name);
+		task.setTeam(team);
+		task.setStatus(Task.Status.PENDING);
+		task.setPriority(Task.Priority.MEDIUM);
+		task.setAcceptingStatus(Task.AcceptingStatus.PENDING);
+		return task;
+	}
+}
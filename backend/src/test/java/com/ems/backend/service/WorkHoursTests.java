@@ -0,0 +1,39 @@
+package com.ems.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkHoursTests {
+
+	@Test
+	void readsHoursAndMinutes() {
+		assertThat(WorkHours.toMinutes("7 hr 30 min", null, null)).isEqualTo(450);
+		assertThat(WorkHours.toMinutes(" 0hr 5min ", null, null)).isEqualTo(5);
+	}
+
+	@Test
+	void readsClockTime() {
+		assertThat(WorkHours.toMinutes("07:30", null, null)).isEqualTo(450);
+		assertThat(WorkHours.toMinutes("8:05:59", null, null)).isEqualTo(485);
+	}
+
+	@Test
+	void readsDecimalHours() {
+		assertThat(WorkHours.toMinutes("7.50", null, null)).isEqualTo(450);
+		assertThat(WorkHours.toMinutes("8", null, null)).isEqualTo(480);
+	}
+
+	@Test
+	void fallsBackToPunchTimes() {
+		LocalTime start = LocalTime.of(9, 0);
+		LocalTime end = LocalTime.of(17, 15);
+
+		assertThat(WorkHours.toMinutes(null, start, end)).isEqualTo(495);
+		assertThat(WorkHours.toMinutes("n/a", start, end)).isEqualTo(495);
+		assertThat(WorkHours.toMinutes(null, end, start)).isZero();
+		assertThat(WorkHours.toMinutes("", null, null)).isZero();
+	}
+}
@@ -20,6 +20,19 @@ const Header = ({ onMenuClick }) => {
         setUserName(name);
     }, [empId]);
 
+    // New notifications are pushed by the server instead of polled
+    useEffect(() => {
+        if (!empId) return;
+        const source = new EventSource(`${BASE_URL}/api/notifications/stream/${empId}`);
+        source.addEventListener("notification", (event) => {
+            const notification = JSON.parse(event.data);
+            setNotifications(prev =>
+                prev.some(n => n.id === notification.id) ? prev : [notification, ...prev]
+            );
+        });
+        return () => source.close();
+    }, [empId]);
+
     const fetchNotifications = async (id) => {
         try {
             const res = await axios.get(`${BASE_URL}/api/notifications/user/${id}`);
@@ -79,26 +79,9 @@ const CreateTeam = ({ tasks, setTasks }) => {
   const assignTaskToTeam = async (e) => {
     e.preventDefault();
     try {
-      await axios.put(`http://localhost:8080/api/team/${assignForm.taskId}/assign-team/${assignForm.teamId}`);
-
-      // Get the team lead ID from the selected team
-      const selectedTeam = teams.find(team => team.id === parseInt(assignForm.teamId));
-      const teamLeadId = selectedTeam?.teamLead?.empId;
-      
-      // assign team lead to the task
-      if (teamLeadId) {
-        await axios.put(`http://localhost:8080/api/task/update/${assignForm.taskId}`, {
-              assignedToId: teamLeadId
-          });
-      }else{
-        throw new Error('Team lead not found for the selected team');
-      }
-
-      await axios.post('http://localhost:8080/api/notifications/send', {
-        recipientId: teamLeadId,
-        taskId: assignForm.taskId,
-        type: 'ASSIGNED',
-        message: `Task ${assignForm.taskId} assigned to team ${assignForm.teamId}`
+      // Team hand-over, lead assignment and notifications in one call
+      const { data: summary } = await axios.post(`http://localhost:8080/api/task/${assignForm.taskId}/dispatch`, {
+        teamId: assignForm.teamId
       });
 
       Swal.fire({
@@ -108,8 +91,16 @@ const CreateTeam = ({ tasks, setTasks }) => {
         showConfirmButton: false
       });
 
-      const updatedTasks = await axios.get('http://localhost:8080/api/task/tasks');
-      setTasks(updatedTasks.data);
+      setTasks(prev => prev.map(task => task.id === summary.id
+        ? {
+            ...task,
+            status: summary.status,
+            acceptingStatus: summary.acceptingStatus,
+            assignedToId: summary.assigneeId
+              ? { ...task.assignedToId, empId: summary.assigneeId, fname: summary.assigneeFname, lname: summary.assigneeLname }
+              : task.assignedToId
+          }
+        : task));
 
       setAssignForm({ taskId: '', teamId: '' });
     } catch (error) {
@@ -1,6 +1,7 @@
 import { useState, useEffect } from 'react';
 import axios from 'axios';
 import BASE_URL from '../../api';
+import { fetchAllPages } from '../../utils/listUtils';
 import { Download, Filter, BarChart3, Users, Calendar, Clock, FileText, CheckSquare, TrendingUp } from 'lucide-react';
 import * as XLSX from 'xlsx';
 import { toast, ToastContainer } from 'react-toastify';
@@ -105,19 +106,19 @@ const AdminReportPage = () => {
         setLoading({ attendance: true, timesheet: true, leave: true, employee: true, task: true });
         
         try {
-            const [attendanceRes, timesheetRes, leaveRes, employeeRes, taskRes] = await Promise.all([
-                axios.get(`${BASE_URL}/api/attendance/attendances`),
-                axios.get(`${BASE_URL}/api/timesheet/timesheets`),
-                axios.get(`${BASE_URL}/api/leave/leaves`),
-                axios.get(`${BASE_URL}/api/employee/employees`),
-                axios.get(`${BASE_URL}/api/task/tasks`)
+            const [attendances, timesheets, leaves, employees, tasks] = await Promise.all([
+                fetchAllPages(`${BASE_URL}/api/attendance/attendances`),
+                fetchAllPages(`${BASE_URL}/api/timesheet/timesheets`),
+                fetchAllPages(`${BASE_URL}/api/leave/leaves`),
+                fetchAllPages(`${BASE_URL}/api/employee/employees`),
+                fetchAllPages(`${BASE_URL}/api/task/tasks`)
             ]);
 
-            setAttendanceData(attendanceRes.data || []);
-            setTimesheetData(timesheetRes.data || []);
-            setLeaveData(leaveRes.data || []);
-            setEmployeeData(employeeRes.data || []);
-            setTaskData(taskRes.data || []);
+            setAttendanceData(attendances);
+            setTimesheetData(timesheets);
+            setLeaveData(leaves);
+            setEmployeeData(employees);
+            setTaskData(tasks);
         } catch (error) {
             toast.error('Error fetching data:', error);
             // Set empty arrays on error to prevent crashes
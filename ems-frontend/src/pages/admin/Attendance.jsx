@@ -1,6 +1,6 @@
 import React, { useEffect, useState } from "react";
-import axios from "axios";
 import BASE_URL from "./../../api.js";
+import { fetchAllPages } from "../../utils/listUtils";
 import { Download, RefreshCw } from "lucide-react";
 import { toast } from "react-toastify";
 
@@ -20,9 +20,9 @@ const Attendance = () => {
     const fetchAttendances = async () => {
         setLoading(true);
         try {
-            const response = await axios.get(`${BASE_URL}/api/attendance/attendances`);
-            setAttendances(response.data);
-            setFiltered(response.data);
+            const all = await fetchAllPages(`${BASE_URL}/api/attendance/attendances`);
+            setAttendances(all);
+            setFiltered(all);
         } catch (error) {
             toast.error("Error fetching attendance data:", error);
         } finally {
@@ -1,6 +1,7 @@
 import { useEffect, useState } from "react";
 import axios from "axios";
 import BASE_URL from "./../../api.js";
+import { fetchAllPages } from "../../utils/listUtils";
 import { 
     Plus, Search, X, Eye, Edit, Trash2, 
     User, Mail, Phone, Calendar,Briefcase,Users,
@@ -65,9 +66,9 @@ const Employee = () => {
     const fetchEmployees = async () => {
         setLoading(true);
         try {
-            const response = await axios.get(`${BASE_URL}/api/employee/employees`);
-            setEmployees(response.data);
-            setFilteredEmployees(response.data);
+            const all = await fetchAllPages(`${BASE_URL}/api/employee/employees`);
+            setEmployees(all);
+            setFilteredEmployees(all);
         } catch (error) {
             toast.error("Error fetching employee data: " + error.message);
             //console.error("Error fetching employee data:", error);
@@ -34,7 +34,6 @@ const Home = () => {
     const [prevPendingTasks, setPrevPendingTasks] = useState(0);
     const [pendingTasksChange, setPendingTasksChange] = useState(0);
     const [error, setError] = useState(null);
-    const [employees, setEmployees] = useState([]);
 
     const todayDate = new Date().toISOString().split('T')[0];
     
@@ -44,18 +43,17 @@ const Home = () => {
             try {
                 setLoading(true);
                 setError(null);
-                let employees = [];
+                let summary = null;
                 let attendance = [];
                 let leaves = [];
                 let tasks = [];
 
-                // Fetch employees
+                // Fetch counts (computed on the server)
                 try {
-                    const employeesRes = await axios.get(`${BASE_URL}/api/employee/employees`); //
-                    employees = employeesRes.data || [];
+                    const summaryRes = await axios.get(`${BASE_URL}/api/dashboard/summary`, { params: { date: todayDate } });
+                    summary = summaryRes.data;
                 } catch (err) {
-                    toast.error("Error fetching employees: " + err.message);
-                    employees = [];
+                    toast.error("Error fetching dashboard summary: " + err.message);
                 }
 
                 // Fetch attendance
@@ -67,18 +65,33 @@ const Home = () => {
                     attendance = [];
                 }
 
-                // Fetch leaves
+                // Fetch latest leaves for the activity feed
                 try {
-                    const leavesRes = await axios.get(`${BASE_URL}/api/leave/leaves`);
+                    const leavesRes = await axios.get(`${BASE_URL}/api/leave/leaves`, { params: { size: 5 } });
                     leaves = leavesRes.data || [];
                 } catch (err) {
                     toast.error("Error fetching leaves: " + err.message);
                     leaves = [];
                 }
 
-                // Fetch tasks
+                // Fetch approved leaves covering today
+                let todayLeaves = [];
                 try {
-                    const tasksRes = await axios.get(`${BASE_URL}/api/task/tasks`);
+                    const todayLeavesRes = await axios.get(`${BASE_URL}/api/leave/out-on/${todayDate}`, {
+                        params: { include: 'employees' }
+                    });
+                    const employees = todayLeavesRes.data?.employees || {};
+                    todayLeaves = (todayLeavesRes.data?.items || []).map(leave => ({
+                        ...leave,
+                        employee: employees[leave.empId]
+                    }));
+                } catch (err) {
+                    todayLeaves = [];
+                }
+
+                // Fetch the newest tasks for the activity feed
+                try {
+                    const tasksRes = await axios.get(`${BASE_URL}/api/dashboard/recent-tasks`, { params: { size: 3 } });
                     tasks = tasksRes.data || [];
                 } catch (err) {
                     toast.error("Error fetching tasks: " + err.message);
@@ -86,18 +99,11 @@ const Home = () => {
                 }
 
                 // Calculate stats
-                const totalEmployees = employees.length;
-                // Only count PRESENT attendances for 'Present Today'
-                const presentAttendances = attendance.filter(a => a.status === 'PRESENT');
-                const attendanceToday = presentAttendances.length;
+                const totalEmployees = summary?.totalEmployees ?? 0;
+                const attendanceToday = summary?.presentToday ?? 0;
                 const attendanceRate = totalEmployees > 0 ? (attendanceToday / totalEmployees * 100).toFixed(1) : 0;
-                const approvedLeaves = leaves.filter(leave => leave.status === 'APPROVED');
-                const pendingLeaves = leaves.filter(leave => leave.status === 'PENDING');
-                const rejectedLeaves = leaves.filter(leave => leave.status === 'REJECTED');
-                const todayLeaves = leaves.filter(item => 
-                    item.appliedAt === todayDate && item.status === 'APPROVED'
-                );
-                const pendingTasksCount = tasks.filter(task => task.status === 'PENDING').length;
+                const leaveCountsByStatus = summary?.leaveCounts ?? {};
+                const pendingTasksCount = summary?.taskCounts?.PENDING ?? 0;
                 const activities = generateRecentActivities(leaves, attendance, tasks);
 
                 setTotalEmployees(totalEmployees);
@@ -106,46 +112,20 @@ const Home = () => {
                 setAttendanceRate(parseFloat(attendanceRate));
                 setPendingTasks(pendingTasksCount);
                 setLeaveCounts({
-                    applied: leaves.length,
-                    approved: approvedLeaves.length,
-                    pending: pendingLeaves.length,
-                    rejected: rejectedLeaves.length
+                    applied: Object.values(leaveCountsByStatus).reduce((sum, count) => sum + count, 0),
+                    approved: leaveCountsByStatus.APPROVED ?? 0,
+                    pending: leaveCountsByStatus.PENDING ?? 0,
+                    rejected: leaveCountsByStatus.REJECTED ?? 0
                 });
                 setRecentActivities(activities);
-                setEmployees(employees);
 
-                // --- Fetch previous day's data for change calculation ---
-                const yesterday = new Date();
-                yesterday.setDate(yesterday.getDate() - 1);
-                const yesterdayDate = yesterday.toISOString().split('T')[0];
-
-                // Previous employees 
+                // No history is kept for these counts, so there is no day-over-day change
                 setPrevTotalEmployees(totalEmployees);
                 setEmployeeChange(0);
-
-                // Previous pending leaves
-                let prevLeaves = [];
-                try {
-                    const prevLeavesRes = await axios.get(`${BASE_URL}/api/leave/leaves?date=${yesterdayDate}`);
-                    prevLeaves = prevLeavesRes.data || [];
-                } catch (err) {
-                    prevLeaves = [];
-                }
-                const prevPendingLeaves = prevLeaves.filter(leave => leave.status === 'PENDING').length;
-                setPrevPendingLeaves(prevPendingLeaves);
-                setPendingLeavesChange(pendingLeaves.length - prevPendingLeaves);
-
-                // Previous pending tasks
-                let prevTasks = [];
-                try {
-                    const prevTasksRes = await axios.get(`${BASE_URL}/api/task/tasks?date=${yesterdayDate}`);
-                    prevTasks = prevTasksRes.data || [];
-                } catch (err) {
-                    prevTasks = [];
-                }
-                const prevPendingTasks = prevTasks.filter(task => task.status === 'PENDING').length;
-                setPrevPendingTasks(prevPendingTasks);
-                setPendingTasksChange(pendingTasksCount - prevPendingTasks);
+                setPrevPendingLeaves(leaveCountsByStatus.PENDING ?? 0);
+                setPendingLeavesChange(0);
+                setPrevPendingTasks(pendingTasksCount);
+                setPendingTasksChange(0);
 
             } catch (error) {
                 setError('Failed to load dashboard data. Please check your connection and try again.');
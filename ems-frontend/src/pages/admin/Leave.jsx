@@ -1,6 +1,7 @@
 import React, { useEffect, useState } from "react";
 import axios from "axios";
 import BASE_URL from "../../api";
+import { fetchAllPages } from "../../utils/listUtils";
 import { Download, RefreshCw } from "lucide-react";
 
 const Leave = () => {
@@ -19,9 +20,9 @@ const Leave = () => {
     const fetchLeaves = async () => {
         setLoading(true);
         try {
-            const response = await axios.get(`${BASE_URL}/api/leave/leaves`);
-            setLeaves(response.data);
-            setFilteredLeaves(response.data);
+            const all = await fetchAllPages(`${BASE_URL}/api/leave/leaves`);
+            setLeaves(all);
+            setFilteredLeaves(all);
         } catch (error) {
             console.error("Error fetching leave data:", error);
             setError("Error fetching leave data: " + error.message);
@@ -1,6 +1,6 @@
 import { useEffect, useState } from "react";
-import axios from "axios";
 import BASE_URL from "../../api";
+import { fetchAllPages } from "../../utils/listUtils";
 import { Download, RefreshCw, Eye, X } from "lucide-react";
 
 const Timesheet = () => {
@@ -20,10 +20,9 @@ const Timesheet = () => {
     const fetchTimesheets = async () => {
         setLoading(true);
         try {
-            const response = await axios.get(`${BASE_URL}/api/timesheet/timesheets`);
-            //  console.log("Timesheet data received:", response.data);
-            setTimesheets(response.data);
-            setFilteredTimesheets(response.data);
+            const all = await fetchAllPages(`${BASE_URL}/api/timesheet/timesheets`);
+            setTimesheets(all);
+            setFilteredTimesheets(all);
         } catch (error) {
             console.error("Error fetching timesheet data:", error);
             setTimesheets([]);
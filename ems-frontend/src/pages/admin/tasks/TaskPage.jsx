@@ -3,6 +3,7 @@ import { ClipboardList, UserPlus, Briefcase, Users } from 'lucide-react';
 import axios from 'axios';
 import Swal from 'sweetalert2';
 import BASE_URL from '../../../api';
+import { fetchAllPages } from '../../../utils/listUtils';
 
 import TaskList from '../../../components/TaskList';
 import CreateTeam from '../../../components/task/CreateTeam';
@@ -46,8 +47,8 @@ const TaskPage = () => {
         const storedName = localStorage.getItem("userName");
         setOwnerName(storedName || '');
 
-        axios.get(`${BASE_URL}/api/task/tasks`)
-            .then(res => setTasks(res.data))
+        fetchAllPages(`${BASE_URL}/api/task/tasks`)
+            .then(setTasks)
             .catch(err => console.error('Error fetching tasks:', err));
 
         // axios.get('http://localhost:8080/api/team/teams')
@@ -59,11 +60,11 @@ const TaskPage = () => {
             .catch(err => console.error('Error fetching teams:', err));
         console.log(teams);
 
-        axios.get(`${BASE_URL}/api/employee/employees`)
-            .then(res => {
-                setEmployees(res.data);
+        fetchAllPages(`${BASE_URL}/api/employee/employees`)
+            .then(all => {
+                setEmployees(all);
                 // Match name from localStorage with employee full name
-                const matchedEmployee = res.data.find(emp =>
+                const matchedEmployee = all.find(emp =>
                     `${emp.username}`.toLowerCase() === storedName.toLowerCase()
                 );
                 if (matchedEmployee) {
@@ -107,8 +108,7 @@ const TaskPage = () => {
             });
 
         // fetch updated tasks after creation
-            const response1 = await axios.get(`${BASE_URL}/api/task/tasks`);
-            setTasks(response1.data);
+            setTasks(await fetchAllPages(`${BASE_URL}/api/task/tasks`));
 
             setTaskForm({
                 owner: taskForm.owner,
@@ -123,8 +123,7 @@ const TaskPage = () => {
                 rejectingReason: '',
             });
 
-            const response = await axios.get(`${BASE_URL}/api/task/tasks`);
-            setTasks(response.data);
+            setTasks(await fetchAllPages(`${BASE_URL}/api/task/tasks`));
         } catch (error) {
             console.error('Error creating task:', error);
             Swal.fire({
@@ -140,15 +139,9 @@ const TaskPage = () => {
     const assignTask = async (e) => {
     e.preventDefault();
     try {
-        await axios.put(`${BASE_URL}/api/task/update/${assignedTask.taskId}`, {
-            assignedToId: assignedTask.employeeId
-        });
-
-        // send notification
-        await axios.post(`${BASE_URL}/api/notifications/send`, {
-            recipientId: assignedTask.employeeId,
-            taskId: assignedTask.taskId,
-            type: "ASSIGNED",
+        // Assignment and notification in one call
+        const { data: summary } = await axios.post(`${BASE_URL}/api/task/${assignedTask.taskId}/dispatch`, {
+            assignedToId: assignedTask.employeeId,
             message: `${ownerName} has assigned you a new task: ${assignedTask.taskId}.`
         });
 
@@ -160,9 +153,14 @@ const TaskPage = () => {
             showConfirmButton: false
         });
 
-        // Refresh task list
-        const updatedTasks = await axios.get(`${BASE_URL}/api/task/tasks`);
-        setTasks(updatedTasks.data);
+        setTasks(prev => prev.map(task => task.id === summary.id
+            ? {
+                ...task,
+                status: summary.status,
+                acceptingStatus: summary.acceptingStatus,
+                assignedToId: { ...task.assignedToId, empId: summary.assigneeId, fname: summary.assigneeFname, lname: summary.assigneeLname }
+            }
+            : task));
 
         // Reset assign form
         setAssignedTask({
@@ -198,8 +196,7 @@ const TaskPage = () => {
             });
 
             // Refresh task list
-            const updatedTasks = await axios.get(`${BASE_URL}/api/task/tasks`);
-            setTasks(updatedTasks.data);
+            setTasks(await fetchAllPages(`${BASE_URL}/api/task/tasks`));
         } catch (error) {
             console.error('Error updating task:', error);
             Swal.fire({
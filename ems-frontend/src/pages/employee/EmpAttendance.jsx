@@ -15,8 +15,7 @@ const EmpAttendance = () => {
     const fetchAttendance = async () => {
         setLoading(true);
         try {
-            const res = await axios.get(`${BASE_URL}/api/attendance/attendances`);
-            const emp = localStorage.getItem("userId");
+            const res = await axios.get(`${BASE_URL}/api/attendance/attendances`, { params: { empId: emp } });
             const filtered = res.data.filter((att) => String(att.empId) === String(emp));
             setRecords(filtered);
         } catch (err) {
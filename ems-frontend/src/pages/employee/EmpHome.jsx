@@ -32,12 +32,14 @@ const EmpHome = () => {
     const [leaves, setLeaves] = useState([]);
     const [attendances, setAttendances] = useState([]);
     const [timesheets, setTimesheets] = useState([]);
+    const [attendanceStats, setAttendanceStats] = useState(null);
     const [summary, setSummary] = useState(null);
 
     useEffect(() => {
         fetchEmployee();
         fetchLeaves();
         fetchAttendance();
+        fetchAttendanceStats();
         fetchTimesheets();
     }, []);
 
@@ -50,36 +52,41 @@ const EmpHome = () => {
 
     const fetchLeaves = async () => {
         try {
-            const response = await axios.get(`${BASE_URL}/api/leave/leaves`);
-            const empLeaves = response.data.filter((leave) => String(leave.employee.empId) === String(emp));
-            setLeaves(empLeaves);
+            const response = await axios.get(`${BASE_URL}/api/leave/leaves`, { params: { empId: emp } });
+            setLeaves(response.data);
         } catch {
             toast.error("Error fetching leaves");
         }
     };
 
     const fetchAttendance = () => {
-        axios.get(`${BASE_URL}/api/attendance/attendances`)
+        axios.get(`${BASE_URL}/api/attendance/attendances`, { params: { empId: emp } })
             .then(res => {
-                const filtered = res.data.filter((att) => String(att.empId) === String(emp));
-                setAttendances(filtered);
+                setAttendances(res.data);
+            });
+    };
+
+    // Year-to-date present / absent counts, computed on the server
+    const fetchAttendanceStats = () => {
+        axios.get(`${BASE_URL}/api/attendance/stats/${emp}`)
+            .then(res => {
+                setAttendanceStats(res.data);
             });
     };
 
     const fetchTimesheets = () => {
-        axios.get(`${BASE_URL}/api/timesheet/timesheets`)
+        axios.get(`${BASE_URL}/api/timesheet/timesheets`, { params: { empId: emp } })
             .then(res => {
-                const filtered = res.data.filter((t) => String(t.employeeId) === String(emp));
-                setTimesheets(filtered);
+                setTimesheets(res.data);
             });
     };
 
     useEffect(() => {
-        if (attendances.length || leaves.length || timesheets.length) {
-            const totalAttendance = attendances.length;
-            const present = attendances.filter(a => a.status === 'PRESENT').length;
-            const absent = attendances.filter(a => a.status === 'ABSENT').length;
-            const attendancePercent = totalAttendance > 0 ? Math.round((present / totalAttendance) * 100) : 0;
+        if (attendanceStats || leaves.length || timesheets.length) {
+            const present = attendanceStats?.present ?? 0;
+            const absent = attendanceStats?.absent ?? 0;
+            const totalAttendance = present + absent;
+            const attendancePercent = Math.round((attendanceStats?.rate ?? 0) * 100);
             const totalLeaves = leaves.length;
             const approvedLeaves = leaves.filter(l => l.status === 'APPROVED').length;
             const pendingLeaves = leaves.filter(l => l.status === 'PENDING').length;
@@ -103,7 +110,7 @@ const EmpHome = () => {
                 avgWorkHours
             });
         }
-    }, [attendances, leaves, timesheets]);
+    }, [attendanceStats, leaves, timesheets]);
 
     const getStatusColor = (status) => {
         switch (status) {
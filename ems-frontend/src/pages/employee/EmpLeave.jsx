@@ -52,9 +52,8 @@ const EmpLeave = () => {
   const fetchLeaves = async () => {
     setLoading(true);
     try {
-      const response = await axios.get(`${BASE_URL}/api/leave/leaves`);
-      const empLeaves = response.data.filter((leave) => leave.employee.empId === Number(empId));
-      setLeaves(empLeaves);
+      const response = await axios.get(`${BASE_URL}/api/leave/leaves`, { params: { empId } });
+      setLeaves(response.data);
     } catch (error) {
       const message = error.response?.data?.message || "Failed to fetch leave records";
       toast.error(message);
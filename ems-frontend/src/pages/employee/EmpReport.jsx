@@ -51,13 +51,13 @@ const EmpReport = () => {
         }
     }, []);
 
-    // Fetch all employees
+    // Fetch the signed-in employee
     const fetchEmployees = async () => {
         try {
-            const response = await fetch(`${BASE_URL}/api/employee/employees`);
+            const response = await fetch(`${BASE_URL}/api/employee/employee/${localStorage.getItem('userId')}`);
             if (response.ok) {
                 const data = await response.json();
-                return data;
+                return [data];
             } else {
                 toast.error('Failed to fetch employee data');
                 return [];
@@ -68,10 +68,10 @@ const EmpReport = () => {
         }
     };
 
-    // Fetch all leaves
+    // Fetch the signed-in employee's leaves
     const fetchLeaves = async () => {
         try {
-            const response = await fetch(`${BASE_URL}/api/leave/leaves`);
+            const response = await fetch(`${BASE_URL}/api/leave/leaves?empId=${localStorage.getItem('userId')}`);
             if (response.ok) {
                 const data = await response.json();
                 return data;
@@ -85,10 +85,10 @@ const EmpReport = () => {
         }
     };
 
-    // Fetch all attendance data
+    // Fetch the signed-in employee's attendance
     const fetchAllAttendance = async () => {
         try {
-            const response = await fetch(`${BASE_URL}/api/attendance/attendances`);
+            const response = await fetch(`${BASE_URL}/api/attendance/attendances?empId=${localStorage.getItem('userId')}`);
             if (response.ok) {
                 const data = await response.json();
                 return data;
@@ -119,10 +119,10 @@ const EmpReport = () => {
         }
     };
 
-    // Fetch all timesheets
+    // Fetch the signed-in employee's timesheets
     const fetchTimesheets = async () => {
         try {
-            const response = await fetch(`${BASE_URL}/api/timesheet/timesheets`);
+            const response = await fetch(`${BASE_URL}/api/timesheet/timesheets?empId=${localStorage.getItem('userId')}`);
             if (response.ok) {
                 const data = await response.json();
                 return data;
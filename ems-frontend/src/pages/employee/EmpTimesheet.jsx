@@ -57,7 +57,7 @@ const EmpTimesheet = () => {
     // get all timesheet by employee
     const fetchTimesheets = async () => {
         try {
-            const res = await axios.get(`${BASE_URL}/api/timesheet/timesheets`); // ${BASE_URL}
+            const res = await axios.get(`${BASE_URL}/api/timesheet/timesheets`, { params: { empId } });
             const filtered = res.data.filter(ts => String(ts.employeeId) == String(empId));
             setTimesheets(filtered);
         } catch(err) {
@@ -68,8 +68,8 @@ const EmpTimesheet = () => {
     // Fetch today's attendance status
     const fetchTodayAttendance = async () => {
         try {
-            const res = await axios.get(`${BASE_URL}/api/attendance/attendances`);
             const today = getSLDate();
+            const res = await axios.get(`${BASE_URL}/api/attendance/attendances`, { params: { empId, from: today, to: today } });
             const todayAtt = res.data.find(att => String(att.empId) === String(empId) && att.date === today);
             setTodayAttendance(todayAtt ? todayAtt.status : null);
         } catch(err) {
@@ -212,7 +212,7 @@ const EmpTimesheet = () => {
             // Update attendance logout time
             try {
                 // Fetch all attendance records for this employee
-                const attendanceRes = await axios.get(`${BASE_URL}/api/attendance/attendances`);
+                const attendanceRes = await axios.get(`${BASE_URL}/api/attendance/attendances`, { params: { empId, from: date, to: date } });
                 const todayAttendance = attendanceRes.data.find(att => String(att.empId) === String(empId) && att.date === date);
                 if (todayAttendance) {
                     await axios.put(`${BASE_URL}/api/attendance/update/${todayAttendance.attId}`, { loggedOutTime: getSLTime() });
@@ -42,7 +42,13 @@ const Settings = () => {
 
             if (response.ok) {
                 const data = await response.json();
-                if (data.password === password) {
+                // The employee payload no longer carries the password; let the server check it
+                const login = await fetch(`${import.meta.env.VITE_BASE_URL}/api/auth/login`, {
+                    method: 'POST',
+                    headers: { 'Content-Type': 'application/json' },
+                    body: JSON.stringify({ email: data.email, password })
+                });
+                if (login.ok) {
                     setCurrentPasswordError('');
                     setIsCurrentPasswordValid(true);
                 } else {
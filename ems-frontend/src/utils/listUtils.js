@@ -0,0 +1,14 @@
+import axios from 'axios';
+
+// The list endpoints return one page at a time and name the next one in the
+// X-Next-Cursor header; keep asking until there is none
+export const fetchAllPages = async (url, params = {}) => {
+    const rows = [];
+    let cursor;
+    do {
+        const res = await axios.get(url, { params: { ...params, cursor } });
+        rows.push(...(res.data || []));
+        cursor = res.headers['x-next-cursor'];
+    } while (cursor);
+    return rows;
+};